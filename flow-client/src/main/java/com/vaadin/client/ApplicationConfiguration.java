@@ -37,6 +37,7 @@ public class ApplicationConfiguration {
 
     private boolean productionMode;
     private boolean requestTiming;
+    private boolean frameBatching;
     private boolean webComponentMode;
     private boolean clientRouting;
 
@@ -340,6 +341,29 @@ public class ApplicationConfiguration {
         this.requestTiming = requestTiming;
     }
 
+    /**
+     * Checks if the DOM changes of server messages should be applied once per
+     * animation frame.
+     *
+     * @return {@code true} if DOM changes are applied once per animation
+     *         frame, {@code false} if they are applied after each message
+     */
+    public boolean isFrameBatching() {
+        return frameBatching;
+    }
+
+    /**
+     * Sets whether the DOM changes of server messages should be applied once
+     * per animation frame.
+     *
+     * @param frameBatching
+     *            {@code true} to apply DOM changes once per animation frame,
+     *            {@code false} to apply them after each message
+     */
+    public void setFrameBatching(boolean frameBatching) {
+        this.frameBatching = frameBatching;
+    }
+
     /**
      * Sets the exported web components.
      *
@@ -151,6 +151,7 @@ public class ApplicationConnection {
     private boolean isActive() {
         return !registry.getMessageHandler().isInitialUidlHandled()
                 || registry.getRequestResponseTracker().hasActiveRequest()
+                || registry.getMessageHandler().isFrameFlushPending()
                 || isExecutingDeferredCommands();
     }
 
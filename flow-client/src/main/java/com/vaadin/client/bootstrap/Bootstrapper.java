@@ -152,6 +152,8 @@ public class Bootstrapper implements EntryPoint {
 
         conf.setMaxMessageSuspendTimeout(
                 jsoConfiguration.getConfigInteger("maxMessageSuspendTimeout"));
+        conf.setFrameBatching(
+                jsoConfiguration.getConfigBoolean("frameBatching"));
 
         conf.setServletVersion(jsoConfiguration.getVaadinVersion());
         conf.setAtmosphereVersion(jsoConfiguration.getAtmosphereVersion());
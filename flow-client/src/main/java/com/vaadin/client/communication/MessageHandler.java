@@ -66,6 +66,13 @@ public class MessageHandler {
      */
     private static final int UNDEFINED_SYNC_ID = -1;
 
+    /**
+     * The time in milliseconds after which pending DOM changes are applied even
+     * if no animation frame has been run, since browsers pause animation
+     * frames in background tabs.
+     */
+    private static final int FRAME_FLUSH_TIMEOUT = 100;
+
     /**
      * If responseHandlingLocks contains any objects, response handling is
      * suspended until the collection is empty or a timeout has occurred.
@@ -132,6 +139,14 @@ public class MessageHandler {
 
     private boolean initialMessageHandled;
 
+    /**
+     * Whether an animation frame has been requested for applying the DOM
+     * changes of the messages handled since the last flush.
+     */
+    private boolean frameFlushPending;
+
+    private int messagesInFrame;
+
     /**
      * Timer used to make sure that no misbehaving components can delay response
      * handling forever.
@@ -276,6 +291,8 @@ public class MessageHandler {
          * from the rootNode(<body> element) during a resync and not added back.
          */
         if (isResynchronize(valueMap)) {
+            // Apply any pending DOM changes before the nodes are unregistered
+            onAnimationFrame();
             // Unregister all nodes and rebuild the state tree
             registry.getStateTree().prepareForResync();
         }
@@ -442,7 +459,18 @@ public class MessageHandler {
                 Profiler.leave("Error handling");
             }
             nextResponseSessionExpiredHandler = null;
-            Reactive.flush();
+            if (meta == null && initialMessageHandled
+                    && !isResynchronize(valueMap)
+                    && registry.getApplicationConfiguration()
+                            .isFrameBatching()
+                    && !isDocumentHidden()) {
+                // Messages arriving before the next frame are applied together
+                scheduleFrameFlush();
+            } else {
+                frameFlushPending = false;
+                messagesInFrame = 0;
+                Reactive.flush();
+            }
 
             lastProcessingTime = (int) (Duration.currentTimeMillis() - start);
             totalProcessingTime += lastProcessingTime;
@@ -480,6 +508,77 @@ public class MessageHandler {
 
     }
 
+    private void scheduleFrameFlush() {
+        messagesInFrame++;
+        if (!frameFlushPending) {
+            frameFlushPending = true;
+            requestFrameFlush(FRAME_FLUSH_TIMEOUT);
+        }
+    }
+
+    private native void requestFrameFlush(int timeout)
+    /*-{
+        var self = this;
+        var flush = $entry(function() {
+            self.@MessageHandler::onAnimationFrame()();
+        });
+        if ($wnd.requestAnimationFrame) {
+            $wnd.requestAnimationFrame(flush);
+        }
+        // Animation frames are paused while the tab is in the background
+        $wnd.setTimeout(flush, timeout);
+    }-*/;
+
+    /**
+     * Checks whether the document is hidden, e.g. because it is in a
+     * background tab. DOM changes are not deferred to an animation frame while
+     * the document is hidden.
+     *
+     * @return <code>true</code> if the document is hidden, <code>false</code>
+     *         otherwise
+     */
+    protected native boolean isDocumentHidden()
+    /*-{
+        return !!$doc.hidden;
+    }-*/;
+
+    private void onAnimationFrame() {
+        // A synchronous flush may already have applied the changes
+        if (!frameFlushPending) {
+            return;
+        }
+        frameFlushPending = false;
+        int messages = messagesInFrame;
+        messagesInFrame = 0;
+
+        if (!Profiler.isEnabled()) {
+            Reactive.flush();
+            return;
+        }
+        double start = Profiler.getRelativeTimeMillis();
+        Profiler.enter("MessageHandler.flushFrame");
+        Reactive.flush();
+        Profiler.leave("MessageHandler.flushFrame");
+        Console.log("Applied changes of " + messages
+                + " message(s) in animation frame in "
+                + Profiler.getRelativeTimeString(start) + "ms");
+        Scheduler.get().scheduleDeferred(() -> {
+            Profiler.logTimings();
+            Profiler.reset();
+        });
+    }
+
+    /**
+     * Checks whether there are DOM changes from handled messages waiting for
+     * the next animation frame to be applied.
+     *
+     * @return <code>true</code> if DOM changes are waiting to be applied,
+     *         <code>false</code> otherwise
+     */
+    public boolean isFrameFlushPending() {
+        return frameFlushPending;
+    }
+
     private void processChanges(JsonObject json) {
         StateTree tree = registry.getStateTree();
         JsSet<StateNode> updatedNodes = TreeChangeProcessor.processChanges(tree,
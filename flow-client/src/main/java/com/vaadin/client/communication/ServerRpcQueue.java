@@ -18,9 +18,14 @@ package com.vaadin.client.communication;
 import com.google.gwt.core.client.Scheduler;
 import com.vaadin.client.Console;
 import com.vaadin.client.Registry;
+import com.vaadin.client.flow.collection.JsCollections;
+import com.vaadin.client.flow.collection.JsMap;
+import com.vaadin.flow.shared.JsonConstants;
 
 import elemental.json.Json;
 import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+import elemental.json.JsonType;
 import elemental.json.JsonValue;
 
 /**
@@ -38,6 +43,9 @@ public class ServerRpcQueue {
 
     private JsonArray pendingInvocations = Json.createArray();
 
+    // Index in pendingInvocations of the map sync for each node property
+    private JsMap<String, Integer> mapSyncIndexes = JsCollections.map();
+
     private boolean flushPending = false;
 
     private final Registry registry;
@@ -56,6 +64,11 @@ public class ServerRpcQueue {
 
     /**
      * Adds an explicit RPC method invocation to the send queue.
+     * <p>
+     * A property sync replaces any queued sync of the same node property since
+     * only the latest value is relevant for the server. The latest sync is
+     * queued last, so that the server handles the syncs in the order their
+     * final values were set.
      *
      * @param invocation
      *            RPC method invocation
@@ -66,14 +79,50 @@ public class ServerRpcQueue {
                     "Trying to invoke method on not yet started or stopped application");
             return;
         }
+        String mapSyncKey = getMapSyncKey(invocation);
+        if (mapSyncKey != null) {
+            Integer index = mapSyncIndexes.get(mapSyncKey);
+            if (index != null) {
+                removePendingInvocation(index.intValue());
+            }
+            mapSyncIndexes.set(mapSyncKey,
+                    Integer.valueOf(pendingInvocations.length()));
+        }
         pendingInvocations.set(pendingInvocations.length(), invocation);
     }
 
+    private void removePendingInvocation(int index) {
+        pendingInvocations.remove(index);
+        // The following map syncs moved one position back
+        for (int i = index; i < pendingInvocations.length(); i++) {
+            String mapSyncKey = getMapSyncKey(pendingInvocations.get(i));
+            if (mapSyncKey != null) {
+                mapSyncIndexes.set(mapSyncKey, Integer.valueOf(i));
+            }
+        }
+    }
+
+    private static String getMapSyncKey(JsonValue invocation) {
+        if (invocation.getType() != JsonType.OBJECT) {
+            return null;
+        }
+        JsonObject json = (JsonObject) invocation;
+        if (!json.hasKey(JsonConstants.RPC_TYPE)
+                || !JsonConstants.RPC_TYPE_MAP_SYNC
+                        .equals(json.getString(JsonConstants.RPC_TYPE))) {
+            return null;
+        }
+        return (int) json.getNumber(JsonConstants.RPC_NODE) + ":"
+                + (int) json.getNumber(JsonConstants.RPC_FEATURE) + ":"
+                + json.getString(JsonConstants.RPC_PROPERTY);
+    }
+
     /**
      * Clears the queue.
      */
     public void clear() {
         pendingInvocations = Json.createArray();
+        mapSyncIndexes.clear();
         flushPending = false;
         doFlushStrategy = NO_OP;
     }
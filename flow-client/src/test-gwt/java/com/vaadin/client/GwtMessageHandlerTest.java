@@ -26,6 +26,8 @@ import com.vaadin.client.communication.MessageHandler;
 import com.vaadin.client.communication.MessageSender;
 import com.vaadin.client.communication.RequestResponseTracker;
 import com.vaadin.client.flow.StateTree;
+import com.vaadin.client.flow.reactive.Reactive;
+import com.vaadin.flow.shared.ApplicationConstants;
 import com.vaadin.flow.shared.ui.Dependency;
 import com.vaadin.flow.shared.ui.LoadMode;
 
@@ -49,6 +51,8 @@ public class GwtMessageHandlerTest extends ClientEngineTestBase {
 
     private static class TestMessageHandler extends MessageHandler {
 
+        private boolean documentHidden;
+
         public TestMessageHandler(Registry registry) {
             super(registry);
         }
@@ -58,6 +62,11 @@ public class GwtMessageHandlerTest extends ClientEngineTestBase {
             super.handleJSON(valueMap);
         }
 
+        @Override
+        protected boolean isDocumentHidden() {
+            return documentHidden;
+        }
+
     }
 
     private static class TestRequestResponseTracker
@@ -261,6 +270,104 @@ public class GwtMessageHandlerTest extends ClientEngineTestBase {
         }.schedule(300);
     }
 
+    public void testFrameBatching_changesAppliedInNextFrame() {
+        startFrameBatching();
+        int[] flushes = new int[1];
+        Reactive.addPostFlushListener(() -> flushes[0]++);
+
+        handler.handleJSON(createChangesMessage().cast());
+
+        assertTrue(handler.isFrameFlushPending());
+        assertEquals(0, flushes[0]);
+
+        delayTestFinish(1000);
+        new Timer() {
+            @Override
+            public void run() {
+                assertFalse(handler.isFrameFlushPending());
+                assertEquals(1, flushes[0]);
+                finishTest();
+            }
+        }.schedule(300);
+    }
+
+    public void testFrameBatching_noAnimationFrames_changesAppliedAfterTimeout() {
+        startFrameBatching();
+        disableAnimationFrames();
+        int[] flushes = new int[1];
+        Reactive.addPostFlushListener(() -> flushes[0]++);
+
+        handler.handleJSON(createChangesMessage().cast());
+
+        assertTrue(handler.isFrameFlushPending());
+
+        delayTestFinish(1000);
+        new Timer() {
+            @Override
+            public void run() {
+                restoreAnimationFrames();
+                assertFalse(handler.isFrameFlushPending());
+                assertEquals(1, flushes[0]);
+                finishTest();
+            }
+        }.schedule(300);
+    }
+
+    public void testFrameBatching_documentHidden_changesAppliedRightAway() {
+        startFrameBatching();
+        handler.documentHidden = true;
+        int[] flushes = new int[1];
+        Reactive.addPostFlushListener(() -> flushes[0]++);
+
+        handler.handleJSON(createChangesMessage().cast());
+
+        assertFalse(handler.isFrameFlushPending());
+        assertEquals(1, flushes[0]);
+    }
+
+    public void testFrameBatching_resync_pendingAndNewChangesAppliedRightAway() {
+        startFrameBatching();
+        handler.handleJSON(createChangesMessage().cast());
+        assertTrue(handler.isFrameFlushPending());
+        int[] flushes = new int[1];
+        Reactive.addPostFlushListener(() -> flushes[0]++);
+
+        JsonObject resync = createChangesMessage();
+        resync.put(ApplicationConstants.RESYNCHRONIZE_ID, true);
+        handler.handleJSON(resync.cast());
+
+        assertFalse(handler.isFrameFlushPending());
+        assertEquals(1, flushes[0]);
+    }
+
+    public void testFrameBatching_messageWithMeta_changesAppliedRightAway() {
+        startFrameBatching();
+        int[] flushes = new int[1];
+        Reactive.addPostFlushListener(() -> flushes[0]++);
+
+        JsonObject message = createChangesMessage();
+        message.put("meta", Json.createObject());
+        handler.handleJSON(message.cast());
+
+        assertFalse(handler.isFrameFlushPending());
+        assertEquals(1, flushes[0]);
+    }
+
+    private void startFrameBatching() {
+        Reactive.reset();
+        registry.getApplicationConfiguration().setFrameBatching(true);
+        // The initial message is always applied right away
+        handler.handleJSON(createChangesMessage().cast());
+        assertFalse(handler.isFrameFlushPending());
+    }
+
+    private static JsonObject createChangesMessage() {
+        JavaScriptObject object = JavaScriptObject.createObject();
+        JsonObject message = object.cast();
+        message.put("changes", Json.createArray());
+        return message;
+    }
+
     private TestResourceLoader getResourceLoader() {
         return (TestResourceLoader) registry.getResourceLoader();
     }
@@ -290,4 +397,16 @@ public class GwtMessageHandlerTest extends ClientEngineTestBase {
         return window.resynchronizing;
     }-*/;
 
+    private static native void disableAnimationFrames()
+    /*-{
+        $wnd.originalRequestAnimationFrame = $wnd.requestAnimationFrame;
+        $wnd.requestAnimationFrame = function() {};
+    }-*/;
+
+    private static native void restoreAnimationFrames()
+    /*-{
+        $wnd.requestAnimationFrame = $wnd.originalRequestAnimationFrame;
+        delete $wnd.originalRequestAnimationFrame;
+    }-*/;
+
 }
@@ -0,0 +1,129 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.client.communication;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.client.Registry;
+import com.vaadin.client.UILifecycle;
+import com.vaadin.client.UILifecycle.UIState;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.Json;
+import elemental.json.JsonArray;
+import elemental.json.JsonObject;
+
+public class ServerRpcQueueTest {
+
+    private final Registry registry = new Registry() {
+        {
+            UILifecycle lifecycle = new UILifecycle();
+            lifecycle.setState(UIState.RUNNING);
+            set(UILifecycle.class, lifecycle);
+        }
+    };
+
+    private final ServerRpcQueue queue = new ServerRpcQueue(registry);
+
+    @Test
+    public void add_sameProperty_onlyLatestValueKeptInLatestPosition() {
+        queue.add(createSync(1, "value", "a"));
+        queue.add(createEvent(1, "input"));
+        queue.add(createSync(1, "value", "ab"));
+        queue.add(createSync(1, "value", "abc"));
+
+        JsonArray json = queue.toJson();
+        Assert.assertEquals(2, json.length());
+        Assert.assertEquals(JsonConstants.RPC_TYPE_EVENT,
+                json.getObject(0).getString(JsonConstants.RPC_TYPE));
+        Assert.assertEquals("abc", json.getObject(1)
+                .getString(JsonConstants.RPC_PROPERTY_VALUE));
+    }
+
+    @Test
+    public void add_repeatedSyncsOfSeveralProperties_orderOfLatestValuesKept() {
+        queue.add(createSync(1, "value", "a"));
+        queue.add(createSync(2, "value", "x"));
+        queue.add(createSync(1, "value", "ab"));
+        queue.add(createSync(1, "checked", true));
+        queue.add(createSync(2, "value", "y"));
+        queue.add(createSync(1, "value", "abc"));
+
+        JsonArray json = queue.toJson();
+        Assert.assertEquals(3, json.length());
+        Assert.assertEquals("checked", json.getObject(0)
+                .getString(JsonConstants.RPC_PROPERTY));
+        Assert.assertEquals("y", json.getObject(1)
+                .getString(JsonConstants.RPC_PROPERTY_VALUE));
+        Assert.assertEquals("abc", json.getObject(2)
+                .getString(JsonConstants.RPC_PROPERTY_VALUE));
+    }
+
+    @Test
+    public void add_differentPropertiesAndNodes_allKept() {
+        queue.add(createSync(1, "value", "a"));
+        queue.add(createSync(1, "checked", true));
+        queue.add(createSync(2, "value", "b"));
+
+        Assert.assertEquals(3, queue.size());
+    }
+
+    @Test
+    public void add_sameEventTwice_bothKept() {
+        queue.add(createEvent(1, "click"));
+        queue.add(createEvent(1, "click"));
+
+        Assert.assertEquals(2, queue.size());
+    }
+
+    @Test
+    public void clear_syncAfterClearIsAddedAgain() {
+        queue.add(createSync(1, "value", "a"));
+        queue.clear();
+        queue.add(createSync(1, "value", "b"));
+        queue.add(createEvent(1, "input"));
+        queue.add(createSync(1, "value", "c"));
+
+        JsonArray json = queue.toJson();
+        Assert.assertEquals(2, json.length());
+        Assert.assertEquals("c", json.getObject(1)
+                .getString(JsonConstants.RPC_PROPERTY_VALUE));
+    }
+
+    private static JsonObject createSync(int node, String property,
+            Object value) {
+        JsonObject message = Json.createObject();
+        message.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_MAP_SYNC);
+        message.put(JsonConstants.RPC_NODE, node);
+        message.put(JsonConstants.RPC_FEATURE, 1);
+        message.put(JsonConstants.RPC_PROPERTY, property);
+        if (value instanceof Boolean) {
+            message.put(JsonConstants.RPC_PROPERTY_VALUE, (Boolean) value);
+        } else {
+            message.put(JsonConstants.RPC_PROPERTY_VALUE, (String) value);
+        }
+        return message;
+    }
+
+    private static JsonObject createEvent(int node, String type) {
+        JsonObject message = Json.createObject();
+        message.put(JsonConstants.RPC_TYPE, JsonConstants.RPC_TYPE_EVENT);
+        message.put(JsonConstants.RPC_NODE, node);
+        message.put(JsonConstants.RPC_EVENT_TYPE, type);
+        return message;
+    }
+}
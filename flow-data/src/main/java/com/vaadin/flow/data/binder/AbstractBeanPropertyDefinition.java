@@ -37,6 +37,7 @@ public abstract class AbstractBeanPropertyDefinition<T, V>
     private final PropertyDescriptor descriptor;
     private final BeanPropertySet<T> propertySet;
     private final Class<?> propertyHolderType;
+    private final Class<?> type;
 
     /**
      * Constructor for setting the immutable descriptor, property set and
@@ -54,6 +55,7 @@ public abstract class AbstractBeanPropertyDefinition<T, V>
         this.propertySet = propertySet;
         this.propertyHolderType = propertyHolderType;
         this.descriptor = descriptor;
+        type = ReflectTools.convertPrimitiveType(descriptor.getPropertyType());
 
         if (descriptor.getReadMethod() == null) {
             throw new IllegalArgumentException(
@@ -66,8 +68,7 @@ public abstract class AbstractBeanPropertyDefinition<T, V>
     @SuppressWarnings("unchecked")
     @Override
     public Class<V> getType() {
-        return (Class<V>) ReflectTools
-                .convertPrimitiveType(descriptor.getPropertyType());
+        return (Class<V>) type;
     }
 
     @Override
@@ -19,8 +19,13 @@ import java.beans.IntrospectionException;
 import java.beans.PropertyDescriptor;
 import java.io.IOException;
 import java.io.Serializable;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,12 +33,17 @@ import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import com.vaadin.flow.function.ValueProvider;
 import com.vaadin.flow.internal.BeanUtil;
+import com.vaadin.flow.internal.ReflectTools;
 
 /**
  * A {@link PropertySet} that uses reflection to find bean properties.
@@ -105,9 +115,145 @@ public class BeanPropertySet<T> implements PropertySet<T> {
         }
     }
 
+    /**
+     * Reads and writes a property through accessors generated with
+     * {@link LambdaMetafactory}, which avoid the overhead of
+     * {@link Method#invoke(Object, Object...)}. Reflection is still used
+     * whenever the generated accessors could behave differently, for instance
+     * when the bean class is not visible to the class loader of this class.
+     */
+    private static final class PropertyAccessor {
+        private final Method readMethod;
+        private final Function<Object, Object> reader;
+        private final Method writeMethod;
+        private final BiConsumer<Object, Object> writer;
+        private final Class<?> writeType;
+
+        private PropertyAccessor(PropertyDescriptor descriptor) {
+            readMethod = descriptor.getReadMethod();
+            reader = createReader(readMethod);
+            writeMethod = descriptor.getWriteMethod();
+            if (writeMethod == null) {
+                writer = null;
+                writeType = null;
+            } else {
+                writeType = writeMethod.getParameterTypes()[0];
+                writer = createWriter(writeMethod, writeType);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static Function<Object, Object> createReader(Method method) {
+            if (!canLinkDirectly(method)) {
+                return null;
+            }
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                MethodHandle handle = lookup.unreflect(method);
+                return (Function<Object, Object>) LambdaMetafactory
+                        .metafactory(lookup, "apply",
+                                MethodType.methodType(Function.class),
+                                MethodType.methodType(Object.class,
+                                        Object.class),
+                                handle, handle.type().wrap())
+                        .getTarget().invoke();
+            } catch (Throwable throwable) {
+                getLogger().debug("Using reflection to invoke {}", method,
+                        throwable);
+                return null;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private static BiConsumer<Object, Object> createWriter(Method method,
+                Class<?> valueType) {
+            if (!canLinkDirectly(method) || !isVisible(valueType)) {
+                return null;
+            }
+            try {
+                MethodHandles.Lookup lookup = MethodHandles.lookup();
+                MethodHandle handle = lookup.unreflect(method);
+                return (BiConsumer<Object, Object>) LambdaMetafactory
+                        .metafactory(lookup, "accept",
+                                MethodType.methodType(BiConsumer.class),
+                                MethodType.methodType(void.class, Object.class,
+                                        Object.class),
+                                handle,
+                                MethodType.methodType(void.class,
+                                        method.getDeclaringClass(),
+                                        ReflectTools.convertPrimitiveType(
+                                                valueType)))
+                        .getTarget().invoke();
+            } catch (Throwable throwable) {
+                getLogger().debug("Using reflection to invoke {}", method,
+                        throwable);
+                return null;
+            }
+        }
+
+        private static boolean canLinkDirectly(Method method) {
+            Class<?> declaringClass = method.getDeclaringClass();
+            return Modifier.isPublic(method.getModifiers())
+                    && !Modifier.isStatic(method.getModifiers())
+                    && Modifier.isPublic(declaringClass.getModifiers())
+                    && isVisible(declaringClass);
+        }
+
+        // The generated classes resolve types through our own class loader
+        private static boolean isVisible(Class<?> type) {
+            if (type.isPrimitive()) {
+                return true;
+            }
+            try {
+                return Class.forName(type.getName(), false,
+                        BeanPropertySet.class.getClassLoader()) == type;
+            } catch (ClassNotFoundException | LinkageError e) {
+                return false;
+            }
+        }
+
+        private Object get(Object bean) {
+            if (reader == null
+                    || !readMethod.getDeclaringClass().isInstance(bean)) {
+                return invokeWrapExceptions(readMethod, bean);
+            }
+            try {
+                return reader.apply(bean);
+            } catch (RuntimeException | Error e) {
+                throw new RuntimeException(new InvocationTargetException(e));
+            }
+        }
+
+        private void set(Object bean, Object value) {
+            if (writer == null
+                    || !writeMethod.getDeclaringClass().isInstance(bean)
+                    || !isExactValue(value)) {
+                // Also takes care of widening primitive conversions and
+                // reports invalid arguments
+                invokeWrapExceptions(writeMethod, bean, value);
+                return;
+            }
+            try {
+                writer.accept(bean, value);
+            } catch (RuntimeException | Error e) {
+                throw new RuntimeException(new InvocationTargetException(e));
+            }
+        }
+
+        private boolean isExactValue(Object value) {
+            if (value == null) {
+                return !writeType.isPrimitive();
+            }
+            return ReflectTools.convertPrimitiveType(writeType)
+                    .isInstance(value);
+        }
+    }
+
     private static class BeanPropertyDefinition<T, V>
             extends AbstractBeanPropertyDefinition<T, V> {
 
+        private transient PropertyAccessor accessor;
+
         public BeanPropertyDefinition(BeanPropertySet<T> propertySet,
                 Class<T> propertyHolderType, PropertyDescriptor descriptor) {
             super(propertySet, propertyHolderType, descriptor);
@@ -115,11 +261,7 @@ public class BeanPropertySet<T> implements PropertySet<T> {
 
         @Override
         public ValueProvider<T, V> getGetter() {
-            return bean -> {
-                Method readMethod = getDescriptor().getReadMethod();
-                Object value = invokeWrapExceptions(readMethod, bean);
-                return getType().cast(value);
-            };
+            return bean -> getType().cast(getAccessor().get(bean));
         }
 
         @Override
@@ -128,17 +270,18 @@ public class BeanPropertySet<T> implements PropertySet<T> {
                 return Optional.empty();
             }
 
-            Setter<T, V> setter = (bean, value) -> {
-                // Do not "optimize" this getter call,
-                // if its done outside the code block, that will produce
-                // NotSerializableException because of some lambda compilation
-                // magic
-                Method innerSetter = getDescriptor().getWriteMethod();
-                invokeWrapExceptions(innerSetter, bean, value);
-            };
+            Setter<T, V> setter = (bean, value) -> getAccessor().set(bean,
+                    value);
             return Optional.of(setter);
         }
 
+        private PropertyAccessor getAccessor() {
+            if (accessor == null) {
+                accessor = new PropertyAccessor(getDescriptor());
+            }
+            return accessor;
+        }
+
         private Object writeReplace() {
             /*
              * Instead of serializing this actual property definition, only
@@ -176,6 +319,8 @@ public class BeanPropertySet<T> implements PropertySet<T> {
 
         private final PropertyDefinition<T, ?> parent;
 
+        private transient PropertyAccessor accessor;
+
         /**
          * Creates a new instance of a nested property definition.
          *
@@ -195,12 +340,8 @@ public class BeanPropertySet<T> implements PropertySet<T> {
 
         @Override
         public ValueProvider<T, V> getGetter() {
-            return bean -> {
-                Method readMethod = getDescriptor().getReadMethod();
-                Object value = invokeWrapExceptions(readMethod,
-                        parent.getGetter().apply(bean));
-                return getType().cast(value);
-            };
+            return bean -> getType().cast(
+                    getAccessor().get(parent.getGetter().apply(bean)));
         }
 
         @Override
@@ -209,18 +350,18 @@ public class BeanPropertySet<T> implements PropertySet<T> {
                 return Optional.empty();
             }
 
-            Setter<T, V> setter = (bean, value) -> {
-                // Do not "optimize" this getter call,
-                // if its done outside the code block, that will produce
-                // NotSerializableException because of some lambda compilation
-                // magic
-                Method innerSetter = getDescriptor().getWriteMethod();
-                invokeWrapExceptions(innerSetter,
-                        parent.getGetter().apply(bean), value);
-            };
+            Setter<T, V> setter = (bean, value) -> getAccessor()
+                    .set(parent.getGetter().apply(bean), value);
             return Optional.of(setter);
         }
 
+        private PropertyAccessor getAccessor() {
+            if (accessor == null) {
+                accessor = new PropertyAccessor(getDescriptor());
+            }
+            return accessor;
+        }
+
         @Override
         public String getName() {
             return parent.getName() + "." + super.getName();
@@ -524,6 +665,10 @@ public class BeanPropertySet<T> implements PropertySet<T> {
         return "Property set for bean " + instanceKey.type.getName();
     }
 
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(BeanPropertySet.class.getName());
+    }
+
     private Object writeReplace() {
         /*
          * Instead of serializing this actual property set, only serialize a DTO
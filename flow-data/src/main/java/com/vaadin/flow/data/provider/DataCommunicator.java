@@ -16,16 +16,24 @@
 package com.vaadin.flow.data.provider;
 
 import java.io.Serializable;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.BiFunction;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
@@ -123,6 +131,17 @@ public class DataCommunicator<T> implements Serializable {
 
     private boolean fetchEnabled;
 
+    // Executors are not serializable, paged queries are run sequentially
+    // after deserialization until an executor is set again
+    private transient Executor fetchExecutor;
+    private boolean prefetchEnabled;
+
+    // Pages fetched ahead of time, keyed by the offset of the page query
+    private transient Map<Integer, CompletableFuture<List<T>>> prefetchedPages;
+    private int lastFetchOffset;
+
+    private final FetchMetrics fetchMetrics = new FetchMetrics();
+
     /**
      * In-memory data provider with no items.
      * <p>
@@ -250,6 +269,129 @@ public class DataCommunicator<T> implements Serializable {
 
     }
 
+    /**
+     * Sizing and timing statistics of the item fetches made by a data
+     * communicator.
+     * <p>
+     * The values are cumulative since the data communicator was created or
+     * {@link #clear()} was last called. Page queries may be run on the
+     * {@link DataCommunicator#setFetchExecutor(Executor) fetch executor}
+     * threads, so the values can be read from any thread.
+     *
+     * @see DataCommunicator#getFetchMetrics()
+     */
+    public static final class FetchMetrics implements Serializable {
+
+        private final AtomicLong fetchCount = new AtomicLong();
+        private final AtomicLong fetchNanos = new AtomicLong();
+        private final AtomicLong itemCount = new AtomicLong();
+        private final AtomicLong pageQueryCount = new AtomicLong();
+        private final AtomicLong pageQueryNanos = new AtomicLong();
+        private final AtomicLong prefetchedPageCount = new AtomicLong();
+        private final AtomicLong prefetchHitCount = new AtomicLong();
+
+        private FetchMetrics() {
+        }
+
+        /**
+         * Gets the number of item ranges fetched for the client.
+         *
+         * @return the number of fetched ranges
+         */
+        public long getFetchCount() {
+            return fetchCount.get();
+        }
+
+        /**
+         * Gets the total time spent fetching item ranges, as seen by the
+         * thread that requested the items. Data providers may return lazy
+         * streams, so this includes reading the items from the returned
+         * streams.
+         *
+         * @return the total fetch time
+         */
+        public Duration getFetchTime() {
+            return Duration.ofNanos(fetchNanos.get());
+        }
+
+        /**
+         * Gets the number of items fetched for the client.
+         *
+         * @return the number of fetched items
+         */
+        public long getItemCount() {
+            return itemCount.get();
+        }
+
+        /**
+         * Gets the number of queries made to the data provider, including
+         * queries for prefetched pages.
+         *
+         * @return the number of data provider queries
+         */
+        public long getPageQueryCount() {
+            return pageQueryCount.get();
+        }
+
+        /**
+         * Gets the sum of the time spent in data provider queries. When pages
+         * are fetched concurrently, this is typically larger than
+         * {@link #getFetchTime()}.
+         *
+         * @return the total query time
+         */
+        public Duration getPageQueryTime() {
+            return Duration.ofNanos(pageQueryNanos.get());
+        }
+
+        /**
+         * Gets the number of pages that have been fetched ahead of time.
+         *
+         * @return the number of prefetched pages
+         */
+        public long getPrefetchedPageCount() {
+            return prefetchedPageCount.get();
+        }
+
+        /**
+         * Gets the number of prefetched pages that have been used for a
+         * later fetch.
+         *
+         * @return the number of used prefetched pages
+         */
+        public long getPrefetchHitCount() {
+            return prefetchHitCount.get();
+        }
+
+        /**
+         * Resets all values to zero.
+         */
+        public void clear() {
+            fetchCount.set(0);
+            fetchNanos.set(0);
+            itemCount.set(0);
+            pageQueryCount.set(0);
+            pageQueryNanos.set(0);
+            prefetchedPageCount.set(0);
+            prefetchHitCount.set(0);
+        }
+
+        private void recordPageQuery(long startNanos) {
+            pageQueryCount.incrementAndGet();
+            pageQueryNanos.addAndGet(System.nanoTime() - startNanos);
+        }
+
+        @Override
+        public String toString() {
+            return String.format(
+                    "fetches=%d, items=%d, fetchTime=%dms, queries=%d, "
+                            + "queryTime=%dms, prefetched=%d, prefetchHits=%d",
+                    getFetchCount(), getItemCount(), getFetchTime().toMillis(),
+                    getPageQueryCount(), getPageQueryTime().toMillis(),
+                    getPrefetchedPageCount(), getPrefetchHitCount());
+        }
+    }
+
     /**
      * Creates a new instance.
      *
@@ -331,6 +473,7 @@ public class DataCommunicator<T> implements Serializable {
         resendEntireRange = true;
         dataGenerator.destroyAllData();
         updatedData.clear();
+        clearPrefetchedPages();
         requestFlush();
     }
 
@@ -346,6 +489,7 @@ public class DataCommunicator<T> implements Serializable {
         getKeyMapper().refresh(data);
         dataGenerator.refreshData(data);
         updatedData.add(data);
+        clearPrefetchedPages();
         requestFlushUpdatedData();
     }
 
@@ -586,6 +730,7 @@ public class DataCommunicator<T> implements Serializable {
                     "Page size cannot be less than 1, got %d", pageSize));
         }
         this.pageSize = pageSize;
+        clearPrefetchedPages();
     }
 
     /**
@@ -754,11 +899,18 @@ public class DataCommunicator<T> implements Serializable {
      * mapper can be used to map keys sent to the client-side back to their
      * respective data objects.
      *
+     * <p>
+     * An {@link IntKeyMapper} can be used to reduce the memory use and garbage
+     * produced when a large number of items is scrolled through.
+     *
      * @param keyMapper
      *            the keyMapper
      */
     protected void setKeyMapper(DataKeyMapper<T> keyMapper) {
         this.keyMapper = keyMapper;
+        if (dataProvider != null) {
+            keyMapper.setIdentifierGetter(dataProvider::getId);
+        }
     }
 
     /**
@@ -861,6 +1013,90 @@ public class DataCommunicator<T> implements Serializable {
         this.fetchEnabled = fetchEnabled;
     }
 
+    /**
+     * Sets the executor used to run paged data provider queries concurrently.
+     * <p>
+     * By default, a range that spans several pages is fetched with one query
+     * per page, one after another. With an executor, the queries for all
+     * pages are issued at the same time and the results are merged in page
+     * order, so the time needed to fetch a range is close to that of a single
+     * query. The executor is only used when {@link #isPagingEnabled() paging}
+     * is enabled.
+     * <p>
+     * The queries run on the executor threads without holding the session
+     * lock, and no {@link com.vaadin.flow.component.UI#getCurrent() current
+     * UI} or session is available for them. The data provider must thus be
+     * thread safe and must not lock the session while fetching items.
+     * <p>
+     * The executor is not serialized with the data communicator. Queries are
+     * run sequentially after deserialization until an executor is set again.
+     *
+     * @param fetchExecutor
+     *            the executor to use, or {@code null} to run the queries
+     *            sequentially in the calling thread
+     * @see #setPrefetchEnabled(boolean)
+     */
+    public void setFetchExecutor(Executor fetchExecutor) {
+        this.fetchExecutor = fetchExecutor;
+        clearPrefetchedPages();
+    }
+
+    /**
+     * Gets the executor used to run paged data provider queries concurrently.
+     *
+     * @return the fetch executor, or {@code null} if queries are run
+     *         sequentially
+     * @see #setFetchExecutor(Executor)
+     */
+    public Executor getFetchExecutor() {
+        return fetchExecutor;
+    }
+
+    /**
+     * Sets whether the next range of items is fetched ahead of time.
+     * <p>
+     * When enabled, every fetch also starts fetching a range of the same size
+     * next to the fetched one, in the direction the client has last scrolled
+     * to. If the client then requests that range, the already fetched pages
+     * are used instead of querying the data provider again. Prefetched pages
+     * are discarded when the data is {@link #reset()} or refreshed, or when
+     * the client requests some other range.
+     * <p>
+     * Prefetching is only done when a {@link #setFetchExecutor(Executor)
+     * fetch executor} is set. It is disabled by default.
+     *
+     * @param prefetchEnabled
+     *            {@code true} to fetch the next range ahead of time,
+     *            {@code false} to only fetch the requested items
+     */
+    public void setPrefetchEnabled(boolean prefetchEnabled) {
+        this.prefetchEnabled = prefetchEnabled;
+        if (!prefetchEnabled) {
+            clearPrefetchedPages();
+        }
+    }
+
+    /**
+     * Returns whether the next range of items is fetched ahead of time.
+     *
+     * @return {@code true} if prefetching is enabled, {@code false}
+     *         otherwise
+     * @see #setPrefetchEnabled(boolean)
+     */
+    public boolean isPrefetchEnabled() {
+        return prefetchEnabled;
+    }
+
+    /**
+     * Gets the sizing and timing statistics of the item fetches made by this
+     * data communicator.
+     *
+     * @return the fetch metrics, not {@code null}
+     */
+    public FetchMetrics getFetchMetrics() {
+        return fetchMetrics;
+    }
+
     /**
      * Getter method for determining the item count of the data.
      * <p>
@@ -935,7 +1171,9 @@ public class DataCommunicator<T> implements Serializable {
              */
             final int pages = (limit - 1) / pageSize + 1;
 
-            if (limit > pageSize) {
+            if (fetchExecutor != null) {
+                stream = fetchPagesConcurrently(offset, limit, pages);
+            } else if (limit > pageSize) {
                 /*
                  * Requested range is split to several pages, and queried from
                  * backend page by page
@@ -975,19 +1213,149 @@ public class DataCommunicator<T> implements Serializable {
             assert !stream.isParallel();
         }
 
+        fetchMetrics.fetchCount.incrementAndGet();
+
         SizeVerifier verifier = new SizeVerifier<>(limit);
-        return stream.peek(verifier);
+        return stream.peek(verifier)
+                .peek(item -> fetchMetrics.itemCount.incrementAndGet());
     }
 
     @SuppressWarnings({ "rawtypes", "unchecked" })
     private Stream<T> doFetchFromDataProvider(int offset, int limitedTo) {
+        final long start = System.nanoTime();
         QueryTrace query = new QueryTrace(offset, limitedTo, backEndSorting,
                 inMemorySorting, getFilter());
         Stream<T> stream = getDataProvider().fetch(query);
         verifyQueryContract(query);
+        fetchMetrics.recordPageQuery(start);
         return stream;
     }
 
+    private Stream<T> fetchPagesConcurrently(int offset, int limit,
+            int pages) {
+        List<CompletableFuture<List<T>>> futures = new ArrayList<>(pages);
+        // Queue the other pages before fetching the first one in this thread
+        for (int page = 1; page < pages; page++) {
+            futures.add(getPage(offset + page * pageSize, true));
+        }
+        futures.add(0, getPage(offset, false));
+
+        if (prefetchEnabled) {
+            prefetch(offset, limit, pages);
+        }
+
+        // Keep the pages until we get empty/partial page, like with the
+        // sequential page queries
+        List<T> items = new ArrayList<>();
+        for (CompletableFuture<List<T>> future : futures) {
+            List<T> pageItems = join(future);
+            items.addAll(pageItems);
+            if (pageItems.size() != pageSize) {
+                break;
+            }
+        }
+        return items.stream();
+    }
+
+    private CompletableFuture<List<T>> getPage(int pageOffset,
+            boolean async) {
+        CompletableFuture<List<T>> prefetched = prefetchedPages == null ? null
+                : prefetchedPages.remove(pageOffset);
+        // A failed prefetch is retried, the data provider may have recovered
+        if (prefetched != null && !prefetched.isCompletedExceptionally()) {
+            fetchMetrics.prefetchHitCount.incrementAndGet();
+            return prefetched;
+        }
+        PageQuery pageQuery = new PageQuery(pageOffset);
+        if (async) {
+            return CompletableFuture.supplyAsync(pageQuery, fetchExecutor);
+        }
+        return CompletableFuture.completedFuture(pageQuery.get());
+    }
+
+    private void prefetch(int offset, int limit, int pages) {
+        // Guess the next range from the direction the client has scrolled to
+        boolean backwards = offset < lastFetchOffset;
+        int nextOffset = backwards ? Math.max(0, offset - limit)
+                : offset + limit;
+        lastFetchOffset = offset;
+
+        Map<Integer, CompletableFuture<List<T>>> nextPages = new LinkedHashMap<>();
+        for (int page = 0; page < pages; page++) {
+            int pageOffset = nextOffset + page * pageSize;
+            if (backwards && pageOffset >= offset
+                    || definedSize && pageOffset >= assumedSize) {
+                break;
+            }
+            CompletableFuture<List<T>> future = prefetchedPages == null ? null
+                    : prefetchedPages.remove(pageOffset);
+            if (future == null) {
+                future = CompletableFuture.supplyAsync(
+                        new PageQuery(pageOffset), fetchExecutor);
+                fetchMetrics.prefetchedPageCount.incrementAndGet();
+            }
+            nextPages.put(pageOffset, future);
+        }
+        // Pages outside of the next range are not going to be requested
+        clearPrefetchedPages();
+        prefetchedPages = nextPages;
+    }
+
+    private void clearPrefetchedPages() {
+        if (prefetchedPages != null) {
+            Iterator<CompletableFuture<List<T>>> iterator = prefetchedPages
+                    .values().iterator();
+            while (iterator.hasNext()) {
+                iterator.next().cancel(false);
+                iterator.remove();
+            }
+        }
+    }
+
+    private static <T> List<T> join(CompletableFuture<List<T>> future) {
+        try {
+            return future.join();
+        } catch (CompletionException exception) {
+            // Rethrow the data provider exception as is, like with sequential
+            // queries
+            Throwable cause = exception.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw exception;
+        }
+    }
+
+    /**
+     * Query for a single page that can be run in another thread. The query
+     * parameters are captured in the constructor, since the state of the data
+     * communicator may change while the query is being run.
+     */
+    private class PageQuery implements SerializableSupplier<List<T>> {
+
+        private final DataProvider<T, ?> pageDataProvider = getDataProvider();
+        private final QueryTrace<T, Object> query;
+
+        private PageQuery(int pageOffset) {
+            query = new QueryTrace<>(pageOffset, pageSize,
+                    new ArrayList<>(backEndSorting), inMemorySorting,
+                    getFilter());
+        }
+
+        @Override
+        @SuppressWarnings({ "rawtypes", "unchecked" })
+        public List<T> get() {
+            final long start = System.nanoTime();
+            Stream<T> stream = ((DataProvider) pageDataProvider).fetch(query);
+            List<T> items = stream.collect(Collectors.toList());
+            verifyQueryContract(query);
+            fetchMetrics.recordPageQuery(start);
+            return items;
+        }
+    }
+
     @SuppressWarnings("rawtypes")
     private void verifyQueryContract(QueryTrace query) {
         /*
@@ -1332,6 +1700,8 @@ public class DataCommunicator<T> implements Serializable {
 
         // XXX Explicitly refresh anything that is updated
         List<String> activeKeys = new ArrayList<>(range.length());
+        // Measured around consuming the stream, since it may be lazy
+        final long start = System.nanoTime();
         fetchFromProvider(range.getStart(), range.length()).forEach(bean -> {
             boolean mapperHasKey = keyMapper.has(bean);
             String key = keyMapper.key(bean);
@@ -1343,6 +1713,7 @@ public class DataCommunicator<T> implements Serializable {
             }
             activeKeys.add(key);
         });
+        fetchMetrics.fetchNanos.addAndGet(System.nanoTime() - start);
         boolean needsSizeRecheck = activeKeys.size() < range.length();
         return new Activation(activeKeys, needsSizeRecheck);
     }
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.util.Objects;
+
+import com.vaadin.flow.function.ValueProvider;
+
+/**
+ * A {@link DataKeyMapper} that uses <code>int</code> keys internally and stores
+ * the mappings in open addressing hash tables.
+ * <p>
+ * Compared to {@link KeyMapper}, no key strings or map entries are kept for
+ * mapped objects, which reduces the memory use and garbage produced when a
+ * large number of items is mapped and unmapped, e.g. while scrolling a grid.
+ * Key strings are only created when {@link #key(Object)} is called.
+ *
+ * @param <V>
+ *            the type of mapped objects
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class IntKeyMapper<V> implements DataKeyMapper<V> {
+
+    private static final int MIN_CAPACITY = 16;
+
+    /**
+     * Stands in for a <code>null</code> id, since <code>null</code> marks an
+     * empty slot in the id table.
+     */
+    private enum NullId {
+        INSTANCE
+    }
+
+    private int lastKey = 0;
+
+    private int size = 0;
+
+    /*
+     * Maps object ids to keys. Linear probing, a null id marks an empty slot.
+     */
+    private Object[] ids = new Object[MIN_CAPACITY];
+    private int[] idKeys = new int[MIN_CAPACITY];
+
+    /*
+     * Maps keys to objects. Linear probing, key 0 marks an empty slot.
+     */
+    private int[] keys = new int[MIN_CAPACITY];
+    private Object[] objects = new Object[MIN_CAPACITY];
+
+    private ValueProvider<V, Object> identifierGetter;
+
+    /**
+     * Constructs a new mapper.
+     *
+     * @param identifierGetter
+     *            has to return a unique key for every bean, and the returned
+     *            key has to follow general {@code hashCode()} and
+     *            {@code equals()} contract, see {@link Object#hashCode()} for
+     *            details.
+     */
+    public IntKeyMapper(ValueProvider<V, Object> identifierGetter) {
+        this.identifierGetter = identifierGetter;
+    }
+
+    /**
+     * Constructs a new mapper with trivial {@code identifierGetter}
+     */
+    public IntKeyMapper() {
+        this(v -> v);
+    }
+
+    @Override
+    public String key(V o) {
+        if (o == null) {
+            return "null";
+        }
+
+        Object id = getId(o);
+        int slot = findId(id);
+        if (ids[slot] != null) {
+            return Integer.toString(idKeys[slot]);
+        }
+
+        int key = ++lastKey;
+        put(id, key, o);
+        return Integer.toString(key);
+    }
+
+    @Override
+    public boolean has(V o) {
+        return ids[findId(getId(o))] != null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(String key) {
+        int intKey = parseKey(key);
+        if (intKey <= 0) {
+            return null;
+        }
+        return (V) objects[findKey(intKey)];
+    }
+
+    @Override
+    public void remove(V removeobj) {
+        int idSlot = findId(getId(removeobj));
+        if (ids[idSlot] == null) {
+            return;
+        }
+        int keySlot = findKey(idKeys[idSlot]);
+
+        deleteId(idSlot);
+        deleteKey(keySlot);
+        size--;
+
+        // Give back memory once most of the mapped items have been removed
+        if (ids.length > MIN_CAPACITY && size < ids.length / 8) {
+            resize(ids.length / 2);
+        }
+    }
+
+    @Override
+    public void removeAll() {
+        size = 0;
+        ids = new Object[MIN_CAPACITY];
+        idKeys = new int[MIN_CAPACITY];
+        keys = new int[MIN_CAPACITY];
+        objects = new Object[MIN_CAPACITY];
+    }
+
+    /**
+     * Checks if the given key is mapped to an object.
+     *
+     * @param key
+     *            the key to check
+     * @return <code>true</code> if the key is currently mapped,
+     *         <code>false</code> otherwise
+     */
+    public boolean containsKey(String key) {
+        int intKey = parseKey(key);
+        return intKey > 0 && keys[findKey(intKey)] != 0;
+    }
+
+    /**
+     * Gets the number of objects currently mapped.
+     *
+     * @return the number of mapped objects
+     */
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void refresh(V dataObject) {
+        int idSlot = findId(getId(dataObject));
+        if (ids[idSlot] != null) {
+            objects[findKey(idKeys[idSlot])] = dataObject;
+        }
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void setIdentifierGetter(ValueProvider<V, Object> identifierGetter) {
+        if (this.identifierGetter != identifierGetter) {
+            this.identifierGetter = identifierGetter;
+            ids = new Object[ids.length];
+            idKeys = new int[ids.length];
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] != 0) {
+                    Object id = getId((V) objects[i]);
+                    int slot = findId(id);
+                    ids[slot] = id;
+                    idKeys[slot] = keys[i];
+                }
+            }
+        }
+    }
+
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        // Hash codes of the ids may differ after deserialization
+        resize(ids.length);
+    }
+
+    private Object getId(V object) {
+        Object id = identifierGetter.apply(object);
+        return id == null ? NullId.INSTANCE : id;
+    }
+
+    private static int parseKey(String key) {
+        if (key == null || key.isEmpty() || key.length() > 10) {
+            return -1;
+        }
+        long result = 0;
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            result = result * 10 + (c - '0');
+        }
+        return result > Integer.MAX_VALUE ? -1 : (int) result;
+    }
+
+    private void put(Object id, int key, V object) {
+        // Keep the load factor at most 1/2
+        if ((size + 1) * 2 > ids.length) {
+            resize(ids.length * 2);
+        }
+        int idSlot = findId(id);
+        ids[idSlot] = id;
+        idKeys[idSlot] = key;
+
+        int keySlot = findKey(key);
+        keys[keySlot] = key;
+        objects[keySlot] = object;
+
+        size++;
+    }
+
+    private void resize(int capacity) {
+        Object[] oldIds = ids;
+        int[] oldIdKeys = idKeys;
+        int[] oldKeys = keys;
+        Object[] oldObjects = objects;
+
+        ids = new Object[capacity];
+        idKeys = new int[capacity];
+        keys = new int[capacity];
+        objects = new Object[capacity];
+
+        for (int i = 0; i < oldIds.length; i++) {
+            if (oldIds[i] != null) {
+                int slot = findId(oldIds[i]);
+                ids[slot] = oldIds[i];
+                idKeys[slot] = oldIdKeys[i];
+            }
+            if (oldKeys[i] != 0) {
+                int slot = findKey(oldKeys[i]);
+                keys[slot] = oldKeys[i];
+                objects[slot] = oldObjects[i];
+            }
+        }
+    }
+
+    /**
+     * Finds the slot of the given id, or the empty slot where it should be
+     * inserted.
+     */
+    private int findId(Object id) {
+        int mask = ids.length - 1;
+        int slot = mix(id.hashCode()) & mask;
+        while (ids[slot] != null && !Objects.equals(ids[slot], id)) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Finds the slot of the given key, or the empty slot where it should be
+     * inserted.
+     */
+    private int findKey(int key) {
+        int mask = keys.length - 1;
+        int slot = mix(key) & mask;
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void deleteId(int slot) {
+        int mask = ids.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        // Shift back entries that would become unreachable from their home
+        while (ids[next] != null) {
+            int home = mix(ids[next].hashCode()) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                ids[hole] = ids[next];
+                idKeys[hole] = idKeys[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        ids[hole] = null;
+        idKeys[hole] = 0;
+    }
+
+    private void deleteKey(int slot) {
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        // Shift back entries that would become unreachable from their home
+        while (keys[next] != 0) {
+            int home = mix(keys[next]) & mask;
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                objects[hole] = objects[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = 0;
+        objects[hole] = null;
+    }
+
+    private static int mix(int hash) {
+        int h = hash * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -15,10 +15,17 @@
  */
 package com.vaadin.flow.data.provider;
 
+import java.io.Serializable;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import com.vaadin.flow.function.SerializableComparator;
@@ -41,6 +48,57 @@ public class ListDataProvider<T>
 
     private final Collection<T> backend;
 
+    private static final int MAX_CACHED_VIEWS = 4;
+
+    private boolean cachingEnabled;
+
+    private int parallelSortThreshold = Integer.MAX_VALUE;
+
+    private transient Map<CacheKey, List<T>> cachedViews;
+
+    /**
+     * Identifies a filtered and sorted view of the backing collection. Filters
+     * and comparators are compared by identity.
+     */
+    private static final class CacheKey implements Serializable {
+        private final Object providerFilter;
+        private final Object queryFilter;
+        private final Object providerSorting;
+        private final Object querySorting;
+
+        private CacheKey(Object providerFilter, Object queryFilter,
+                Object providerSorting, Object querySorting) {
+            this.providerFilter = providerFilter;
+            this.queryFilter = queryFilter;
+            this.providerSorting = providerSorting;
+            this.querySorting = querySorting;
+        }
+
+        private boolean hasSameFilters(CacheKey other) {
+            return providerFilter == other.providerFilter
+                    && queryFilter == other.queryFilter;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey other = (CacheKey) obj;
+            return hasSameFilters(other)
+                    && providerSorting == other.providerSorting
+                    && querySorting == other.querySorting;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(providerFilter),
+                    System.identityHashCode(queryFilter),
+                    System.identityHashCode(providerSorting),
+                    System.identityHashCode(querySorting));
+        }
+    }
+
     /**
      * Constructs a new ListDataProvider.
      * <p>
@@ -68,12 +126,17 @@ public class ListDataProvider<T>
 
     @Override
     public Stream<T> fetch(Query<T, SerializablePredicate<T>> query) {
+        if (cachingEnabled) {
+            List<T> items = getCachedView(query, true);
+            int from = Math.min(query.getOffset(), items.size());
+            int to = (int) Math.min((long) from + query.getLimit(),
+                    items.size());
+            return items.subList(from, to).stream();
+        }
+
         Stream<T> stream = getFilteredStream(query);
 
-        Optional<Comparator<T>> comparing = Stream
-                .of(query.getInMemorySorting(), sortOrder)
-                .filter(Objects::nonNull)
-                .reduce((c1, c2) -> c1.thenComparing(c2));
+        Optional<Comparator<T>> comparing = getComparator(query);
 
         if (comparing.isPresent()) {
             stream = stream.sorted(comparing.get());
@@ -84,9 +147,164 @@ public class ListDataProvider<T>
 
     @Override
     public int size(Query<T, SerializablePredicate<T>> query) {
+        if (cachingEnabled) {
+            return getCachedView(query, false).size();
+        }
         return (int) getFilteredStream(query).count();
     }
 
+    @Override
+    public void refreshAll() {
+        clearCache();
+        super.refreshAll();
+    }
+
+    @Override
+    public void refreshItem(T item, boolean refreshChildren) {
+        // The item may have changed so that it's filtered or sorted differently
+        clearCache();
+        super.refreshItem(item, refreshChildren);
+    }
+
+    @Override
+    public void refreshItem(T item) {
+        clearCache();
+        super.refreshItem(item);
+    }
+
+    /**
+     * Enables or disables caching of filtered and sorted views of the backing
+     * collection.
+     * <p>
+     * When enabled, the result of applying a filter and sort order is kept in
+     * memory and reused for subsequent {@link #fetch(Query)} and
+     * {@link #size(Query)} calls with the same filters and comparators, so
+     * fetching a page only costs as much as the size of the page. The cache is
+     * cleared by {@link #refreshAll()} and {@link #refreshItem(Object)}, which
+     * means that these methods must be called whenever the backing collection
+     * or the items in it are changed. Filters and comparators must not depend
+     * on state that changes without one of the refresh methods being called.
+     * <p>
+     * Caching is disabled by default.
+     *
+     * @param cachingEnabled
+     *            <code>true</code> to enable caching, <code>false</code> to
+     *            disable it
+     */
+    public void setCachingEnabled(boolean cachingEnabled) {
+        this.cachingEnabled = cachingEnabled;
+        clearCache();
+    }
+
+    /**
+     * Returns whether filtered and sorted views of the backing collection are
+     * cached.
+     *
+     * @return <code>true</code> if caching is enabled, <code>false</code>
+     *         otherwise
+     * @see #setCachingEnabled(boolean)
+     */
+    public boolean isCachingEnabled() {
+        return cachingEnabled;
+    }
+
+    /**
+     * Sets the number of items from which views cached by this data provider
+     * are sorted in parallel using {@link Arrays#parallelSort}. Parallel
+     * sorting runs the comparator in other threads, so it should only be used
+     * with comparators that don't depend on thread local state such as the
+     * current UI.
+     * <p>
+     * Only applies when caching is enabled. By default parallel sorting is not
+     * used.
+     *
+     * @param parallelSortThreshold
+     *            the minimum number of items to sort in parallel, not negative
+     * @see #setCachingEnabled(boolean)
+     */
+    public void setParallelSortThreshold(int parallelSortThreshold) {
+        if (parallelSortThreshold < 0) {
+            throw new IllegalArgumentException(
+                    "Parallel sort threshold cannot be negative");
+        }
+        this.parallelSortThreshold = parallelSortThreshold;
+    }
+
+    /**
+     * Gets the number of items from which cached views are sorted in parallel.
+     *
+     * @return the parallel sort threshold
+     * @see #setParallelSortThreshold(int)
+     */
+    public int getParallelSortThreshold() {
+        return parallelSortThreshold;
+    }
+
+    private Optional<Comparator<T>> getComparator(
+            Query<T, SerializablePredicate<T>> query) {
+        return Stream.of(query.getInMemorySorting(), sortOrder)
+                .filter(Objects::nonNull)
+                .reduce((c1, c2) -> c1.thenComparing(c2));
+    }
+
+    private synchronized List<T> getCachedView(
+            Query<T, SerializablePredicate<T>> query, boolean sorted) {
+        if (cachedViews == null) {
+            cachedViews = new LinkedHashMap<CacheKey, List<T>>(
+                    MAX_CACHED_VIEWS, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(
+                        Map.Entry<CacheKey, List<T>> eldest) {
+                    return size() > MAX_CACHED_VIEWS;
+                }
+            };
+        }
+
+        CacheKey key = new CacheKey(filter, query.getFilter().orElse(null),
+                sorted ? sortOrder : null,
+                sorted ? query.getInMemorySorting() : null);
+        List<T> items = cachedViews.get(key);
+        if (items != null) {
+            return items;
+        }
+
+        if (!sorted) {
+            // Any view with the same filters has the right number of items
+            for (Map.Entry<CacheKey, List<T>> entry : cachedViews
+                    .entrySet()) {
+                if (entry.getKey().hasSameFilters(key)) {
+                    return entry.getValue();
+                }
+            }
+        }
+
+        items = getFilteredStream(query).collect(Collectors.toList());
+        if (sorted) {
+            Optional<Comparator<T>> comparing = getComparator(query);
+            if (comparing.isPresent()) {
+                items = sort(items, comparing.get());
+            }
+        }
+        items = Collections.unmodifiableList(items);
+        cachedViews.put(key, items);
+        return items;
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<T> sort(List<T> items, Comparator<T> comparator) {
+        if (items.size() < parallelSortThreshold) {
+            items.sort(comparator);
+            return items;
+        }
+        T[] array = (T[]) items.toArray();
+        Arrays.parallelSort(array, comparator);
+        return Arrays.asList(array);
+    }
+
+    private synchronized void clearCache() {
+        cachedViews = null;
+    }
+
     private Stream<T> getFilteredStream(
             Query<T, SerializablePredicate<T>> query) {
         Stream<T> stream = backend.stream();
@@ -0,0 +1,354 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider.hierarchy;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import com.vaadin.flow.function.SerializableFunction;
+
+/**
+ * Index of the flattened hierarchy of the currently visible items, used by
+ * {@link HierarchyMapper}.
+ * <p>
+ * Each visible item has a node, and the children of an expanded node are kept
+ * in a Fenwick tree of their row counts. This makes it possible to find the
+ * row index of an item, or the item on a given row, in
+ * <code>O(depth * log(width))</code> time, and to update the index on expand
+ * and collapse without traversing the rest of the hierarchy.
+ *
+ * @param <T>
+ *            the data type
+ * @author Vaadin Ltd
+ * @since
+ */
+class HierarchyIndex<T> implements Serializable {
+
+    /**
+     * Fetches the children of an item if it is expanded.
+     *
+     * @param <T>
+     *            the data type
+     */
+    @FunctionalInterface
+    interface ChildFetcher<T> extends Serializable {
+        /**
+         * Fetches the children of the given item.
+         *
+         * @param parent
+         *            the parent item, or <code>null</code> for the root items
+         * @return the children of the item, or <code>null</code> if the item
+         *         is not expanded
+         */
+        List<T> fetchChildren(T parent);
+    }
+
+    private static final class Node<T> implements Serializable {
+        private final T item;
+        private final Node<T> parent;
+        private final int position;
+        private final int depth;
+
+        private List<Node<T>> children = Collections.emptyList();
+        // Fenwick tree of the row counts of the children, 1-based
+        private int[] rowCounts = new int[1];
+        private int descendants;
+
+        private Node(T item, Node<T> parent, int position) {
+            this.item = item;
+            this.parent = parent;
+            this.position = position;
+            depth = parent == null ? -1 : parent.depth + 1;
+        }
+
+        private int getRowCount() {
+            return descendants + 1;
+        }
+
+        private void add(int position, int delta) {
+            for (int i = position + 1; i < rowCounts.length; i += i & -i) {
+                rowCounts[i] += delta;
+            }
+        }
+
+        private int sumBefore(int position) {
+            int sum = 0;
+            for (int i = position; i > 0; i -= i & -i) {
+                sum += rowCounts[i];
+            }
+            return sum;
+        }
+
+        private void setChildren(List<Node<T>> children) {
+            this.children = children;
+            // Linear time Fenwick tree construction
+            rowCounts = new int[children.size() + 1];
+            descendants = 0;
+            for (int i = 1; i < rowCounts.length; i++) {
+                int rowCount = children.get(i - 1).getRowCount();
+                descendants += rowCount;
+                rowCounts[i] += rowCount;
+                int next = i + (i & -i);
+                if (next < rowCounts.length) {
+                    rowCounts[next] += rowCounts[i];
+                }
+            }
+        }
+    }
+
+    private final SerializableFunction<T, Object> idGetter;
+    private final ChildFetcher<T> fetcher;
+    private final Node<T> root = new Node<>(null, null, 0);
+    private final Map<Object, Node<T>> nodes = new HashMap<>();
+
+    /**
+     * Creates an index of the hierarchy, fetching the children of all expanded
+     * items.
+     *
+     * @param idGetter
+     *            the function for getting the id of an item
+     * @param fetcher
+     *            the function for fetching the children of expanded items
+     */
+    HierarchyIndex(SerializableFunction<T, Object> idGetter,
+            ChildFetcher<T> fetcher) {
+        this.idGetter = idGetter;
+        this.fetcher = fetcher;
+        fetchChildren(root);
+    }
+
+    private void fetchChildren(Node<T> node) {
+        List<T> items = fetcher.fetchChildren(node.item);
+        if (items == null || items.isEmpty()) {
+            node.setChildren(Collections.emptyList());
+            return;
+        }
+        List<Node<T>> children = new ArrayList<>(items.size());
+        for (T item : items) {
+            Node<T> child = new Node<>(item, node, children.size());
+            nodes.put(idGetter.apply(item), child);
+            children.add(child);
+            fetchChildren(child);
+        }
+        node.setChildren(children);
+    }
+
+    /**
+     * Gets the number of visible items.
+     *
+     * @return the size of the flattened hierarchy
+     */
+    int size() {
+        return root.descendants;
+    }
+
+    /**
+     * Gets the number of visible descendants of the item with the given id.
+     *
+     * @param id
+     *            the item id
+     * @return the number of visible descendants, or <code>-1</code> if the
+     *         item is not visible
+     */
+    int getDescendantCount(Object id) {
+        Node<T> node = nodes.get(id);
+        return node == null ? -1 : node.descendants;
+    }
+
+    /**
+     * Gets the row index of the item with the given id.
+     *
+     * @param id
+     *            the item id
+     * @return the index of the item, or <code>-1</code> if the item is not
+     *         visible
+     */
+    int indexOf(Object id) {
+        Node<T> node = nodes.get(id);
+        if (node == null) {
+            return -1;
+        }
+        int index = 0;
+        while (node.parent != null) {
+            index += node.parent.sumBefore(node.position);
+            if (node.parent != root) {
+                // The parent row itself
+                index++;
+            }
+            node = node.parent;
+        }
+        return index;
+    }
+
+    /**
+     * Gets the depth of the item with the given id.
+     *
+     * @param id
+     *            the item id
+     * @return the depth of the item starting from zero for root items, or
+     *         <code>-1</code> if the item is not visible
+     */
+    int getDepth(Object id) {
+        Node<T> node = nodes.get(id);
+        return node == null ? -1 : node.depth;
+    }
+
+    /**
+     * Updates the index after the item with the given id has been expanded.
+     *
+     * @param id
+     *            the item id
+     */
+    void expand(Object id) {
+        Node<T> node = nodes.get(id);
+        if (node != null) {
+            int before = node.descendants;
+            removeDescendants(node);
+            fetchChildren(node);
+            propagate(node, node.descendants - before);
+        }
+    }
+
+    /**
+     * Updates the index after the item with the given id has been collapsed.
+     *
+     * @param id
+     *            the item id
+     */
+    void collapse(Object id) {
+        Node<T> node = nodes.get(id);
+        if (node != null) {
+            int before = node.descendants;
+            removeDescendants(node);
+            node.setChildren(Collections.emptyList());
+            propagate(node, -before);
+        }
+    }
+
+    private void removeDescendants(Node<T> node) {
+        for (Node<T> child : node.children) {
+            nodes.remove(idGetter.apply(child.item));
+            removeDescendants(child);
+        }
+    }
+
+    private void propagate(Node<T> node, int delta) {
+        if (delta == 0) {
+            return;
+        }
+        while (node.parent != null) {
+            node.parent.add(node.position, delta);
+            node.parent.descendants += delta;
+            node = node.parent;
+        }
+    }
+
+    /**
+     * Gets the visible items in the given range of rows.
+     *
+     * @param start
+     *            the index of the first row
+     * @param length
+     *            the maximum number of rows
+     * @return a stream of the items
+     */
+    Stream<T> getItems(int start, int length) {
+        if (start >= size() || length <= 0) {
+            return Stream.empty();
+        }
+        int count = Math.min(length, size() - start);
+        Iterator<T> iterator = new NodeIterator<>(getNode(start), count);
+        return StreamSupport.stream(Spliterators.spliterator(iterator, count,
+                Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private Node<T> getNode(int index) {
+        Node<T> node = root;
+        int remaining = index;
+        while (true) {
+            // Find the child whose rows contain the remaining index
+            int position = 0;
+            int[] rowCounts = node.rowCounts;
+            for (int step = Integer.highestOneBit(
+                    rowCounts.length - 1); step > 0; step >>= 1) {
+                int next = position + step;
+                if (next < rowCounts.length && rowCounts[next] <= remaining) {
+                    position = next;
+                    remaining -= rowCounts[next];
+                }
+            }
+            node = node.children.get(position);
+            if (remaining == 0) {
+                return node;
+            }
+            // Skip the row of the child itself
+            remaining--;
+        }
+    }
+
+    private static final class NodeIterator<T>
+            implements Iterator<T>, Serializable {
+        private Node<T> next;
+        private int remaining;
+
+        private NodeIterator(Node<T> first, int count) {
+            next = first;
+            remaining = count;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            T item = next.item;
+            remaining--;
+            if (remaining > 0) {
+                next = getNextNode(next);
+            }
+            return item;
+        }
+
+        // Gets the node on the next row in depth-first order
+        private static <T> Node<T> getNextNode(Node<T> node) {
+            if (!node.children.isEmpty()) {
+                return node.children.get(0);
+            }
+            while (node.parent != null) {
+                if (node.position + 1 < node.parent.children.size()) {
+                    return node.parent.children.get(node.position + 1);
+                }
+                node = node.parent;
+            }
+            throw new NoSuchElementException();
+        }
+    }
+}
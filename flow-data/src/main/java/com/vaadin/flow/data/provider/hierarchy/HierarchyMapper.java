@@ -66,6 +66,10 @@ public class HierarchyMapper<T, F> implements Serializable {
 
     private Map<Object, T> expandedItems = new HashMap<>();
 
+    // Lazily built index of the flattened hierarchy, discarded whenever the
+    // hierarchy needs to be constructed again
+    private transient HierarchyIndex<T> hierarchyIndex;
+
     /**
      * Constructs a new HierarchyMapper.
      *
@@ -82,7 +86,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the amount of available data
      */
     public int getTreeSize() {
-        return (int) getHierarchy(null).count();
+        return getHierarchyIndex().size();
     }
 
     /**
@@ -104,8 +108,10 @@ public class HierarchyMapper<T, F> implements Serializable {
      *
      */
     public Integer getParentIndex(T item) {
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(getParentOfItem(item));
+        HierarchyIndex<T> index = getHierarchyIndex();
+        T parent = getParentOfItem(item);
+        return parent == null ? -1
+                : index.indexOf(getDataProvider().getId(parent));
     }
 
     /**
@@ -117,8 +123,10 @@ public class HierarchyMapper<T, F> implements Serializable {
      *
      */
     public Integer getIndex(T item) {
-        List<T> flatHierarchy = getHierarchy(null).collect(Collectors.toList());
-        return flatHierarchy.indexOf(item);
+        if (item == null) {
+            return -1;
+        }
+        return getHierarchyIndex().indexOf(getDataProvider().getId(item));
     }
 
     /**
@@ -159,8 +167,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public Range expand(T item, Integer position) {
         if (doExpand(item) && position != null) {
-            return Range.withLength(position + 1,
-                    (int) getHierarchy(item, false).count());
+            return Range.withLength(position + 1, getDescendantCount(item));
         }
 
         return Range.withLength(0, 0);
@@ -178,8 +185,12 @@ public class HierarchyMapper<T, F> implements Serializable {
     private boolean doExpand(T item) {
         boolean expanded = false;
         if (!isExpanded(item) && hasChildren(item)) {
-            expandedItems.put(getDataProvider().getId(item), item);
+            Object id = getDataProvider().getId(item);
+            expandedItems.put(id, item);
             expanded = true;
+            if (hierarchyIndex != null) {
+                hierarchyIndex.expand(id);
+            }
         }
         return expanded;
     }
@@ -197,12 +208,19 @@ public class HierarchyMapper<T, F> implements Serializable {
             return false;
         }
         if (isExpanded(item)) {
-            expandedItems.remove(getDataProvider().getId(item));
+            doCollapse(getDataProvider().getId(item));
             return true;
         }
         return false;
     }
 
+    private void doCollapse(Object id) {
+        expandedItems.remove(id);
+        if (hierarchyIndex != null) {
+            hierarchyIndex.collapse(id);
+        }
+    }
+
     /**
      * Collapses the given item.
      *
@@ -218,14 +236,54 @@ public class HierarchyMapper<T, F> implements Serializable {
         if (isExpanded(item)) {
             if (position != null) {
                 removedRows = Range.withLength(position + 1,
-                        (int) getHierarchy(item, false).count());
+                        getDescendantCount(item));
             }
-            expandedItems.remove(getDataProvider().getId(item));
+            doCollapse(getDataProvider().getId(item));
         }
         return removedRows;
     }
 
 
+    /**
+     * Gets the number of visible descendants of an expanded item.
+     *
+     * @param item
+     *            the expanded item
+     * @return the number of rows below the item in the flattened hierarchy
+     */
+    private int getDescendantCount(T item) {
+        int count = getHierarchyIndex()
+                .getDescendantCount(getDataProvider().getId(item));
+        if (count < 0) {
+            // The item is not visible, count its subtree separately
+            count = (int) getHierarchy(item, false).count();
+        }
+        return count;
+    }
+
+    /**
+     * Gets the index of the flattened hierarchy, constructing it from the data
+     * provider if needed.
+     *
+     * @return the hierarchy index
+     */
+    private HierarchyIndex<T> getHierarchyIndex() {
+        if (hierarchyIndex == null) {
+            hierarchyIndex = new HierarchyIndex<>(getDataProvider()::getId,
+                    this::fetchExpandedChildren);
+        }
+        return hierarchyIndex;
+    }
+
+    /**
+     * Discards the flattened hierarchy so that it will be constructed again
+     * from the data provider when it is needed the next time. This should be
+     * called when the data of the data provider has changed.
+     */
+    public void resetHierarchy() {
+        hierarchyIndex = null;
+    }
+
     /**
      * Gets the current in-memory sorting.
      *
@@ -244,6 +302,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setInMemorySorting(Comparator<T> inMemorySorting) {
         this.inMemorySorting = inMemorySorting;
+        resetHierarchy();
     }
 
     /**
@@ -264,6 +323,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setBackEndSorting(List<QuerySortOrder> backEndSorting) {
         this.backEndSorting = backEndSorting;
+        resetHierarchy();
     }
 
     /**
@@ -284,6 +344,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      */
     public void setFilter(Object filter) {
         this.filter = (F) filter;
+        resetHierarchy();
     }
 
     /**
@@ -318,7 +379,7 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return the stream of items
      */
     public Stream<T> fetchHierarchyItems(Range range) {
-        return getHierarchy(null).skip(range.getStart()).limit(range.length());
+        return getHierarchyIndex().getItems(range.getStart(), range.length());
     }
 
     /**
@@ -400,6 +461,12 @@ public class HierarchyMapper<T, F> implements Serializable {
      * @return depth of item in the tree or -1 if item is null
      */
     public int getDepth(T item) {
+        if (item != null && hierarchyIndex != null) {
+            int depth = hierarchyIndex.getDepth(getDataProvider().getId(item));
+            if (depth >= 0) {
+                return depth;
+            }
+        }
         int depth = -1;
         while (item != null) {
             item = getParentOfItem(item);
@@ -463,9 +530,8 @@ public class HierarchyMapper<T, F> implements Serializable {
             return Optional.empty();
         }
 
-        final List<Object> collect = getHierarchy(null).map(provider::getId)
-                .collect(Collectors.toList());
-        int index = collect.indexOf(getDataProvider().getId(target));
+        int index = getHierarchyIndex()
+                .indexOf(getDataProvider().getId(target));
         return Optional.ofNullable(index < 0 ? null : index);
     }
 
@@ -549,6 +615,30 @@ public class HierarchyMapper<T, F> implements Serializable {
                 includeParent);
     }
 
+    /**
+     * Fetches and registers the children of the given parent if it is
+     * expanded, in the same way as {@link #getFlatChildrenStream(Object)}.
+     *
+     * @param parent
+     *            the parent node
+     * @return the list of direct children, or {@code null} if the parent is
+     *         not expanded
+     */
+    private List<T> fetchExpandedChildren(T parent) {
+        if (!isExpanded(parent)) {
+            return null;
+        }
+        List<T> childList = doFetchDirectChildren(parent)
+                .collect(Collectors.toList());
+        if (childList.isEmpty()) {
+            removeChildren(
+                    parent == null ? null : getDataProvider().getId(parent));
+        } else {
+            registerChildren(parent, childList);
+        }
+        return childList;
+    }
+
     /**
      * The method fetch the children of given parent.
      *
@@ -620,6 +710,7 @@ public class HierarchyMapper<T, F> implements Serializable {
         childMap.clear();
         parentIdMap.clear();
         expandedItems.clear();
+        resetHierarchy();
     }
 
     /**
@@ -21,6 +21,7 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
@@ -283,4 +284,80 @@ public class BeanPropertySetTest {
                 "father.son", propertySet.getProperty("father.son.father").get()
                         .getParent().getName());
     }
+
+    public static class Account implements Serializable {
+        private long balance;
+
+        public long getBalance() {
+            return balance;
+        }
+
+        public void setBalance(long balance) {
+            if (balance < 0) {
+                throw new IllegalStateException("Negative balance");
+            }
+            this.balance = balance;
+        }
+    }
+
+    @Test
+    public void setter_widenedPrimitiveValue_valueSet() {
+        Account account = new Account();
+        PropertyDefinition<Account, ?> definition = BeanPropertySet
+                .get(Account.class).getProperty("balance").get();
+
+        Setter<Account, Object> setter = (Setter<Account, Object>) definition
+                .getSetter().get();
+        setter.accept(account, 42L);
+        Assert.assertEquals(42L, account.getBalance());
+
+        setter.accept(account, 43);
+        Assert.assertEquals(43L, definition.getGetter().apply(account));
+    }
+
+    @Test
+    public void setter_nullForPrimitive_throwsIllegalArgumentException() {
+        PropertyDefinition<Account, ?> definition = BeanPropertySet
+                .get(Account.class).getProperty("balance").get();
+
+        try {
+            ((Setter<Account, Object>) definition.getSetter().get())
+                    .accept(new Account(), null);
+            Assert.fail("Setting null to a primitive property should fail");
+        } catch (IllegalArgumentException expected) {
+            // Same as with Method.invoke
+        }
+    }
+
+    @Test
+    public void setter_setterThrows_exceptionWrapped() {
+        PropertyDefinition<Account, ?> definition = BeanPropertySet
+                .get(Account.class).getProperty("balance").get();
+
+        try {
+            ((Setter<Account, Object>) definition.getSetter().get())
+                    .accept(new Account(), -1L);
+            Assert.fail("Setter exception should be rethrown");
+        } catch (RuntimeException e) {
+            Assert.assertTrue(
+                    e.getCause() instanceof InvocationTargetException);
+            Assert.assertTrue(e.getCause()
+                    .getCause() instanceof IllegalStateException);
+        }
+    }
+
+    @Test
+    public void nestedPropertyDefinition_setter_valueSetToNestedBean() {
+        PropertyDefinition<FatherAndSon, ?> definition = BeanPropertySet
+                .get(FatherAndSon.class).getProperty("father.firstName")
+                .orElseThrow(RuntimeException::new);
+        FatherAndSon father = new FatherAndSon("Old Jon", "Doe", null, null);
+        FatherAndSon son = new FatherAndSon("Jon", "Doe", father, null);
+
+        ((Setter<FatherAndSon, Object>) definition.getSetter().get())
+                .accept(son, "Older Jon");
+
+        Assert.assertEquals("Older Jon", father.getFirstName());
+        Assert.assertEquals("Older Jon", definition.getGetter().apply(son));
+    }
 }
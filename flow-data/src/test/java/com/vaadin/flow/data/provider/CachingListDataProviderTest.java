@@ -0,0 +1,106 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.vaadin.flow.function.SerializablePredicate;
+
+public class CachingListDataProviderTest extends ListDataProviderTest {
+
+    @Override
+    protected ListDataProvider<StrBean> createDataProvider() {
+        ListDataProvider<StrBean> dataProvider = super.createDataProvider();
+        dataProvider.setCachingEnabled(true);
+        return dataProvider;
+    }
+
+    @Test
+    public void fetchPages_sameItemsAsUncached() {
+        ListDataProvider<StrBean> uncached = DataProvider.ofCollection(data);
+        Comparator<StrBean> sorting = Comparator
+                .comparing(StrBean::getRandomNumber);
+
+        for (int offset = 0; offset < 110; offset += 20) {
+            Query<StrBean, SerializablePredicate<StrBean>> query = new Query<>(
+                    offset, 20, null, sorting, gt5Filter);
+            Assert.assertEquals(
+                    uncached.fetch(query).collect(Collectors.toList()),
+                    getDataProvider().fetch(query)
+                            .collect(Collectors.toList()));
+            Assert.assertEquals(uncached.size(query),
+                    getDataProvider().size(query));
+        }
+    }
+
+    @Test
+    public void fetch_limitMaxValue_returnsRemainingItems() {
+        Query<StrBean, SerializablePredicate<StrBean>> query = new Query<>(90,
+                Integer.MAX_VALUE, null, null, null);
+
+        Assert.assertEquals(10, getDataProvider().fetch(query).count());
+    }
+
+    @Test
+    public void backendChanged_cachedUntilRefresh() {
+        int size = getDataProvider().size(new Query<>());
+
+        data.add(new StrBean("Added", 1000, 1));
+        Assert.assertEquals(size, getDataProvider().size(new Query<>()));
+
+        getDataProvider().refreshAll();
+        Assert.assertEquals(size + 1, getDataProvider().size(new Query<>()));
+    }
+
+    @Test
+    public void itemChanged_cachedUntilRefreshItem() {
+        StrBean first = getDataProvider().fetch(new Query<>()).findFirst()
+                .get();
+        getDataProvider().setFilter(fooFilter);
+        long foos = getDataProvider().size(new Query<>());
+
+        first.setValue(first.getValue().equals("Foo") ? "Bar" : "Foo");
+        Assert.assertEquals(foos, getDataProvider().size(new Query<>()));
+
+        getDataProvider().refreshItem(first);
+        Assert.assertNotEquals(foos, getDataProvider().size(new Query<>()));
+    }
+
+    @Test
+    public void parallelSort_sameOrderAsSequentialSort() {
+        ListDataProvider<StrBean> parallel = DataProvider.ofCollection(
+                StrBean.generateRandomBeans(2000));
+        parallel.setCachingEnabled(true);
+        parallel.setSortOrder(StrBean::getRandomNumber,
+                SortDirection.DESCENDING);
+        ListDataProvider<StrBean> sequential = DataProvider
+                .ofCollection(parallel.getItems());
+        sequential.setSortOrder(StrBean::getRandomNumber,
+                SortDirection.DESCENDING);
+
+        parallel.setParallelSortThreshold(100);
+
+        List<StrBean> expected = sequential.fetch(new Query<>())
+                .collect(Collectors.toList());
+        Assert.assertEquals(expected,
+                parallel.fetch(new Query<>()).collect(Collectors.toList()));
+    }
+}
@@ -17,8 +17,13 @@ package com.vaadin.flow.data.provider;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
@@ -1281,6 +1286,192 @@ public class DataCommunicatorTest {
                 .fetch(Mockito.any(Query.class));
     }
 
+    @Test
+    public void fetchFromProvider_fetchExecutor_pagesMergedInOrder()
+            throws InterruptedException {
+        List<Integer> queriedOffsets = new CopyOnWriteArrayList<>();
+        AbstractDataProvider<Item, Object> dataProvider = createDataProvider(
+                100);
+        dataCommunicator.setDataProvider(
+                new CallbackDataProvider<Item, Object>(query -> {
+                    queriedOffsets.add(query.getOffset());
+                    try {
+                        // Let the later pages complete first
+                        Thread.sleep(50 - query.getOffset());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return dataProvider.fetch(query);
+                }, dataProvider::size), null);
+        dataCommunicator.setPageSize(10);
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        AtomicInteger submitted = new AtomicInteger();
+        try {
+            dataCommunicator.setFetchExecutor(task -> {
+                submitted.incrementAndGet();
+                executor.execute(task);
+            });
+
+            List<Item> items = dataCommunicator.fetchFromProvider(0, 33)
+                    .collect(Collectors.toList());
+
+            Assert.assertEquals(IntStream.range(0, 40).mapToObj(Item::new)
+                    .collect(Collectors.toList()), items);
+            Assert.assertEquals(4, queriedOffsets.size());
+            // The first page is fetched in the calling thread
+            Assert.assertEquals(3, submitted.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void fetchFromProvider_fetchExecutor_backendRunsOutOfItems_partialPageLast() {
+        dataCommunicator.setDataProvider(createDataProvider(25), null);
+        dataCommunicator.setPageSize(10);
+        dataCommunicator.setFetchExecutor(Runnable::run);
+
+        List<Item> items = dataCommunicator.fetchFromProvider(0, 50)
+                .collect(Collectors.toList());
+
+        Assert.assertEquals(IntStream.range(0, 25).mapToObj(Item::new)
+                .collect(Collectors.toList()), items);
+    }
+
+    @Test
+    public void fetchFromProvider_fetchExecutor_dataProviderThrows_exceptionRethrown() {
+        dataCommunicator.setDataProvider(
+                new CallbackDataProvider<Item, Object>(query -> {
+                    if (query.getOffset() > 0) {
+                        throw new IllegalArgumentException("Backend failure");
+                    }
+                    return IntStream.range(0, query.getLimit())
+                            .mapToObj(Item::new);
+                }, query -> 100), null);
+        dataCommunicator.setPageSize(10);
+        dataCommunicator.setFetchExecutor(Runnable::run);
+
+        expectedException.expect(IllegalArgumentException.class);
+        expectedException.expectMessage("Backend failure");
+        dataCommunicator.fetchFromProvider(0, 20);
+    }
+
+    @Test
+    public void fetchMetrics_lazyStream_fetchTimeIncludesReadingItems() {
+        dataCommunicator.setDataProvider(
+                new CallbackDataProvider<Item, Object>(
+                        query -> IntStream.range(0, query.getLimit())
+                                .mapToObj(i -> {
+                                    try {
+                                        Thread.sleep(5);
+                                    } catch (InterruptedException e) {
+                                        Thread.currentThread().interrupt();
+                                    }
+                                    return new Item(i);
+                                }),
+                        query -> 10),
+                null);
+        dataCommunicator.setRequestedRange(0, 10);
+        fakeClientCommunication();
+
+        DataCommunicator.FetchMetrics metrics = dataCommunicator
+                .getFetchMetrics();
+        Assert.assertEquals(10, metrics.getItemCount());
+        Assert.assertTrue(
+                "Fetch time should include reading the lazy stream",
+                metrics.getFetchTime().toMillis() >= 50);
+    }
+
+    @Test
+    public void prefetchEnabled_scrollForward_nextRangeFetchedAhead() {
+        List<Integer> queriedOffsets = new ArrayList<>();
+        AbstractDataProvider<Item, Object> dataProvider = createDataProvider(
+                100);
+        dataCommunicator.setDataProvider(
+                new CallbackDataProvider<Item, Object>(query -> {
+                    queriedOffsets.add(query.getOffset());
+                    return dataProvider.fetch(query);
+                }, dataProvider::size), null);
+        dataCommunicator.setPageSize(10);
+        dataCommunicator.setFetchExecutor(Runnable::run);
+        dataCommunicator.setPrefetchEnabled(true);
+
+        dataCommunicator.setRequestedRange(0, 20);
+        fakeClientCommunication();
+
+        Collections.sort(queriedOffsets);
+        Assert.assertEquals(Arrays.asList(0, 10, 20, 30), queriedOffsets);
+
+        queriedOffsets.clear();
+        dataCommunicator.setRequestedRange(0, 40);
+        fakeClientCommunication();
+
+        // Items 20-39 have been prefetched, the next 20 are fetched ahead
+        Assert.assertEquals(Arrays.asList(40, 50), queriedOffsets);
+        Assert.assertEquals(Range.withLength(20, 20), lastSet);
+
+        DataCommunicator.FetchMetrics metrics = dataCommunicator
+                .getFetchMetrics();
+        Assert.assertEquals(2, metrics.getFetchCount());
+        Assert.assertEquals(40, metrics.getItemCount());
+        Assert.assertEquals(6, metrics.getPageQueryCount());
+        Assert.assertEquals(4, metrics.getPrefetchedPageCount());
+        Assert.assertEquals(2, metrics.getPrefetchHitCount());
+    }
+
+    @Test
+    public void prefetchEnabled_scrollBackward_previousRangeFetchedAhead() {
+        List<Integer> queriedOffsets = new ArrayList<>();
+        AbstractDataProvider<Item, Object> dataProvider = createDataProvider(
+                100);
+        dataCommunicator.setDataProvider(
+                new CallbackDataProvider<Item, Object>(query -> {
+                    queriedOffsets.add(query.getOffset());
+                    return dataProvider.fetch(query);
+                }, dataProvider::size), null);
+        dataCommunicator.setPageSize(10);
+        dataCommunicator.setFetchExecutor(Runnable::run);
+        dataCommunicator.setPrefetchEnabled(true);
+
+        dataCommunicator.setRequestedRange(60, 20);
+        fakeClientCommunication();
+        dataCommunicator.setRequestedRange(40, 20);
+        fakeClientCommunication();
+        queriedOffsets.clear();
+
+        dataCommunicator.setRequestedRange(20, 20);
+        fakeClientCommunication();
+
+        Assert.assertEquals(Arrays.asList(0, 10), queriedOffsets);
+    }
+
+    @Test
+    public void prefetchEnabled_reset_prefetchedPagesDiscarded() {
+        List<Integer> queriedOffsets = new ArrayList<>();
+        AbstractDataProvider<Item, Object> dataProvider = createDataProvider(
+                100);
+        dataCommunicator.setDataProvider(
+                new CallbackDataProvider<Item, Object>(query -> {
+                    queriedOffsets.add(query.getOffset());
+                    return dataProvider.fetch(query);
+                }, dataProvider::size), null);
+        dataCommunicator.setPageSize(10);
+        dataCommunicator.setFetchExecutor(Runnable::run);
+        dataCommunicator.setPrefetchEnabled(true);
+
+        dataCommunicator.setRequestedRange(0, 10);
+        fakeClientCommunication();
+        Assert.assertEquals(Arrays.asList(0, 10), queriedOffsets);
+
+        queriedOffsets.clear();
+        dataCommunicator.reset();
+        fakeClientCommunication();
+
+        // The prefetched page may be outdated after a reset
+        Assert.assertEquals(Arrays.asList(0, 10), queriedOffsets);
+    }
+
     @Test
     public void fetchEnabled_getItemCount_stillReturnsItemsCount() {
         dataCommunicator.setFetchEnabled(false);
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.data.provider;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import org.apache.commons.lang3.SerializationUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IntKeyMapperTest {
+
+    private IntKeyMapper<StrBean> mapper = new IntKeyMapper<>();
+
+    @Test
+    public void key_sameObject_sameKey() {
+        StrBean bean = new StrBean("foo", 1, 1);
+
+        String key = mapper.key(bean);
+
+        Assert.assertEquals(key, mapper.key(bean));
+        Assert.assertSame(bean, mapper.get(key));
+        Assert.assertTrue(mapper.has(bean));
+        Assert.assertTrue(mapper.containsKey(key));
+    }
+
+    @Test
+    public void key_null_nullKey() {
+        Assert.assertEquals("null", mapper.key(null));
+        Assert.assertNull(mapper.get("null"));
+    }
+
+    @Test
+    public void get_invalidKey_null() {
+        mapper.key(new StrBean("foo", 1, 1));
+
+        Assert.assertNull(mapper.get("0"));
+        Assert.assertNull(mapper.get("-1"));
+        Assert.assertNull(mapper.get("foo"));
+        Assert.assertNull(mapper.get("99999999999"));
+        Assert.assertNull(mapper.get(""));
+        Assert.assertNull(mapper.get(null));
+    }
+
+    @Test
+    public void remove_objectNoLongerMapped() {
+        StrBean bean = new StrBean("foo", 1, 1);
+        String key = mapper.key(bean);
+
+        mapper.remove(bean);
+
+        Assert.assertFalse(mapper.has(bean));
+        Assert.assertFalse(mapper.containsKey(key));
+        Assert.assertNull(mapper.get(key));
+        Assert.assertNotEquals(key, mapper.key(bean));
+    }
+
+    @Test
+    public void refresh_newInstanceWithSameId_replaced() {
+        IntKeyMapper<StrBean> idMapper = new IntKeyMapper<>(StrBean::getId);
+        StrBean bean = new StrBean("foo", 1, 1);
+        String key = idMapper.key(bean);
+
+        StrBean updated = new StrBean("bar", 1, 1);
+        idMapper.refresh(updated);
+
+        Assert.assertSame(updated, idMapper.get(key));
+        Assert.assertEquals(key, idMapper.key(updated));
+    }
+
+    @Test
+    public void setIdentifierGetter_keysRemain() {
+        StrBean bean = new StrBean("foo", 1, 1);
+        String key = mapper.key(bean);
+
+        mapper.setIdentifierGetter(StrBean::getId);
+
+        Assert.assertEquals(key, mapper.key(new StrBean("bar", 1, 1)));
+        Assert.assertSame(bean, mapper.get(key));
+    }
+
+    @Test
+    public void manyAddsAndRemoves_consistentWithMap() {
+        IntKeyMapper<Integer> intMapper = new IntKeyMapper<>(
+                value -> value % 5000);
+        Map<Integer, String> expected = new HashMap<>();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 100000; i++) {
+            int value = random.nextInt(5000);
+            if (random.nextInt(3) == 0) {
+                intMapper.remove(value);
+                expected.remove(value);
+            } else {
+                String key = intMapper.key(value);
+                String previous = expected.putIfAbsent(value, key);
+                if (previous != null) {
+                    Assert.assertEquals(previous, key);
+                }
+            }
+        }
+
+        Assert.assertEquals(expected.size(), intMapper.size());
+        expected.forEach((value, key) -> {
+            Assert.assertTrue(intMapper.has(value));
+            Assert.assertEquals(value, intMapper.get(key));
+        });
+
+        expected.keySet().forEach(intMapper::remove);
+        Assert.assertEquals(0, intMapper.size());
+    }
+
+    @Test
+    public void removeAll_nothingMapped() {
+        StrBean bean = new StrBean("foo", 1, 1);
+        String key = mapper.key(bean);
+
+        mapper.removeAll();
+
+        Assert.assertEquals(0, mapper.size());
+        Assert.assertFalse(mapper.has(bean));
+        Assert.assertNull(mapper.get(key));
+    }
+
+    @Test
+    public void serialize_mappingsRemain() {
+        StrBean bean = new StrBean("foo", 1, 1);
+        String key = mapper.key(bean);
+
+        IntKeyMapper<StrBean> deserialized = SerializationUtils
+                .roundtrip(mapper);
+
+        StrBean deserializedBean = deserialized.get(key);
+        Assert.assertEquals(bean, deserializedBean);
+        Assert.assertEquals(key, deserialized.key(deserializedBean));
+    }
+}
@@ -293,6 +293,84 @@ public class HierarchyMapperWithDataTest {
         expandedItems.add(new TreeNode("third-1"));
     }
 
+    @Test
+    public void expandAndCollapse_indexesMatchFlattenedHierarchy() {
+        expand(roots.get(1));
+        expand(testData.get(0));
+        expand(roots.get(3));
+        // Parent nodes of the second and fourth root
+        Node firstParent = testData.stream()
+                .filter(n -> roots.get(1).equals(n.getParent())).findFirst()
+                .get();
+        Node lastParent = testData.stream()
+                .filter(n -> roots.get(3).equals(n.getParent()))
+                .reduce((first, second) -> second).get();
+        expand(firstParent);
+        expand(lastParent);
+        verifyIndexes();
+
+        collapse(roots.get(1));
+        verifyIndexes();
+
+        expand(roots.get(1));
+        collapse(lastParent);
+        verifyIndexes();
+        checkMapSize();
+    }
+
+    @Test
+    public void getDepth_expandedItems_depthFromRoot() {
+        expand(testData.get(0));
+        expand(testData.get(1));
+
+        assertEquals(0, mapper.getDepth(testData.get(0)));
+        assertEquals(1, mapper.getDepth(testData.get(1)));
+        assertEquals(2, mapper.getDepth(testData.get(2)));
+    }
+
+    @Test
+    public void resetHierarchy_dataChanged_changesIncluded() {
+        expand(testData.get(0));
+        int size = mapper.getTreeSize();
+        Node added = new Node(1000, testData.get(0));
+        data.addItem(testData.get(0), added);
+
+        mapper.resetHierarchy();
+
+        assertEquals(size + 1, mapper.getTreeSize());
+        assertEquals(Integer.valueOf(PARENT_COUNT + 1),
+                mapper.getIndex(added));
+    }
+
+    private void verifyIndexes() {
+        List<Node> expected = new ArrayList<>();
+        flatten(null, expected);
+        assertEquals(expected.size(), mapper.getTreeSize());
+        for (int i = 0; i < expected.size(); i++) {
+            Node node = expected.get(i);
+            assertEquals(Integer.valueOf(i), mapper.getIndex(node));
+            Integer parentIndex = node.getParent() == null ? -1
+                    : expected.indexOf(node.getParent());
+            assertEquals(parentIndex, mapper.getParentIndex(node));
+            for (int length = 1; i + length <= expected.size()
+                    && length < 4; length++) {
+                verifyFetchIsCorrect(expected, Range.withLength(i, length));
+            }
+        }
+        assertEquals(0, mapper.fetchHierarchyItems(
+                Range.withLength(expected.size(), 5)).count());
+    }
+
+    private void flatten(Node parent, List<Node> result) {
+        if (!mapper.isExpanded(parent)) {
+            return;
+        }
+        for (Node child : data.getChildren(parent)) {
+            result.add(child);
+            flatten(child, result);
+        }
+    }
+
     private void expand(Node node) {
         insertRows(mapper.expand(node, mapper.getIndexOf(node).orElse(null)));
     }
@@ -15,6 +15,7 @@
  */
 package com.vaadin.flow.data.provider.hierarchy;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
@@ -77,6 +78,61 @@ public class HierarchyMapperWithNumerousDataTest {
         checkMapSize();
     }
 
+    /**
+     * Test for non-logarithmic index lookups in a wide tree. Finding the
+     * indexes and fetching ranges of 100000 items should not traverse the
+     * whole hierarchy every time.
+     */
+    @Test(timeout = 2000)
+    public void wideTree_indexLookupsAndRangeFetches() {
+        Node root = testData.get(0);
+        expand(root);
+        for (int i = 1; i < testData.size(); i += 10) {
+            Node node = testData.get(i);
+            assertEquals(Integer.valueOf(i), mapper.getIndex(node));
+            assertEquals(Integer.valueOf(0), mapper.getParentIndex(node));
+            assertEquals(node, mapper.fetchHierarchyItems(Range.withLength(i, 1))
+                    .findFirst().get());
+        }
+        checkMapSize();
+    }
+
+    /**
+     * Test for expanding and collapsing in a deep tree, where every node
+     * expansion should only update the path to the root.
+     */
+    @Test(timeout = 2000)
+    public void deepTree_expandAndCollapseEveryLevel() {
+        int depth = 1000;
+        TreeData<Node> deepData = new TreeData<>();
+        List<Node> chain = new ArrayList<>();
+        Node parent = null;
+        for (int i = 0; i < depth; i++) {
+            Node node = new Node(i, parent);
+            deepData.addItem(parent, node);
+            // A collapsed sibling on every level
+            deepData.addItem(parent, new Node(-i - 1, parent));
+            chain.add(node);
+            parent = node;
+        }
+        mapper = new HierarchyMapper<>(new TreeDataProvider<>(deepData));
+        mapSize = 2;
+        assertEquals(mapSize, mapper.getTreeSize());
+
+        for (int i = 0; i < depth - 1; i++) {
+            expand(chain.get(i));
+            assertEquals(Integer.valueOf(i), mapper.getIndex(chain.get(i)));
+            assertEquals(i, mapper.getDepth(chain.get(i)));
+        }
+        checkMapSize();
+        assertEquals(Integer.valueOf(depth - 2),
+                mapper.getParentIndex(chain.get(depth - 1)));
+
+        Range removed = mapper.collapse(chain.get(0), 0);
+        assertEquals(Range.withLength(1, 2 * depth - 2), removed);
+        assertEquals(2, mapper.getTreeSize());
+    }
+
     private void expand(Node node) {
         insertRows(mapper.expand(node, mapper.getIndexOf(node).orElse(null)));
     }
@@ -49,6 +49,7 @@ import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.AnnotationReader;
 import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.JsonCodec;
+import com.vaadin.flow.internal.SharedConstantRegistry;
 import com.vaadin.flow.internal.StateTree;
 import com.vaadin.flow.internal.UrlUtil;
 import com.vaadin.flow.internal.nodefeature.LoadingIndicatorConfigurationMap;
@@ -187,7 +188,8 @@ public class UIInternals implements Serializable {
 
     private final DependencyList dependencyList = new DependencyList();
 
-    private final ConstantPool constantPool = new ConstantPool();
+    private final ConstantPool constantPool = new ConstantPool(
+            this::getSharedConstantRegistry);
 
     private byte[] lastProcessedMessageHash = null;
 
@@ -904,6 +906,14 @@ public class UIInternals implements Serializable {
         return constantPool;
     }
 
+    private SharedConstantRegistry getSharedConstantRegistry() {
+        VaadinSession currentSession = getSession();
+        if (currentSession == null || currentSession.getService() == null) {
+            return null;
+        }
+        return currentSession.getService().getSharedConstantRegistry();
+    }
+
     /**
      * Get the latest handled location or empty optional if no active
      * navigation.
@@ -247,6 +247,132 @@ public interface DeploymentConfiguration
                 false);
     }
 
+    /**
+     * Checks whether UIDL responses should be encoded straight into a UTF-8
+     * byte buffer instead of being built as an intermediate string.
+     * <p>
+     * The wire format is the same in both cases.
+     *
+     * @return <code>true</code> to use streaming UIDL encoding,
+     *         <code>false</code> to build the response as a string
+     */
+    default boolean isStreamingUidl() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_STREAMING_UIDL, false);
+    }
+
+    /**
+     * Checks whether the client engine should apply the DOM changes of server
+     * messages once per animation frame instead of right after each message.
+     * <p>
+     * Changes from messages that arrive within the same frame are then applied
+     * together, and a property that is changed several times is only written
+     * to the DOM once.
+     *
+     * @return <code>true</code> to apply DOM changes once per animation frame,
+     *         <code>false</code> to apply them for each message
+     */
+    default boolean isUidlFrameBatching() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_UIDL_FRAME_BATCHING, false);
+    }
+
+    /**
+     * Gets the maximum size of the in-memory cache for static resources.
+     * <p>
+     * The cache is only used in production mode. By default it is disabled.
+     *
+     * @return the maximum cache size in megabytes, or <code>0</code> if static
+     *         resources should not be cached
+     */
+    default int getStaticResourceCacheSize() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_STATIC_RESOURCE_CACHE_SIZE, 0,
+                Integer::parseInt);
+    }
+
+    /**
+     * Gets the time to wait for a session lock before giving up.
+     *
+     * @return the session lock timeout in milliseconds, or <code>0</code> to
+     *         wait indefinitely
+     */
+    default long getSessionLockTimeout() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_SESSION_LOCK_TIMEOUT, 0L,
+                Long::parseLong);
+    }
+
+    /**
+     * Returns whether session locks should use a fair ordering policy, granting
+     * the lock to the longest waiting thread. Fair locks have lower throughput
+     * but prevent push and background threads from being starved by
+     * requests. By default locks are not fair.
+     *
+     * @return <code>true</code> if session locks should be fair,
+     *         <code>false</code> otherwise
+     */
+    default boolean isSessionLockFair() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_SESSION_LOCK_FAIR, false);
+    }
+
+    /**
+     * Gets the time that access tasks submitted from other threads are
+     * collected before they are run together under one session lock, pushing
+     * their changes in one message.
+     *
+     * @return the batching window in milliseconds, or <code>0</code> if access
+     *         tasks are not batched
+     */
+    default long getAccessBatchWindow() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_ACCESS_BATCH_WINDOW, 0L,
+                Long::parseLong);
+    }
+
+    /**
+     * Gets the number of collected access tasks that causes a batch to be run
+     * before its window has passed.
+     *
+     * @return the maximum batch size, or <code>0</code> if batches are only
+     *         limited by time
+     * @see #getAccessBatchWindow()
+     */
+    default int getAccessBatchSize() {
+        return getApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_ACCESS_BATCH_SIZE, 0,
+                Integer::parseInt);
+    }
+
+    /**
+     * Returns whether plain file uploads should be read asynchronously when
+     * the servlet container supports it. Streaming events are then delivered
+     * through {@link com.vaadin.flow.component.UI#access} instead of from the
+     * request thread. By default uploads are read in the request thread.
+     *
+     * @return <code>true</code> to read uploads asynchronously,
+     *         <code>false</code> otherwise
+     */
+    default boolean isAsyncUpload() {
+        return getBooleanProperty(InitParameters.SERVLET_PARAMETER_ASYNC_UPLOAD,
+                false);
+    }
+
+    /**
+     * Returns whether <code>index.html</code> should be compiled into a
+     * template with pre-encoded static parts in production mode. By default
+     * the page is modified separately for every request.
+     *
+     * @return <code>true</code> if <code>index.html</code> should be compiled,
+     *         <code>false</code> otherwise
+     * @see InitParameters#SERVLET_PARAMETER_COMPILED_INDEX_HTML
+     */
+    default boolean isIndexHtmlCompiled() {
+        return getBooleanProperty(
+                InitParameters.SERVLET_PARAMETER_COMPILED_INDEX_HTML, false);
+    }
+
     default String getCompiledWebComponentsPath() {
         return getStringProperty(InitParameters.COMPILED_WEB_COMPONENTS_PATH,
                 "vaadin-web-components");
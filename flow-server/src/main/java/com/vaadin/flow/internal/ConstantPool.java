@@ -15,25 +15,72 @@
  */
 package com.vaadin.flow.internal;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
+import com.vaadin.flow.function.SerializableSupplier;
+
 import elemental.json.Json;
 import elemental.json.JsonObject;
 
 /**
  * Keeps track of {@link ConstantPoolKey} values that have already been sent to
  * the client.
+ * <p>
+ * Constants that are shared between all UIs through a
+ * {@link SharedConstantRegistry} are only tracked as a bit per constant, so the
+ * per-UI memory cost stays low even with many UIs.
  *
  * @author Vaadin Ltd
  * @since 1.0
  */
 public class ConstantPool implements Serializable {
 
-    private Set<String> knownValues = new HashSet<>();
+    private final SerializableSupplier<SharedConstantRegistry> registrySupplier;
+
+    private transient SharedConstantRegistry registry;
+
+    /*
+     * Constants shared between all UIs are tracked by their index in the
+     * registry, other constants by their id.
+     */
+    private transient BitSet knownSharedValues = new BitSet();
+
+    private transient Set<String> knownValues;
 
-    private Set<ConstantPoolKey> newKeys = new HashSet<>();
+    private Map<String, ConstantPoolKey> newKeys = new HashMap<>();
+
+    /**
+     * Creates a new constant pool that does not share constants with other
+     * constant pools.
+     */
+    public ConstantPool() {
+        this(SharedConstantRegistry::new);
+    }
+
+    /**
+     * Creates a new constant pool using the shared constant registry from the
+     * given supplier. The supplier is called until it returns a registry,
+     * constants are tracked by their ids until then.
+     *
+     * @param registrySupplier
+     *            the supplier of the shared constant registry, not
+     *            <code>null</code>
+     */
+    public ConstantPool(
+            SerializableSupplier<SharedConstantRegistry> registrySupplier) {
+        assert registrySupplier != null;
+        this.registrySupplier = registrySupplier;
+    }
 
     /**
      * Gets the id of a given constant, registering the constant with this
@@ -48,15 +95,41 @@ public class ConstantPool implements Serializable {
     public String getConstantId(ConstantPoolKey constant) {
         assert constant != null;
 
-        String id = constant.getId();
+        SharedConstantRegistry sharedConstants = getRegistry();
+        int sharedIndex = sharedConstants == null ? -1
+                : sharedConstants.register(constant);
+        String id = sharedIndex >= 0 ? constant.getStructuralId()
+                : constant.getDigestId();
 
-        if (knownValues.add(id)) {
-            newKeys.add(constant);
+        if (markKnown(id, sharedIndex)) {
+            newKeys.put(id, constant);
         }
 
         return id;
     }
 
+    private SharedConstantRegistry getRegistry() {
+        if (registry == null) {
+            registry = registrySupplier.get();
+        }
+        return registry;
+    }
+
+    private boolean markKnown(String id, int sharedIndex) {
+        if (sharedIndex >= 0) {
+            if (knownSharedValues.get(sharedIndex)) {
+                return false;
+            }
+            knownSharedValues.set(sharedIndex);
+            // Ids restored from a serialized pool are moved to the bit set
+            return knownValues == null || !knownValues.remove(id);
+        }
+        if (knownValues == null) {
+            knownValues = new HashSet<>();
+        }
+        return knownValues.add(id);
+    }
+
     /**
      * Checks if any new constants have been added to this constant pool since
      * the last time {@link #dumpConstants()} was called.
@@ -77,10 +150,35 @@ public class ConstantPool implements Serializable {
     public JsonObject dumpConstants() {
         JsonObject json = Json.createObject();
 
-        newKeys.forEach(key -> key.export(json));
+        newKeys.forEach((id, key) -> key.export(json, id));
         newKeys.clear();
 
         return json;
     }
 
+    private void writeObject(ObjectOutputStream stream) throws IOException {
+        stream.defaultWriteObject();
+
+        // Shared indices are specific to the registry, store ids instead
+        ArrayList<String> ids = new ArrayList<>();
+        int index = knownSharedValues.nextSetBit(0);
+        while (index >= 0) {
+            ids.add(registry.getId(index));
+            index = knownSharedValues.nextSetBit(index + 1);
+        }
+        if (knownValues != null) {
+            ids.addAll(knownValues);
+        }
+        stream.writeObject(ids);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+
+        knownSharedValues = new BitSet();
+        knownValues = new HashSet<>((List<String>) stream.readObject());
+    }
+
 }
@@ -20,6 +20,9 @@ import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 
+import com.vaadin.flow.function.SerializableFunction;
+
+import elemental.json.JsonArray;
 import elemental.json.JsonObject;
 import elemental.json.JsonValue;
 
@@ -36,8 +39,13 @@ import elemental.json.JsonValue;
  * @since 1.0
  */
 public class ConstantPoolKey implements Serializable {
+    private static final long HASH_PRIME = 0x100000001b3L;
+
     private final JsonValue json;
-    private final String id;
+    private final SerializableFunction<JsonValue, Long> hashFunction;
+    private final long structuralHash;
+    private transient String id;
+    private transient String digestId;
 
     /**
      * Creates a new constant pool key for the given JSON value. The value
@@ -48,21 +56,76 @@ public class ConstantPoolKey implements Serializable {
      *            the JSON constant, not <code>null</code>
      */
     public ConstantPoolKey(JsonValue json) {
+        this(json, ConstantPoolKey::calculateStructuralHash);
+    }
+
+    /**
+     * Creates a new constant pool key for the given JSON value using the given
+     * function for calculating the structural hash of the value.
+     *
+     * @param json
+     *            the JSON constant, not <code>null</code>
+     * @param hashFunction
+     *            the function calculating the structural hash of a JSON value,
+     *            not <code>null</code>
+     */
+    ConstantPoolKey(JsonValue json,
+            SerializableFunction<JsonValue, Long> hashFunction) {
         assert json != null;
+        assert hashFunction != null;
         this.json = json;
-
-        id = calculateHash(json);
+        this.hashFunction = hashFunction;
+        structuralHash = hashFunction.apply(json).longValue();
     }
 
     /**
      * Gets the id used to identify the referenced JSON constant.
      *
      * @return the id used to identify this value
+     * @deprecated A {@link ConstantPool} uses a different id for the value if
+     *             its id collides with the id of another value, use
+     *             {@link ConstantPool#getConstantId(ConstantPoolKey)} instead
      */
+    @Deprecated
     public String getId() {
+        return getStructuralId();
+    }
+
+    /**
+     * Gets the id based on the structural hash of the referenced JSON
+     * constant.
+     *
+     * @return the structural id of this value
+     */
+    String getStructuralId() {
+        if (id == null) {
+            id = encodeId(structuralHash);
+        }
         return id;
     }
 
+    /**
+     * Gets the id based on a digest of the JSON representation of the
+     * referenced constant, used when the structural id cannot be used.
+     *
+     * @return the digest id of this value
+     */
+    String getDigestId() {
+        if (digestId == null) {
+            digestId = calculateDigestId(json);
+        }
+        return digestId;
+    }
+
+    /**
+     * Gets the referenced JSON constant.
+     *
+     * @return the JSON constant, not <code>null</code>
+     */
+    JsonValue getJson() {
+        return json;
+    }
+
     /**
      * Exports the this key into a JSON object to send to the client. This
      * method should be called only by the {@link ConstantPool} instance that
@@ -71,31 +134,128 @@ public class ConstantPoolKey implements Serializable {
      * @param clientConstantPoolUpdate
      *            the constant pool update that is to be sent to the client, not
      *            <code>null</code>
+     * @deprecated The id of the exported value may differ from the id used by
+     *             the {@link ConstantPool}, use
+     *             {@link ConstantPool#dumpConstants()} instead
      */
+    @Deprecated
     public void export(JsonObject clientConstantPoolUpdate) {
-        assert id.equals(calculateHash(json)) : "Json value has been changed";
+        export(clientConstantPoolUpdate, getStructuralId());
+    }
+
+    /**
+     * Exports the this key into a JSON object to send to the client using the
+     * given id.
+     *
+     * @param clientConstantPoolUpdate
+     *            the constant pool update that is to be sent to the client, not
+     *            <code>null</code>
+     * @param id
+     *            the id that the constant pool uses for this value, not
+     *            <code>null</code>
+     */
+    void export(JsonObject clientConstantPoolUpdate, String id) {
+        assert structuralHash == hashFunction.apply(json)
+                .longValue() : "Json value has been changed";
 
         clientConstantPoolUpdate.put(id, json);
     }
 
+    /**
+     * Calculates a 64 bit hash of a JSON value based on its structure and
+     * contents. Values that are equal according to
+     * {@link JsonUtils#jsonEquals(JsonValue, JsonValue)} get the same hash
+     * regardless of the order of the keys in JSON objects.
+     *
+     * @param json
+     *            the JSON to get a hash of, not <code>null</code>
+     * @return the structural hash of the given JSON value
+     */
+    private static long calculateStructuralHash(JsonValue json) {
+        long hash;
+        switch (json.getType()) {
+        case NULL:
+            hash = 1;
+            break;
+        case BOOLEAN:
+            hash = json.asBoolean() ? 2 : 3;
+            break;
+        case NUMBER:
+            hash = (4 * HASH_PRIME)
+                    ^ Double.doubleToRawLongBits(json.asNumber());
+            break;
+        case STRING:
+            hash = hashString(5, json.asString());
+            break;
+        case ARRAY:
+            JsonArray array = (JsonArray) json;
+            hash = 6;
+            for (int i = 0; i < array.length(); i++) {
+                hash = (hash ^ calculateStructuralHash(array.get(i)))
+                        * HASH_PRIME;
+            }
+            hash ^= array.length();
+            break;
+        case OBJECT:
+            JsonObject object = (JsonObject) json;
+            String[] keys = object.keys();
+            hash = 7;
+            for (String key : keys) {
+                // Sum of mixed entries to not depend on the key order
+                hash += mix(hashString(8, key) * 31
+                        + calculateStructuralHash(object.get(key)));
+            }
+            hash ^= keys.length;
+            break;
+        default:
+            throw new IllegalArgumentException(
+                    "Unsupported JsonType: " + json.getType());
+        }
+        return mix(hash);
+    }
+
+    private static long hashString(long seed, String string) {
+        // FNV-1a over the UTF-16 code units
+        long hash = 0xcbf29ce484222325L ^ seed;
+        for (int i = 0; i < string.length(); i++) {
+            hash = (hash ^ string.charAt(i)) * HASH_PRIME;
+        }
+        return hash ^ string.length();
+    }
+
+    private static long mix(long hash) {
+        // Finalization step of SplitMix64
+        hash = (hash ^ (hash >>> 30)) * 0xbf58476d1ce4e5b9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94d049bb133111ebL;
+        return hash ^ (hash >>> 31);
+    }
+
     /**
      * Calculates the key of a JSON value by Base 64 encoding the first 64 bits
-     * of the SHA-256 digest of the JSON's string representation.
+     * of the SHA-256 digest of the JSON's string representation. Only used if
+     * the structural hash of the value collides with a different value or if
+     * the value could not be registered as a shared constant.
      *
      * @param json
      *            the JSON to get a hash of, not <code>null</code>
      * @return the key uniquely identifying the given JSON value
      */
-    private static String calculateHash(JsonValue json) {
+    private static String calculateDigestId(JsonValue json) {
         byte[] digest = MessageDigestUtil.sha256(json.toJson());
 
         /*
          * Only use first 64 bits to keep id string short (1 in 100 000 000
          * collision risk with 500 000 items). 64 bits base64 -> 11 ASCII chars
          */
-        ByteBuffer truncatedDigest = ByteBuffer.wrap(digest, 0, 8);
+        return encodeId(ByteBuffer.wrap(digest, 0, 8).getLong());
+    }
+
+    private static String encodeId(long hash) {
+        ByteBuffer bytes = ByteBuffer.allocate(Long.BYTES);
+        bytes.putLong(hash);
+        bytes.flip();
 
-        ByteBuffer base64Bytes = Base64.getEncoder().encode(truncatedDigest);
+        ByteBuffer base64Bytes = Base64.getEncoder().encode(bytes);
 
         return StandardCharsets.US_ASCII.decode(base64Bytes).toString();
     }
@@ -0,0 +1,151 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import javax.servlet.ServletRequest;
+import javax.servlet.ServletRequestWrapper;
+import javax.servlet.ServletResponse;
+import javax.servlet.ServletResponseWrapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * Internal utility class for writing files to responses through file channels
+ * instead of copying them through input streams.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class FileChannelUtil {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private FileChannelUtil() {
+    }
+
+    /**
+     * Gets the file on disk that the given URL points to.
+     *
+     * @param url
+     *            the URL to check, not <code>null</code>
+     * @return the regular file the URL points to, or <code>null</code> if the
+     *         URL is not a <code>file:</code> URL of a regular file
+     */
+    public static File getFile(URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        try {
+            File file = new File(url.toURI());
+            return file.isFile() ? file : null;
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Asks the servlet container to send a region of a file by itself, if the
+     * container supports that.
+     * <p>
+     * Containers supporting the Tomcat sendfile attributes write the file
+     * straight from the file system to the socket once the request has been
+     * handled, without copying it through the heap. The content length must
+     * be set by the caller, and nothing may be written to the response
+     * output stream when this method returns <code>true</code>.
+     * <p>
+     * The file is only handed over when neither the request nor the response
+     * has been wrapped, e.g. by a filter, since the container would bypass the
+     * wrapper when writing the file.
+     *
+     * @param request
+     *            the request being handled, as passed by the container
+     * @param response
+     *            the response being written, as passed by the container
+     * @param file
+     *            the file to send
+     * @param start
+     *            the position of the first byte to send
+     * @param end
+     *            the position after the last byte to send
+     * @return <code>true</code> if the container will send the file,
+     *         <code>false</code> if the caller needs to write it
+     */
+    public static boolean sendFile(ServletRequest request,
+            ServletResponse response, File file, long start, long end) {
+        if (request instanceof ServletRequestWrapper
+                || response instanceof ServletResponseWrapper
+                || !Boolean.TRUE
+                        .equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            return false;
+        }
+        try {
+            request.setAttribute(SENDFILE_FILENAME, file.getCanonicalPath());
+        } catch (IOException e) {
+            return false;
+        }
+        request.setAttribute(SENDFILE_START, start);
+        request.setAttribute(SENDFILE_END, end);
+        return true;
+    }
+
+    /**
+     * Writes a region of a file to the given output stream using
+     * {@link FileChannel#transferTo(long, long, WritableByteChannel)}, which
+     * lets the operating system read the file without an intermediate heap
+     * buffer.
+     *
+     * @param channel
+     *            the channel of the file to write
+     * @param position
+     *            the position of the first byte to write
+     * @param count
+     *            the maximum number of bytes to write
+     * @param outputStream
+     *            the stream to write to
+     * @return the number of bytes written, less than <code>count</code> only
+     *         if the end of the file was reached
+     * @throws IOException
+     *             if reading the file or writing to the stream fails
+     */
+    public static long transferTo(FileChannel channel, long position,
+            long count, OutputStream outputStream) throws IOException {
+        WritableByteChannel target = Channels.newChannel(outputStream);
+        long end = position
+                + Math.min(count, Math.max(0L, channel.size() - position));
+        long current = position;
+        while (current < end) {
+            long written = channel.transferTo(current, end - current, target);
+            if (written <= 0) {
+                // The file has been truncated
+                break;
+            }
+            current += written;
+        }
+        return current - position;
+    }
+}
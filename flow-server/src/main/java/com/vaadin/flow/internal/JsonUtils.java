@@ -16,7 +16,9 @@
 
 package com.vaadin.flow.internal;
 
+import java.io.IOException;
 import java.util.AbstractList;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.EnumSet;
 import java.util.List;
@@ -27,6 +29,7 @@ import java.util.function.BiConsumer;
 import java.util.function.BinaryOperator;
 import java.util.function.Function;
 import java.util.function.Supplier;
+import java.util.regex.Pattern;
 import java.util.stream.Collector;
 import java.util.stream.DoubleStream;
 import java.util.stream.Stream;
@@ -40,6 +43,7 @@ import elemental.json.JsonNumber;
 import elemental.json.JsonObject;
 import elemental.json.JsonType;
 import elemental.json.JsonValue;
+import elemental.json.impl.JsonUtil;
 
 /**
  * Helpers for using <code>elemental.json</code>.
@@ -53,6 +57,8 @@ public final class JsonUtils {
 
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static final Pattern NUMERIC_KEY = Pattern.compile("\\d+");
+
     /**
      * Collects a stream of JSON values to a JSON array.
      *
@@ -333,4 +339,107 @@ public final class JsonUtils {
             throw new RuntimeException("Error converting map to JSON", e);
         }
     }
+
+    /**
+     * Writes the JSON representation of the given value to the given
+     * appendable without first creating the full JSON string in memory.
+     * <p>
+     * The output is identical to the result of {@link JsonValue#toJson()}.
+     *
+     * @param value
+     *            the JSON value to write, not {@code null}
+     * @param out
+     *            the appendable to write to, not {@code null}
+     * @throws IOException
+     *             if writing to the appendable fails
+     */
+    public static void writeJson(JsonValue value, Appendable out)
+            throws IOException {
+        Objects.requireNonNull(value, CANNOT_CONVERT_NULL_TO_A_JSON_OBJECT);
+        Objects.requireNonNull(out);
+
+        switch (value.getType()) {
+        case NULL:
+            out.append("null");
+            break;
+        case BOOLEAN:
+            out.append(String.valueOf(value.asBoolean()));
+            break;
+        case NUMBER:
+            out.append(formatNumber(value.asNumber()));
+            break;
+        case STRING:
+            out.append(JsonUtil.quote(value.asString()));
+            break;
+        case OBJECT:
+            writeObject((JsonObject) value, out);
+            break;
+        case ARRAY:
+            writeArray((JsonArray) value, out);
+            break;
+        default:
+            throw new IllegalArgumentException(
+                    "Unsupported JsonType: " + value.getType());
+        }
+    }
+
+    private static void writeObject(JsonObject object, Appendable out)
+            throws IOException {
+        out.append('{');
+        boolean first = true;
+        for (String key : getStringifyOrder(object.keys())) {
+            // Mirror the elemental serializer: skip keys injected by the GWT
+            // runtime and write the value of an empty key without the key
+            if ("$H".equals(key) || "__gwt_ObjectId".equals(key)) {
+                continue;
+            }
+            if (!key.isEmpty()) {
+                if (!first) {
+                    out.append(',');
+                }
+                out.append(JsonUtil.quote(key)).append(':');
+            }
+            writeJson(object.get(key), out);
+            first = false;
+        }
+        out.append('}');
+    }
+
+    private static void writeArray(JsonArray array, Appendable out)
+            throws IOException {
+        out.append('[');
+        for (int i = 0; i < array.length(); i++) {
+            if (i > 0) {
+                out.append(',');
+            }
+            writeJson(array.get(i), out);
+        }
+        out.append(']');
+    }
+
+    private static List<String> getStringifyOrder(String[] keys) {
+        List<String> ordered = new ArrayList<>(keys.length);
+        List<String> nonNumeric = new ArrayList<>(keys.length);
+        for (String key : keys) {
+            if (NUMERIC_KEY.matcher(key).matches()) {
+                ordered.add(key);
+            } else {
+                nonNumeric.add(key);
+            }
+        }
+        Collections.sort(ordered);
+        ordered.addAll(nonNumeric);
+        return ordered;
+    }
+
+    private static String formatNumber(double number) {
+        if (Double.isInfinite(number) || Double.isNaN(number)) {
+            return "null";
+        }
+        String formatted = String.valueOf(number);
+        if (formatted.endsWith(".0")) {
+            formatted = formatted.substring(0, formatted.length() - 2);
+        }
+        return formatted;
+    }
 }
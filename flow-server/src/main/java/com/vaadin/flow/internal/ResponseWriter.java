@@ -23,12 +23,16 @@ import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
 import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.List;
 import java.util.Stack;
 import java.util.UUID;
@@ -39,6 +43,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.internal.StaticResourceCache.CachedResource;
 
 import static com.vaadin.flow.server.Constants.VAADIN_BUILD_FILES_PATH;
 import static com.vaadin.flow.server.Constants.VAADIN_WEBAPP_RESOURCES;
@@ -154,10 +159,15 @@ public class ResponseWriter implements Serializable {
 
         try {
             String range = request.getHeader("Range");
+            File file = FileChannelUtil.getFile(url);
             if (range != null) {
                 closeStream(dataStream);
                 dataStream = null;
-                writeRangeContents(range, response, url);
+                writeRangeContents(range, request, response, url);
+            } else if (file != null) {
+                closeStream(dataStream);
+                dataStream = null;
+                writeFile(request, response, file);
             } else {
                 final long contentLength = connection.getContentLengthLong();
                 if (0 <= contentLength) {
@@ -175,6 +185,149 @@ public class ResponseWriter implements Serializable {
         }
     }
 
+    /**
+     * Writes the contents of the given resourceUrl to the response, serving
+     * the content from the given cache.
+     * <p>
+     * The resource and its precompressed variants are read to the cache on
+     * first access. The best encoding accepted by the browser is served along
+     * with a strong <code>ETag</code>, and <code>If-None-Match</code> requests
+     * for the current content get a <code>304 Not Modified</code> response.
+     * Range requests and resources too large for the cache are written as with
+     * {@link #writeResponseContents(String, URL, HttpServletRequest, HttpServletResponse)}.
+     *
+     * @param filenameWithPath
+     *            the name of the file being sent
+     * @param resourceUrl
+     *            the URL to the file, reported by the servlet container
+     * @param cache
+     *            the cache to serve the content from, not <code>null</code>
+     * @param request
+     *            the request object to read from
+     * @param response
+     *            the response object to write to
+     * @throws IOException
+     *             if the servlet container threw an exception while locating
+     *             the resource
+     */
+    public void writeCachedResponseContents(String filenameWithPath,
+            URL resourceUrl, StaticResourceCache cache,
+            HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        CachedResource resource = null;
+        if (request.getHeader("Range") == null) {
+            resource = cache.get(filenameWithPath);
+            if (resource == null) {
+                resource = loadCachedResource(filenameWithPath, resourceUrl,
+                        cache, request);
+            }
+        }
+        if (resource == null) {
+            writeResponseContents(filenameWithPath, resourceUrl, request,
+                    response);
+            return;
+        }
+
+        String encoding = StaticResourceCache.IDENTITY;
+        if (brotliEnabled && resource.hasEncoding(StaticResourceCache.BROTLI)
+                && acceptsBrotliResource(request)) {
+            encoding = StaticResourceCache.BROTLI;
+        } else if (resource.hasEncoding(StaticResourceCache.GZIP)
+                && acceptsGzippedResource(request)) {
+            encoding = StaticResourceCache.GZIP;
+        }
+        if (resource.hasEncoding(StaticResourceCache.GZIP)
+                || resource.hasEncoding(StaticResourceCache.BROTLI)) {
+            response.setHeader("Vary", "Accept-Encoding");
+        }
+        response.setHeader("ETag", resource.getETag(encoding));
+
+        if (resource.matchesETag(request.getHeader("If-None-Match"))) {
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return;
+        }
+
+        writeContentType(filenameWithPath, request, response);
+        if (!StaticResourceCache.IDENTITY.equals(encoding)) {
+            response.setHeader("Content-Encoding", encoding);
+        }
+        ByteBuffer content = resource.getContent(encoding);
+        setContentLength(response, content.remaining());
+        try {
+            writeBuffer(response.getOutputStream(), content);
+        } catch (IOException e) {
+            getLogger().debug("Error writing static file to user", e);
+        }
+    }
+
+    private CachedResource loadCachedResource(String filenameWithPath,
+            URL resourceUrl, StaticResourceCache cache,
+            HttpServletRequest request) {
+        URL brotliUrl = null;
+        URL gzipUrl = null;
+        try {
+            if (brotliEnabled) {
+                brotliUrl = getResource(request, filenameWithPath + ".br");
+            }
+            gzipUrl = getResource(request, filenameWithPath + ".gz");
+        } catch (Exception e) {
+            getLogger().debug(
+                    "Unexpected exception looking for compressed resources for {}",
+                    filenameWithPath, e);
+        }
+        String mimeType = request.getServletContext()
+                .getMimeType(filenameWithPath);
+        try {
+            return cache.load(filenameWithPath, resourceUrl, gzipUrl,
+                    brotliUrl, isCompressible(mimeType));
+        } catch (IOException e) {
+            getLogger().debug("Unable to cache static resource {}",
+                    filenameWithPath, e);
+            return null;
+        }
+    }
+
+    private static boolean isCompressible(String mimeType) {
+        if (mimeType == null) {
+            return false;
+        }
+        return mimeType.startsWith("text/") || mimeType.contains("javascript")
+                || mimeType.contains("json") || mimeType.contains("xml");
+    }
+
+    private void writeBuffer(ServletOutputStream outputStream,
+            ByteBuffer content) throws IOException {
+        if (content.hasArray()) {
+            outputStream.write(content.array(),
+                    content.arrayOffset() + content.position(),
+                    content.remaining());
+            return;
+        }
+        // Memory mapped content
+        final byte[] buffer = new byte[Math.min(bufferSize,
+                content.remaining())];
+        while (content.hasRemaining()) {
+            int length = Math.min(buffer.length, content.remaining());
+            content.get(buffer, 0, length);
+            outputStream.write(buffer, 0, length);
+        }
+    }
+
+    private void writeFile(HttpServletRequest request,
+            HttpServletResponse response, File file) throws IOException {
+        long length = file.length();
+        setContentLength(response, length);
+        if (FileChannelUtil.sendFile(request, response, file, 0L,
+                length)) {
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(),
+                StandardOpenOption.READ)) {
+            FileChannelUtil.transferTo(channel, 0L, length,
+                    response.getOutputStream());
+        }
+    }
+
     private void closeStream(Closeable stream) {
         try {
             stream.close();
@@ -192,8 +345,8 @@ public class ResponseWriter implements Serializable {
      * https://developer.mozilla.org/en-US/docs/Web/HTTP/Range_requests for
      * protocol details.
      */
-    private void writeRangeContents(String range, HttpServletResponse response,
-            URL resourceURL) throws IOException {
+    private void writeRangeContents(String range, HttpServletRequest request,
+            HttpServletResponse response, URL resourceURL) throws IOException {
         response.setHeader("Accept-Ranges", "bytes");
 
         URLConnection connection = resourceURL.openConnection();
@@ -256,6 +409,20 @@ public class ResponseWriter implements Serializable {
             response.setHeader("Content-Range",
                     createContentRangeHeader(start, end, resourceLength));
 
+            File file = FileChannelUtil.getFile(resourceURL);
+            if (file != null) {
+                closeStream(connection.getInputStream());
+                if (!FileChannelUtil.sendFile(request, response, file, start,
+                        end + 1)) {
+                    try (FileChannel channel = FileChannel
+                            .open(file.toPath(), StandardOpenOption.READ)) {
+                        FileChannelUtil.transferTo(channel, start,
+                                end - start + 1, outputStream);
+                    }
+                }
+                return;
+            }
+
             final InputStream dataStream = connection.getInputStream();
             try {
                 long skipped = dataStream.skip(start);
@@ -285,24 +452,37 @@ public class ResponseWriter implements Serializable {
 
         long position = 0L;
         String mimeType = response.getContentType();
-        InputStream dataStream = connection.getInputStream();
         ServletOutputStream outputStream = response.getOutputStream();
+
+        File file = FileChannelUtil.getFile(resourceURL);
+        if (file != null) {
+            // Ranges can be read in any order from a file channel
+            closeStream(connection.getInputStream());
+            try (FileChannel channel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.READ)) {
+                for (Pair<Long, Long> rangePair : ranges) {
+                    long start = rangePair.getFirst();
+                    long end = rangePair.getSecond();
+                    writePartHeader(outputStream, partBoundary, mimeType,
+                            createContentRangeHeader(start, end,
+                                    channel.size()));
+                    FileChannelUtil.transferTo(channel, start,
+                            end - start + 1, outputStream);
+                }
+            }
+            outputStream.write(
+                    String.format("\r\n--%s", partBoundary).getBytes());
+            return;
+        }
+
+        InputStream dataStream = connection.getInputStream();
         try {
             for (Pair<Long, Long> rangePair : ranges) {
-                outputStream.write(
-                        String.format("\r\n--%s\r\n", partBoundary).getBytes());
                 long start = rangePair.getFirst();
                 long end = rangePair.getSecond();
-                if (mimeType != null) {
-                    outputStream.write(
-                            String.format("Content-Type: %s\r\n", mimeType)
-                                    .getBytes());
-                }
-                outputStream.write(String
-                        .format("Content-Range: %s\r\n\r\n",
-                                createContentRangeHeader(start, end,
-                                        connection.getContentLengthLong()))
-                        .getBytes());
+                writePartHeader(outputStream, partBoundary, mimeType,
+                        createContentRangeHeader(start, end,
+                                connection.getContentLengthLong()));
 
                 if (position > start) {
                     // out-of-sequence range -> open new stream to the file
@@ -323,6 +503,20 @@ public class ResponseWriter implements Serializable {
         outputStream.write(String.format("\r\n--%s", partBoundary).getBytes());
     }
     
+    private void writePartHeader(ServletOutputStream outputStream,
+            String partBoundary, String mimeType, String contentRange)
+            throws IOException {
+        outputStream
+                .write(String.format("\r\n--%s\r\n", partBoundary).getBytes());
+        if (mimeType != null) {
+            outputStream.write(String.format("Content-Type: %s\r\n", mimeType)
+                    .getBytes());
+        }
+        outputStream.write(String
+                .format("Content-Range: %s\r\n\r\n", contentRange)
+                .getBytes());
+    }
+
     private String createContentRangeHeader(long start, long end, long size) {
         String lengthString = size >= 0 ? Long.toString(size) : "*";
         return String.format("bytes %d-%d/%s", start, end, lengthString);
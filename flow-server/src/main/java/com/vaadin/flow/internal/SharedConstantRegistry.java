@@ -0,0 +1,109 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import elemental.json.Json;
+import elemental.json.JsonValue;
+
+/**
+ * Registry of the {@link ConstantPoolKey} values shared between the constant
+ * pools of the UIs of one service. Every registered value gets an index, which
+ * the constant pools use for tracking the values sent to the client in a bit
+ * set. The registry also remembers the registered values for detecting
+ * structural hash collisions.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class SharedConstantRegistry {
+    /*
+     * Limit for the number of JSON values that are remembered for detecting
+     * hash collisions.
+     */
+    static final int MAX_SHARED_VALUES = 10000;
+
+    private final ConcurrentHashMap<String, SharedConstant> constants = new ConcurrentHashMap<>();
+
+    // Ids by index, guarded by this
+    private final List<String> ids = new ArrayList<>();
+
+    private static final class SharedConstant {
+        private final JsonValue json;
+        private final int index;
+
+        private SharedConstant(JsonValue json, int index) {
+            this.json = json;
+            this.index = index;
+        }
+    }
+
+    /**
+     * Registers the value of the given key, unless a value with the same id
+     * has already been registered.
+     *
+     * @param key
+     *            the key to register, not <code>null</code>
+     * @return the index of the value, or <code>-1</code> if the value is not
+     *         shared because a different value with the same id has been
+     *         registered or because the registry is full
+     */
+    public int register(ConstantPoolKey key) {
+        String id = key.getStructuralId();
+        SharedConstant shared = constants.get(id);
+        if (shared == null) {
+            shared = add(id, key.getJson());
+            if (shared == null) {
+                return -1;
+            }
+        }
+        if (JsonUtils.jsonEquals(shared.json, key.getJson())) {
+            return shared.index;
+        }
+        // Structural hash collision
+        return -1;
+    }
+
+    private synchronized SharedConstant add(String id, JsonValue json) {
+        SharedConstant shared = constants.get(id);
+        if (shared != null || ids.size() >= MAX_SHARED_VALUES) {
+            return shared;
+        }
+        // A copy, so that a value modified by application code does not
+        // break collision detection
+        shared = new SharedConstant(Json.instance().parse(json.toJson()),
+                ids.size());
+        ids.add(id);
+        constants.put(id, shared);
+        return shared;
+    }
+
+    /**
+     * Gets the id of the value registered with the given index.
+     *
+     * @param index
+     *            the index returned by {@link #register(ConstantPoolKey)}
+     * @return the id of the value
+     */
+    public synchronized String getId(int index) {
+        return ids.get(index);
+    }
+}
@@ -144,7 +144,13 @@ public class StateNode implements Serializable {
      */
     private Serializable features;
 
-    private Map<Class<? extends NodeFeature>, Serializable> changes;
+    /**
+     * Change trackers of the features, indexed in the same way as the
+     * features, or <code>null</code> if there are no changes. The last slot
+     * holds a map of trackers for features that aren't part of the feature set
+     * of this node.
+     */
+    private Serializable[] changes;
 
     private List<Command> attachListeners;
 
@@ -156,6 +162,9 @@ public class StateNode implements Serializable {
 
     private int id = -1;
 
+    // The tree whose dirty nodes currently include this node
+    private StateTree dirtyIn;
+
     // Only the root node is attached at this point
     private boolean wasAttached = isAttached();
 
@@ -549,6 +558,35 @@ public class StateNode implements Serializable {
         return id;
     }
 
+    /**
+     * Marks this node as dirty in the given tree, unless it already is.
+     *
+     * @param tree
+     *            the tree that is tracking the dirty node
+     * @return <code>true</code> if the node was not already marked as dirty in
+     *         the tree
+     */
+    final boolean markDirty(StateTree tree) {
+        if (dirtyIn == tree) {
+            return false;
+        }
+        dirtyIn = tree;
+        return true;
+    }
+
+    /**
+     * Clears the dirty mark set using {@link #markDirty(StateTree)} if it
+     * belongs to the given tree.
+     *
+     * @param tree
+     *            the tree that has collected the dirty node
+     */
+    final void clearDirty(StateTree tree) {
+        if (dirtyIn == tree) {
+            dirtyIn = null;
+        }
+    }
+
     /**
      * Marks this node as dirty.
      *
@@ -634,16 +672,18 @@ public class StateNode implements Serializable {
             Stream<NodeFeature> features) {
         features.filter(this::hasChangeTracker).forEach(feature -> {
             feature.collectChanges(collector);
-            changes.remove(feature.getClass());
+            changes[getFeatureIndex(feature.getClass())] = null;
         });
         isInitialChanges = false;
-        if (changes != null && changes.isEmpty()) {
+        if (changes != null
+                && Arrays.stream(changes).allMatch(Objects::isNull)) {
             changes = null;
         }
     }
 
     private boolean hasChangeTracker(NodeFeature nodeFeature) {
-        return changes != null && changes.containsKey(nodeFeature.getClass());
+        return changes != null
+                && changes[getFeatureIndex(nodeFeature.getClass())] != null;
     }
 
     /**
@@ -851,11 +891,30 @@ public class StateNode implements Serializable {
     public <T extends Serializable> T getChangeTracker(NodeFeature feature,
             Supplier<T> factory) {
         if (changes == null) {
-            changes = new HashMap<>();
+            changes = new Serializable[featureSet.mappings.size() + 1];
+        }
+
+        Integer featureIndex = featureSet.mappings.get(feature.getClass());
+        if (featureIndex == null) {
+            return (T) getOtherChangeTrackers()
+                    .computeIfAbsent(feature.getClass(), k -> factory.get());
+        }
+
+        Serializable tracker = changes[featureIndex.intValue()];
+        if (tracker == null) {
+            tracker = factory.get();
+            changes[featureIndex.intValue()] = tracker;
         }
+        return (T) tracker;
+    }
 
-        return (T) changes.computeIfAbsent(feature.getClass(),
-                k -> factory.get());
+    @SuppressWarnings("unchecked")
+    private Map<Class<?>, Serializable> getOtherChangeTrackers() {
+        int index = changes.length - 1;
+        if (changes[index] == null) {
+            changes[index] = new HashMap<Class<?>, Serializable>();
+        }
+        return (Map<Class<?>, Serializable>) changes[index];
     }
 
     /**
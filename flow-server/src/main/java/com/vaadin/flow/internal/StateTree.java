@@ -17,6 +17,7 @@
 package com.vaadin.flow.internal;
 
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
@@ -152,7 +153,9 @@ public class StateTree implements NodeOwner {
         void remove();
     }
 
-    private Set<StateNode> dirtyNodes = new LinkedHashSet<>();
+    // Reused between collection rounds, nodes are marked so that they are only
+    // added once
+    private final ArrayList<StateNode> dirtyNodes = new ArrayList<>();
 
     private final Map<Integer, StateNode> idToNode = new HashMap<>();
 
@@ -278,20 +281,32 @@ public class StateTree implements NodeOwner {
      *            a consumer accepting node changes
      */
     public void collectChanges(Consumer<NodeChange> collector) {
-        Set<StateNode> allDirtyNodes = new LinkedHashSet<>();
-        boolean evaluateNewDirtyNodes = true;
-
-        // The updateActiveState method can create new dirty nodes, so they need
-        // to be collected as well
-        while (evaluateNewDirtyNodes) {
-            Set<StateNode> dirtyNodesSet = doCollectDirtyNodes(true);
-            dirtyNodesSet.forEach(StateNode::updateActiveState);
-            evaluateNewDirtyNodes = allDirtyNodes.addAll(dirtyNodesSet);
+        // The updateActiveState method can create new dirty nodes, which are
+        // appended to the list and thus also processed here
+        for (int i = 0; i < dirtyNodes.size(); i++) {
+            dirtyNodes.get(i).updateActiveState();
         }
 
         // TODO fire preCollect events
 
-        allDirtyNodes.forEach(node -> node.collectChanges(collector));
+        // Nodes marked as dirty while collecting changes are collected in the
+        // next round
+        int count = dirtyNodes.size();
+        int processed = 0;
+        try {
+            while (processed < count) {
+                StateNode node = dirtyNodes.get(processed++);
+                node.clearDirty(this);
+                node.collectChanges(collector);
+            }
+        } finally {
+            // If collecting failed, the remaining nodes are dropped as well
+            // but must be possible to mark as dirty again
+            for (int i = processed; i < count; i++) {
+                dirtyNodes.get(i).clearDirty(this);
+            }
+            dirtyNodes.subList(0, count).clear();
+        }
     }
 
     @Override
@@ -299,7 +314,9 @@ public class StateTree implements NodeOwner {
         assert node.getOwner() == this;
         checkHasLock();
 
-        dirtyNodes.add(node);
+        if (node.markDirty(this)) {
+            dirtyNodes.add(node);
+        }
     }
 
     /**
@@ -308,7 +325,7 @@ public class StateTree implements NodeOwner {
      * @return a set of dirty nodes, in the order they were marked dirty
      */
     public Set<StateNode> collectDirtyNodes() {
-        return doCollectDirtyNodes(false);
+        return Collections.unmodifiableSet(new LinkedHashSet<>(dirtyNodes));
     }
 
     /**
@@ -431,24 +448,6 @@ public class StateTree implements NodeOwner {
         }
     }
 
-    /**
-     * Gets all the nodes that have been marked as dirty.
-     * <p>
-     * If {@code reset} is {@code true} then dirty nodes collection is reset.
-     *
-     * @return a set of dirty nodes, in the order they were marked dirty
-     */
-    private Set<StateNode> doCollectDirtyNodes(boolean reset) {
-        if (reset) {
-            Set<StateNode> collectedNodes = dirtyNodes;
-            dirtyNodes = new LinkedHashSet<>();
-            return collectedNodes;
-        } else {
-            return Collections.unmodifiableSet(dirtyNodes);
-        }
-
-    }
-
     /**
      * Prepares the tree for resynchronization, meaning that the client will
      * receive the same changes as when the component tree was initially
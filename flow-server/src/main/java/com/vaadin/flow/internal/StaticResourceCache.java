@@ -0,0 +1,476 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.net.URL;
+import java.net.URLConnection;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * A size bounded in-memory cache for static resources.
+ * <p>
+ * Each cached resource holds the content of the resource together with its
+ * gzip and Brotli encoded variants, if available. Small resources are kept in
+ * heap buffers and large resources that are files on disk are memory mapped.
+ * The least recently used resources are evicted once the total size of the
+ * cached content exceeds the maximum size.
+ * <p>
+ * The cache is meant for production mode, where static resources do not
+ * change while the application is running.
+ * <p>
+ * For internal use only. May be renamed or removed in a future release.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class StaticResourceCache implements Serializable {
+
+    /**
+     * Files of at least this size are memory mapped instead of being read to
+     * the heap.
+     */
+    static final int MAPPED_THRESHOLD = 256 * 1024;
+
+    /**
+     * Resources smaller than this are not worth compressing on the fly.
+     */
+    private static final int MIN_COMPRESS_SIZE = 512;
+
+    /**
+     * The encoding identifier of uncompressed content.
+     */
+    public static final String IDENTITY = "identity";
+
+    /**
+     * The encoding identifier of gzip compressed content.
+     */
+    public static final String GZIP = "gzip";
+
+    /**
+     * The encoding identifier of Brotli compressed content.
+     */
+    public static final String BROTLI = "br";
+
+    private final long maxSize;
+
+    // Access ordered for LRU eviction, guarded by this
+    private transient LinkedHashMap<String, CachedResource> resources = createMap();
+    private transient long size;
+
+    // Last modification timestamps by URL of the resources that are too large
+    // to be cached, guarded by this
+    private transient Map<String, Long> tooLarge = new HashMap<>();
+
+    /**
+     * A static resource with its content in different encodings.
+     */
+    public static final class CachedResource {
+        private final URL url;
+        private final long lastModified;
+        private final String etag;
+        private final ByteBuffer content;
+        private final ByteBuffer gzipContent;
+        private final ByteBuffer brotliContent;
+
+        private CachedResource(URL url, long lastModified, ByteBuffer content,
+                ByteBuffer gzipContent, ByteBuffer brotliContent) {
+            this.url = url;
+            this.lastModified = lastModified;
+            this.content = content;
+            this.gzipContent = gzipContent;
+            this.brotliContent = brotliContent;
+            etag = createETag(content);
+        }
+
+        /**
+         * Gets the URL the resource was read from.
+         *
+         * @return the resource URL
+         */
+        public URL getUrl() {
+            return url;
+        }
+
+        /**
+         * Gets the last modification timestamp of the resource, without the
+         * milliseconds.
+         *
+         * @return the last modification timestamp, or -1 if not known
+         */
+        public long getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Checks whether the resource has content in the given encoding.
+         *
+         * @param encoding
+         *            the encoding, one of {@link #IDENTITY}, {@link #GZIP} or
+         *            {@link #BROTLI}
+         * @return {@code true} if content is available in the encoding
+         */
+        public boolean hasEncoding(String encoding) {
+            return getBuffer(encoding) != null;
+        }
+
+        /**
+         * Gets the content of the resource in the given encoding. The returned
+         * buffer may be read freely, it does not share its position with other
+         * callers.
+         *
+         * @param encoding
+         *            the encoding, one of {@link #IDENTITY}, {@link #GZIP} or
+         *            {@link #BROTLI}
+         * @return the content, or {@code null} if there is no content in the
+         *         given encoding
+         */
+        public ByteBuffer getContent(String encoding) {
+            ByteBuffer buffer = getBuffer(encoding);
+            return buffer == null ? null : buffer.duplicate();
+        }
+
+        /**
+         * Gets the strong entity tag of the content in the given encoding.
+         * Each encoding has its own tag, since the content differs.
+         *
+         * @param encoding
+         *            the encoding, one of {@link #IDENTITY}, {@link #GZIP} or
+         *            {@link #BROTLI}
+         * @return the quoted entity tag
+         */
+        public String getETag(String encoding) {
+            if (IDENTITY.equals(encoding)) {
+                return '"' + etag + '"';
+            }
+            return '"' + etag + '-' + encoding + '"';
+        }
+
+        /**
+         * Checks whether an <code>If-None-Match</code> header matches any of
+         * the entity tags of this resource.
+         *
+         * @param ifNoneMatch
+         *            the header value, may be {@code null}
+         * @return {@code true} if the header matches the current content
+         */
+        public boolean matchesETag(String ifNoneMatch) {
+            if (ifNoneMatch == null) {
+                return false;
+            }
+            for (String tag : ifNoneMatch.split(",")) {
+                tag = tag.trim();
+                // If-None-Match uses weak comparison
+                if (tag.startsWith("W/")) {
+                    tag = tag.substring(2);
+                }
+                if ("*".equals(tag) || tag.equals(getETag(IDENTITY))
+                        || tag.equals(getETag(GZIP))
+                        || tag.equals(getETag(BROTLI))) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private ByteBuffer getBuffer(String encoding) {
+            switch (encoding) {
+            case GZIP:
+                return gzipContent;
+            case BROTLI:
+                return brotliContent;
+            default:
+                return content;
+            }
+        }
+
+        private long getSize() {
+            long result = content.capacity();
+            if (gzipContent != null) {
+                result += gzipContent.capacity();
+            }
+            if (brotliContent != null) {
+                result += brotliContent.capacity();
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Creates a new cache.
+     *
+     * @param maxSize
+     *            the maximum total size of the cached content in bytes
+     */
+    public StaticResourceCache(long maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException(
+                    "Maximum cache size must be positive, got " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Gets a cached resource.
+     *
+     * @param path
+     *            the path of the resource
+     * @return the cached resource, or {@code null} if the resource is not in
+     *         the cache
+     */
+    public synchronized CachedResource get(String path) {
+        return resources.get(path);
+    }
+
+    /**
+     * Reads a resource and its encoded variants and adds it to the cache.
+     * <p>
+     * If the resource has no precompressed gzip variant and
+     * {@code compressible} is {@code true}, the content is gzip compressed
+     * when it makes the resource smaller.
+     *
+     * @param path
+     *            the path of the resource
+     * @param url
+     *            the URL to read the resource from, not {@code null}
+     * @param gzipUrl
+     *            the URL to read a precompressed gzip variant from, or
+     *            {@code null} if there is no such variant
+     * @param brotliUrl
+     *            the URL to read a precompressed Brotli variant from, or
+     *            {@code null} if there is no such variant
+     * @param compressible
+     *            whether the content is of a type that benefits from
+     *            compression
+     * @return the cached resource, or {@code null} if the resource is too
+     *         large to be cached
+     * @throws IOException
+     *             if reading the resource fails
+     */
+    public CachedResource load(String path, URL url, URL gzipUrl,
+            URL brotliUrl, boolean compressible) throws IOException {
+        String key = url.toExternalForm();
+        Long tooLargeModified = getTooLarge(key);
+        if (tooLargeModified != null
+                && tooLargeModified.longValue() == getLastModified(url)) {
+            // Known to be too large, not read again until it is modified
+            return null;
+        }
+
+        URLConnection connection = url.openConnection();
+        long length = connection.getContentLengthLong();
+        long lastModified = truncateLastModified(
+                connection.getLastModified());
+        if (length > maxSize) {
+            closeConnection(connection);
+            setTooLarge(key, lastModified);
+            return null;
+        }
+
+        ByteBuffer content = readContent(connection, url, length);
+        ByteBuffer gzipContent = gzipUrl != null ? readContent(gzipUrl) : null;
+        if (gzipContent == null && compressible
+                && content.capacity() >= MIN_COMPRESS_SIZE) {
+            gzipContent = compress(content);
+        }
+        ByteBuffer brotliContent = brotliUrl != null ? readContent(brotliUrl)
+                : null;
+
+        CachedResource resource = new CachedResource(url, lastModified,
+                content, gzipContent, brotliContent);
+        if (put(path, resource)) {
+            return resource;
+        }
+        setTooLarge(key, lastModified);
+        return null;
+    }
+
+    /**
+     * Removes all resources from the cache.
+     */
+    public synchronized void clear() {
+        resources.clear();
+        tooLarge.clear();
+        size = 0;
+    }
+
+    /**
+     * Gets the total size of the cached content.
+     *
+     * @return the size of the cached content in bytes
+     */
+    public synchronized long getSize() {
+        return size;
+    }
+
+    /**
+     * Gets the maximum total size of the cached content.
+     *
+     * @return the maximum size in bytes
+     */
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    private synchronized boolean put(String path, CachedResource resource) {
+        long resourceSize = resource.getSize();
+        if (resourceSize > maxSize) {
+            return false;
+        }
+        CachedResource previous = resources.put(path, resource);
+        if (previous != null) {
+            size -= previous.getSize();
+        }
+        size += resourceSize;
+
+        Iterator<CachedResource> iterator = resources.values().iterator();
+        while (size > maxSize) {
+            CachedResource eldest = iterator.next();
+            if (eldest != resource) {
+                size -= eldest.getSize();
+                iterator.remove();
+            }
+        }
+        return true;
+    }
+
+    private synchronized Long getTooLarge(String key) {
+        return tooLarge.get(key);
+    }
+
+    private synchronized void setTooLarge(String key, long lastModified) {
+        tooLarge.put(key, lastModified);
+    }
+
+    private static long getLastModified(URL url) throws IOException {
+        File file = FileChannelUtil.getFile(url);
+        if (file != null) {
+            // Avoid opening the file like a file URL connection does
+            return truncateLastModified(file.lastModified());
+        }
+        URLConnection connection = url.openConnection();
+        long lastModified = connection.getLastModified();
+        closeConnection(connection);
+        return truncateLastModified(lastModified);
+    }
+
+    private static long truncateLastModified(long lastModified) {
+        lastModified = lastModified - lastModified % 1000;
+        return lastModified <= 0 ? -1 : lastModified;
+    }
+
+    private static ByteBuffer readContent(URL url) throws IOException {
+        URLConnection connection = url.openConnection();
+        return readContent(connection, url, connection.getContentLengthLong());
+    }
+
+    private static ByteBuffer readContent(URLConnection connection, URL url,
+            long length) throws IOException {
+        File file = FileChannelUtil.getFile(url);
+        if (file != null && length >= MAPPED_THRESHOLD) {
+            closeConnection(connection);
+            try (FileChannel channel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.READ)) {
+                // The mapping stays valid after the channel is closed
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                        channel.size());
+            }
+        }
+        try (InputStream stream = connection.getInputStream()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(
+                    length > 0 ? (int) length : 8192);
+            byte[] buffer = new byte[8192];
+            int read;
+            while ((read = stream.read(buffer)) >= 0) {
+                out.write(buffer, 0, read);
+            }
+            return ByteBuffer.wrap(out.toByteArray());
+        }
+    }
+
+    private static void closeConnection(URLConnection connection) {
+        try {
+            // Prevent the connection from hanging on to the resource
+            connection.getInputStream().close();
+        } catch (IOException e) {
+            // Nothing to close
+        }
+    }
+
+    private static ByteBuffer compress(ByteBuffer content) throws IOException {
+        ByteBuffer source = content.duplicate();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(
+                source.remaining() / 2);
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            if (source.hasArray()) {
+                gzip.write(source.array(),
+                        source.arrayOffset() + source.position(),
+                        source.remaining());
+            } else {
+                byte[] buffer = new byte[8192];
+                while (source.hasRemaining()) {
+                    int length = Math.min(buffer.length, source.remaining());
+                    source.get(buffer, 0, length);
+                    gzip.write(buffer, 0, length);
+                }
+            }
+        }
+        // Not worth sending compressed if it saves less than a tenth
+        if (out.size() > content.capacity() * 9L / 10) {
+            return null;
+        }
+        return ByteBuffer.wrap(out.toByteArray());
+    }
+
+    private static String createETag(ByteBuffer content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(content.duplicate());
+            byte[] hash = digest.digest();
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(hash).substring(0, 22);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(
+                    "SHA-256 is not available in this JVM", e);
+        }
+    }
+
+    private static LinkedHashMap<String, CachedResource> createMap() {
+        return new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    private void readObject(ObjectInputStream stream)
+            throws IOException, ClassNotFoundException {
+        stream.defaultReadObject();
+        resources = createMap();
+        tooLarge = new HashMap<>();
+    }
+}
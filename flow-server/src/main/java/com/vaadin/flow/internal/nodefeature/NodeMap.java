@@ -17,9 +17,12 @@
 package com.vaadin.flow.internal.nodefeature;
 
 import java.io.Serializable;
+import java.util.AbstractSet;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
@@ -112,6 +115,125 @@ public abstract class NodeMap extends NodeFeature {
         }
     }
 
+    /**
+     * Values for a handful of keys, stored in arrays and looked up with a
+     * linear scan. Uses considerably less memory than a hash map.
+     */
+    private static class ArrayMapValues implements Values {
+        private static final int MAX_SIZE = 8;
+
+        private String[] keys;
+        private Serializable[] values;
+        private int size;
+
+        public ArrayMapValues(Values previousValues) {
+            int capacity = Math.min(MAX_SIZE,
+                    Math.max(4, previousValues.size() + 1));
+            keys = new String[capacity];
+            values = new Serializable[capacity];
+            previousValues.keySet()
+                    .forEach(key -> set(key, previousValues.get(key)));
+        }
+
+        private int indexOf(String key) {
+            for (int i = 0; i < size; i++) {
+                if (keys[i].equals(key)) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private boolean isFull() {
+            return size == MAX_SIZE;
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Serializable get(String key) {
+            int index = indexOf(key);
+            return index == -1 ? null : values[index];
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return new ArrayMapKeySet(this);
+        }
+
+        @Override
+        public boolean containsKey(String key) {
+            return indexOf(key) != -1;
+        }
+
+        @Override
+        public Stream<Serializable> streamValues() {
+            return Arrays.stream(values, 0, size);
+        }
+
+        @Override
+        public void set(String key, Serializable value) {
+            int index = indexOf(key);
+            if (index != -1) {
+                values[index] = value;
+                return;
+            }
+            assert !isFull();
+            if (size == keys.length) {
+                int capacity = Math.min(MAX_SIZE, size * 2);
+                keys = Arrays.copyOf(keys, capacity);
+                values = Arrays.copyOf(values, capacity);
+            }
+            keys[size] = key;
+            values[size] = value;
+            size++;
+        }
+
+        private Serializable remove(String key) {
+            int index = indexOf(key);
+            if (index == -1) {
+                return null;
+            }
+            Serializable oldValue = values[index];
+            int moved = size - index - 1;
+            System.arraycopy(keys, index + 1, keys, index, moved);
+            System.arraycopy(values, index + 1, values, index, moved);
+            size--;
+            keys[size] = null;
+            values[size] = null;
+            return oldValue;
+        }
+    }
+
+    private static class ArrayMapKeySet extends AbstractSet<String>
+            implements Serializable {
+        private final ArrayMapValues values;
+
+        private ArrayMapKeySet(ArrayMapValues values) {
+            this.values = values;
+        }
+
+        @Override
+        public Iterator<String> iterator() {
+            return Collections.unmodifiableList(
+                    Arrays.asList(values.keys).subList(0, values.size))
+                    .iterator();
+        }
+
+        @Override
+        public int size() {
+            return values.size;
+        }
+
+        @Override
+        public boolean contains(Object key) {
+            return key instanceof String && values.containsKey((String) key);
+        }
+    }
+
     private static class HashMapValues extends HashMap<String, Serializable>
             implements Values {
 
@@ -197,11 +319,15 @@ public abstract class NodeMap extends NodeFeature {
             setUnChanged(key);
         }
 
-        // Optimize memory use when there's only one key
+        // Optimize memory use when there's only one or a few keys
         if (values == null) {
             values = new SingleValue(key, value);
         } else {
             if (values instanceof SingleValue && !values.containsKey(key)) {
+                values = new ArrayMapValues(values);
+            } else if (values instanceof ArrayMapValues
+                    && ((ArrayMapValues) values).isFull()
+                    && !values.containsKey(key)) {
                 values = new HashMapValues(values);
             }
             values.set(key, value);
@@ -348,6 +474,12 @@ public abstract class NodeMap extends NodeFeature {
             if (values.containsKey(key)) {
                 values = null;
             }
+        } else if (values instanceof ArrayMapValues) {
+            oldValue = ((ArrayMapValues) values).remove(key);
+
+            if (values.isEmpty()) {
+                values = null;
+            }
         } else {
             assert values instanceof HashMapValues;
             HashMapValues hashMapValues = (HashMapValues) values;
@@ -521,4 +653,9 @@ public abstract class NodeMap extends NodeFeature {
         return values instanceof SingleValue;
     }
 
+    // Exposed for testing purposes
+    boolean usesArrayMap() {
+        return values instanceof ArrayMapValues;
+    }
+
 }
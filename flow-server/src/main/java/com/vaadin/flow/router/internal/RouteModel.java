@@ -15,12 +15,18 @@
  */
 package com.vaadin.flow.router.internal;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicReference;
 
 import com.vaadin.flow.router.RouteParameterData;
@@ -32,14 +38,40 @@ import com.vaadin.flow.server.InvalidRouteConfigurationException;
  * Define a route template data model which is used to store internally
  * registered routes.
  * <p>
+ * Immutable models cache the results of resolving urls and templates, since
+ * a new model is created whenever the routes change.
+ * <p>
  * For internal use only. May be renamed or removed in a future release.
  */
 class RouteModel implements Serializable {
 
+    // The number of most recently resolved urls that are cached
+    static final int NAVIGATION_CACHE_SIZE = 500;
+
     private boolean mutable;
 
     private RouteSegment root;
 
+    private transient Map<String, NavigationRouteTarget> navigationTargets;
+
+    private transient Map<String, String> urls;
+
+    private transient Map<Set<RouteParameterFormatOption>, Map<String, String>> formattedTemplates;
+
+    private static class NavigationTargetCache
+            extends LinkedHashMap<String, NavigationRouteTarget> {
+
+        private NavigationTargetCache() {
+            super(16, 0.75f, true);
+        }
+
+        @Override
+        protected boolean removeEldestEntry(
+                Map.Entry<String, NavigationRouteTarget> eldest) {
+            return size() > NAVIGATION_CACHE_SIZE;
+        }
+    }
+
     private RouteModel(boolean mutable) {
         this(RouteSegment.createRoot(), mutable);
     }
@@ -47,6 +79,22 @@ class RouteModel implements Serializable {
     private RouteModel(RouteSegment root, boolean mutable) {
         this.root = root;
         this.mutable = mutable;
+        createCaches();
+    }
+
+    private void createCaches() {
+        if (!mutable) {
+            navigationTargets = Collections
+                    .synchronizedMap(new NavigationTargetCache());
+            urls = new ConcurrentHashMap<>();
+            formattedTemplates = new ConcurrentHashMap<>();
+        }
+    }
+
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        createCaches();
     }
 
     /**
@@ -142,7 +190,15 @@ class RouteModel implements Serializable {
      *         <code>url</code> argument according with the route configuration.
      */
     NavigationRouteTarget getNavigationRouteTarget(String url) {
-        return root.getNavigationRouteTarget(url);
+        if (mutable) {
+            return root.getNavigationRouteTarget(url);
+        }
+        NavigationRouteTarget target = navigationTargets.get(url);
+        if (target == null) {
+            target = root.getNavigationRouteTarget(url);
+            navigationTargets.put(url, target);
+        }
+        return target;
     }
 
     /**
@@ -188,6 +244,15 @@ class RouteModel implements Serializable {
      *             not match exactly with the template.
      */
     String getUrl(String template, RouteParameters parameters) {
+        if (!mutable && template != null
+                && parameters.getParameterNames().isEmpty()) {
+            return urls.computeIfAbsent(template,
+                    key -> resolveUrl(key, parameters));
+        }
+        return resolveUrl(template, parameters);
+    }
+
+    private String resolveUrl(String template, RouteParameters parameters) {
         final List<String> result = new ArrayList<>();
 
         root.matchSegmentTemplatesWithParameters(template, parameters,
@@ -223,8 +288,14 @@ class RouteModel implements Serializable {
             return template;
         }
 
-        return root.formatTemplate(template,
-                segment -> RouteFormat.formatSegment(segment, format));
+        if (mutable || template == null) {
+            return root.formatTemplate(template,
+                    segment -> RouteFormat.formatSegment(segment, format));
+        }
+        return getFormattedTemplates(format).computeIfAbsent(template,
+                key -> root.formatTemplate(key,
+                        segment -> RouteFormat.formatSegment(segment,
+                                format)));
     }
 
     /**
@@ -253,6 +324,19 @@ class RouteModel implements Serializable {
         return result;
     }
 
+    private Map<String, String> getFormattedTemplates(
+            Set<RouteParameterFormatOption> format) {
+        Map<String, String> templates = formattedTemplates.get(format);
+        if (templates == null) {
+            templates = formattedTemplates.computeIfAbsent(
+                    format.isEmpty()
+                            ? EnumSet.noneOf(RouteParameterFormatOption.class)
+                            : EnumSet.copyOf(format),
+                    key -> new ConcurrentHashMap<>());
+        }
+        return templates;
+    }
+
     private void throwIfImmutable() {
         if (!mutable) {
             throw new IllegalStateException(
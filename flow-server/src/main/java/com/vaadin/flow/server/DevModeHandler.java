@@ -19,10 +19,12 @@ import javax.servlet.ServletOutputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.UncheckedIOException;
 import java.net.HttpURLConnection;
 import java.net.ServerSocket;
@@ -31,11 +33,15 @@ import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Enumeration;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.regex.Pattern;
@@ -138,6 +144,24 @@ public final class DevModeHandler implements RequestHandler {
 
     private StringBuilder cumulativeOutput = new StringBuilder();
 
+    /**
+     * Payloads of successful GET requests to webpack-dev-server, kept until
+     * webpack reports the end of the next compilation.
+     */
+    private final Map<String, CachedResponse> responseCache = new ConcurrentHashMap<>();
+
+    /**
+     * Incremented whenever a compilation ends, so that a response requested
+     * before that is not added to the cache after it has been cleared.
+     */
+    private final AtomicInteger compilationCount = new AtomicInteger();
+
+    /**
+     * Responses are only cached for a webpack process started by this handler
+     * since the compilation output of a reused server is not available.
+     */
+    private volatile boolean cacheResponses;
+
     private final CompletableFuture<Void> devServerStartFuture;
 
     private final File npmFolder;
@@ -302,6 +326,11 @@ public final class DevModeHandler implements RequestHandler {
      * <p>
      * Method returns {@code false} immediately if dev server failed on its
      * startup.
+     * <p>
+     * Connections to 'webpack-dev-server' are kept alive and reused between
+     * requests. When webpack has been started by this handler, the payloads of
+     * successful GET requests are kept in memory and served without asking
+     * webpack again until the next compilation has ended.
      *
      * @param request
      *            the servlet request
@@ -333,17 +362,31 @@ public final class DevModeHandler implements RequestHandler {
             requestFilename = "/VAADIN/static" + requestFilename;
         }
 
+        boolean cacheable = cacheResponses
+                && "GET".equals(request.getMethod());
+        if (cacheable) {
+            CachedResponse cached = responseCache.get(requestFilename);
+            if (cached != null) {
+                getLogger().debug("Served resource from cache: {}",
+                        requestFilename);
+                cached.writeTo(response);
+                return true;
+            }
+        }
+        int compilation = compilationCount.get();
+
         HttpURLConnection connection = prepareConnection(requestFilename,
                 request.getMethod());
 
-        // Copies all the headers from the original request
+        // Copies all the headers from the original request. The connection
+        // to webpack is managed separately from the one to the browser.
         Enumeration<String> headerNames = request.getHeaderNames();
         while (headerNames.hasMoreElements()) {
             String header = headerNames.nextElement();
-            connection.setRequestProperty(header,
-                    // Exclude keep-alive
-                    "Connect".equals(header) ? "close"
-                            : request.getHeader(header));
+            if (!"Connection".equalsIgnoreCase(header)) {
+                connection.setRequestProperty(header,
+                        request.getHeader(header));
+            }
         }
 
         // Send the request
@@ -353,6 +396,7 @@ public final class DevModeHandler implements RequestHandler {
         if (responseCode == HTTP_NOT_FOUND) {
             getLogger().debug("Resource not served by webpack {}",
                     requestFilename);
+            releaseConnection(connection);
             // webpack cannot access the resource, return false so as flow can
             // handle it
             return false;
@@ -361,21 +405,39 @@ public final class DevModeHandler implements RequestHandler {
                 requestFilename);
 
         // Copies response headers
+        Map<String, String> headers = new LinkedHashMap<>();
         connection.getHeaderFields().forEach((header, values) -> {
             if (header != null) {
+                headers.put(header, values.get(0));
                 response.addHeader(header, values.get(0));
             }
         });
 
         if (responseCode == HTTP_OK) {
             // Copies response payload
-            writeStream(response.getOutputStream(),
-                    connection.getInputStream());
+            ByteArrayOutputStream payload = cacheable
+                    ? new ByteArrayOutputStream()
+                    : null;
+            try (InputStream inputStream = connection.getInputStream()) {
+                writeStream(response.getOutputStream(), inputStream, payload);
+            }
+            if (payload != null && compilation == compilationCount.get()) {
+                CachedResponse cached = new CachedResponse(headers,
+                        payload.toByteArray());
+                responseCache.put(requestFilename, cached);
+                // A compilation that ended after the check above may already
+                // have cleared the cache
+                if (compilation != compilationCount.get()) {
+                    responseCache.remove(requestFilename, cached);
+                }
+            }
         } else if (responseCode < 400) {
             response.setStatus(responseCode);
+            releaseConnection(connection);
         } else {
             // Copies response code
             response.sendError(responseCode);
+            releaseConnection(connection);
         }
 
         // Close request to avoid issues in CI and Chrome
@@ -416,6 +478,18 @@ public final class DevModeHandler implements RequestHandler {
         return connection;
     }
 
+    // Reading the rest of the payload and closing the stream, instead of
+    // disconnecting, returns the socket to the keep-alive pool
+    private void releaseConnection(HttpURLConnection connection) {
+        InputStream errorStream = connection.getErrorStream();
+        try (InputStream stream = errorStream != null ? errorStream
+                : connection.getInputStream()) {
+            writeStream(null, stream, null);
+        } catch (IOException e) {
+            getLogger().debug("Error reading webpack response", e);
+        }
+    }
+
     private synchronized void doNotify() {
         if (!notified) {
             notified = true;
@@ -493,6 +567,10 @@ public final class DevModeHandler implements RequestHandler {
             // reset cumulative buffer for the next compilation
             cumulativeOutput = new StringBuilder();
 
+            // drop the responses of the previous compilation
+            compilationCount.incrementAndGet();
+            responseCache.clear();
+
             // Read webpack asset manifest json
             try {
                 readManifestPaths();
@@ -513,11 +591,16 @@ public final class DevModeHandler implements RequestHandler {
     }
 
     private void writeStream(ServletOutputStream outputStream,
-            InputStream inputStream) throws IOException {
+            InputStream inputStream, OutputStream copy) throws IOException {
         final byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
         int bytes;
         while ((bytes = inputStream.read(buffer)) >= 0) {
-            outputStream.write(buffer, 0, bytes);
+            if (outputStream != null) {
+                outputStream.write(buffer, 0, bytes);
+            }
+            if (copy != null) {
+                copy.write(buffer, 0, bytes);
+            }
         }
     }
 
@@ -709,6 +792,7 @@ public final class DevModeHandler implements RequestHandler {
                     DEFAULT_ERROR_PATTERN));
 
             logStream(webpackProcess.get().getInputStream(), succeed, failure);
+            cacheResponses = true;
 
             getLogger().info(LOG_START);
             synchronized (this) {
@@ -910,4 +994,24 @@ public final class DevModeHandler implements RequestHandler {
                 .toString();
         return new File(System.getProperty("java.io.tmpdir"), uniqueUid);
     }
+
+    /**
+     * Headers and payload of a webpack response served from memory.
+     */
+    private static final class CachedResponse {
+        private final Map<String, String> headers;
+        private final byte[] payload;
+
+        private CachedResponse(Map<String, String> headers, byte[] payload) {
+            this.headers = headers;
+            this.payload = payload;
+        }
+
+        private void writeTo(HttpServletResponse response) throws IOException {
+            headers.forEach(response::addHeader);
+            ServletOutputStream outputStream = response.getOutputStream();
+            outputStream.write(payload, 0, payload.length);
+            outputStream.close();
+        }
+    }
 }
@@ -0,0 +1,407 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * A {@link StreamVariable} that writes the received content directly to a
+ * file and computes a digest of it.
+ * <p>
+ * The file may be uploaded in chunks that are posted as separate requests with
+ * a <code>Content-Range</code> header. Each chunk is written to its own
+ * position in the file, so chunks may arrive in any order and in parallel.
+ * The file is preallocated to its full length as soon as the length is known.
+ * A chunk is only counted as received once all of its bytes have been
+ * written, which means that a chunk that failed, for instance because the
+ * connection was dropped, can simply be posted again to resume the upload.
+ * <p>
+ * The digest is computed while writing for content that arrives in order.
+ * Content that arrives ahead of its turn is read back from the file once the
+ * whole file has been received.
+ * <p>
+ * {@link #uploadComplete()} is called when all content has been received.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class FileStreamVariable implements StreamVariable {
+
+    private static final int DIGEST_BUFFER_SIZE = 64 * 1024;
+
+    private final File file;
+    private final String digestAlgorithm;
+
+    private long totalLength = -1;
+    // start -> end (exclusive) of merged ranges of fully received chunks
+    private final TreeMap<Long, Long> receivedRanges = new TreeMap<>();
+    private long receivedBytes;
+    private byte[] digest;
+    private boolean complete;
+    private boolean completeNotified;
+
+    private transient RandomAccessFile randomAccessFile;
+    private transient FileChannel channel;
+    private transient boolean preallocated;
+    private transient MessageDigest messageDigest;
+    private transient long digestedBytes;
+    private transient Chunk digestOwner;
+    private transient Chunk unboundedChunk;
+    private transient StreamingStartEvent pendingStart;
+
+    /**
+     * Creates a stream variable that writes to the given file and computes a
+     * SHA-256 digest of it.
+     *
+     * @param file
+     *            the file to write to, not <code>null</code>
+     */
+    public FileStreamVariable(File file) {
+        this(file, "SHA-256");
+    }
+
+    /**
+     * Creates a stream variable that writes to the given file and computes a
+     * digest of it using the given algorithm.
+     *
+     * @param file
+     *            the file to write to, not <code>null</code>
+     * @param digestAlgorithm
+     *            the name of the {@link MessageDigest} algorithm to use, not
+     *            <code>null</code>
+     */
+    public FileStreamVariable(File file, String digestAlgorithm) {
+        this.file = Objects.requireNonNull(file, "File cannot be null");
+        this.digestAlgorithm = Objects.requireNonNull(digestAlgorithm,
+                "Digest algorithm cannot be null");
+        // Fail early for an unknown algorithm
+        createMessageDigest();
+    }
+
+    /**
+     * Gets the file that the content is written to.
+     *
+     * @return the target file
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * Gets the length of the whole file.
+     *
+     * @return the length of the file in bytes, or -1 if not yet known
+     */
+    public synchronized long getTotalLength() {
+        return totalLength;
+    }
+
+    /**
+     * Gets the number of bytes in chunks that have been completely received.
+     *
+     * @return the number of received bytes
+     */
+    public synchronized long getReceivedBytes() {
+        return receivedBytes;
+    }
+
+    /**
+     * Checks whether all content of the file has been received.
+     *
+     * @return <code>true</code> if the file is complete, <code>false</code>
+     *         otherwise
+     */
+    public synchronized boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Gets the digest of the file content.
+     *
+     * @return the digest of the file, or <code>null</code> if the file is not
+     *         yet complete
+     */
+    public synchronized byte[] getDigest() {
+        return digest == null ? null : digest.clone();
+    }
+
+    /**
+     * Called with the session locked once all content of the file has been
+     * received, the file has been closed and the digest is available.
+     * <p>
+     * The default implementation does nothing.
+     */
+    protected void uploadComplete() {
+        // NOOP by default
+    }
+
+    @Override
+    public OutputStream getOutputStream() {
+        StreamingStartEvent event = pendingStart;
+        pendingStart = null;
+        try {
+            if (event == null) {
+                return openChunk(0, -1, -1);
+            }
+            return openChunk(event.getPosition(), event.getContentLength(),
+                    event.getTotalLength());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public boolean listenProgress() {
+        return false;
+    }
+
+    @Override
+    public void onProgress(StreamingProgressEvent event) {
+        // NOOP by default
+    }
+
+    @Override
+    public void streamingStarted(StreamingStartEvent event) {
+        pendingStart = event;
+    }
+
+    @Override
+    public void streamingFinished(StreamingEndEvent event) {
+        boolean notify;
+        synchronized (this) {
+            if (unboundedChunk != null) {
+                Chunk chunk = unboundedChunk;
+                unboundedChunk = null;
+                if (!complete) {
+                    totalLength = chunk.start + chunk.written;
+                }
+                try {
+                    chunkDone(chunk, true);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            notify = complete && !completeNotified;
+            completeNotified |= notify;
+        }
+        if (notify) {
+            uploadComplete();
+        }
+    }
+
+    @Override
+    public void streamingFailed(StreamingErrorEvent event) {
+        pendingStart = null;
+        synchronized (this) {
+            if (unboundedChunk != null) {
+                Chunk chunk = unboundedChunk;
+                unboundedChunk = null;
+                try {
+                    chunkDone(chunk, false);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    @Override
+    public boolean isInterrupted() {
+        return false;
+    }
+
+    private synchronized Chunk openChunk(long position, long length,
+            long total) throws IOException {
+        if (complete) {
+            throw new IllegalStateException(
+                    "The file " + file + " has already been received");
+        }
+        if (total >= 0) {
+            if (totalLength >= 0 && totalLength != total) {
+                throw new IllegalStateException("The length of the file "
+                        + file + " changed from " + totalLength + " to "
+                        + total);
+            }
+            totalLength = total;
+        }
+        if (channel == null) {
+            randomAccessFile = new RandomAccessFile(file, "rw");
+            channel = randomAccessFile.getChannel();
+            messageDigest = createMessageDigest();
+        }
+        if (!preallocated && totalLength >= 0) {
+            randomAccessFile.setLength(totalLength);
+            preallocated = true;
+        }
+
+        boolean digesting = digestOwner == null && position == digestedBytes;
+        Chunk chunk = new Chunk(position, length, digesting);
+        if (digesting) {
+            digestOwner = chunk;
+        }
+        if (length < 0) {
+            unboundedChunk = chunk;
+        }
+        return chunk;
+    }
+
+    private synchronized void chunkClosed(Chunk chunk) throws IOException {
+        // A chunk of unknown length is done when the stream has ended
+        if (chunk.expected >= 0) {
+            chunkDone(chunk, chunk.written == chunk.expected);
+        }
+    }
+
+    private void chunkDone(Chunk chunk, boolean whole) throws IOException {
+        if (complete) {
+            // A duplicate of a chunk that completed the file while this one
+            // was open, the file has already been closed
+            return;
+        }
+        if (digestOwner == chunk) {
+            digestOwner = null;
+            if (whole) {
+                digestedBytes = chunk.start + chunk.written;
+            } else {
+                messageDigest.reset();
+                digestedBytes = 0;
+            }
+        }
+        if (whole) {
+            addReceivedRange(chunk.start, chunk.start + chunk.written);
+            if (totalLength >= 0 && receivedBytes >= totalLength) {
+                finish();
+            }
+        }
+    }
+
+    private void addReceivedRange(long start, long end) {
+        Map.Entry<Long, Long> floor = receivedRanges.floorEntry(start);
+        if (floor != null && floor.getValue() >= start) {
+            start = floor.getKey();
+        }
+        Map.Entry<Long, Long> next = receivedRanges.ceilingEntry(start);
+        while (next != null && next.getKey() <= end) {
+            end = Math.max(end, next.getValue());
+            receivedRanges.remove(next.getKey());
+            receivedBytes -= next.getValue() - next.getKey();
+            next = receivedRanges.ceilingEntry(start);
+        }
+        receivedRanges.put(start, end);
+        receivedBytes += end - start;
+    }
+
+    private void finish() throws IOException {
+        if (digestedBytes < totalLength) {
+            ByteBuffer buffer = ByteBuffer.allocate(DIGEST_BUFFER_SIZE);
+            while (digestedBytes < totalLength) {
+                buffer.clear();
+                buffer.limit((int) Math.min(buffer.capacity(),
+                        totalLength - digestedBytes));
+                int read = channel.read(buffer, digestedBytes);
+                if (read < 0) {
+                    throw new EOFException("Unexpected end of file " + file);
+                }
+                buffer.flip();
+                messageDigest.update(buffer);
+                digestedBytes += read;
+            }
+        }
+        channel.truncate(totalLength);
+        randomAccessFile.close();
+        randomAccessFile = null;
+        channel = null;
+        digest = messageDigest.digest();
+        complete = true;
+    }
+
+    private MessageDigest createMessageDigest() {
+        try {
+            return MessageDigest.getInstance(digestAlgorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalArgumentException(
+                    "Unknown digest algorithm " + digestAlgorithm, e);
+        }
+    }
+
+    /**
+     * Writes the content of one request to its position in the file.
+     */
+    private final class Chunk extends OutputStream {
+        private final long start;
+        private final long expected;
+        private final boolean digesting;
+        private final FileChannel target;
+        private final MessageDigest chunkDigest;
+
+        private long written;
+        private boolean closed;
+
+        private Chunk(long start, long expected, boolean digesting) {
+            this.start = start;
+            this.expected = expected;
+            this.digesting = digesting;
+            target = channel;
+            chunkDigest = messageDigest;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int length)
+                throws IOException {
+            if (closed) {
+                throw new IOException("Stream closed");
+            }
+            if (expected >= 0 && written + length > expected) {
+                throw new IOException("Received more than the announced "
+                        + expected + " bytes for position " + start);
+            }
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+            long position = start + written;
+            while (buffer.hasRemaining()) {
+                position += target.write(buffer, position);
+            }
+            if (digesting) {
+                chunkDigest.update(bytes, offset, length);
+            }
+            written += length;
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                chunkClosed(this);
+            }
+        }
+    }
+}
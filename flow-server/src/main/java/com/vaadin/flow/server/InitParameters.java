@@ -71,6 +71,75 @@ public class InitParameters implements Serializable {
      */
     public static final String SERVLET_PARAMETER_BROTLI = "brotli";
 
+    /**
+     * Configuration name for the parameter that determines whether UIDL
+     * responses should be encoded directly into a UTF-8 byte buffer instead of
+     * first being built as a string.
+     */
+    public static final String SERVLET_PARAMETER_STREAMING_UIDL = "uidl.streaming";
+
+    /**
+     * Configuration name for the parameter that determines whether the client
+     * engine should apply the DOM changes of consecutive server messages
+     * together once per animation frame.
+     */
+    public static final String SERVLET_PARAMETER_UIDL_FRAME_BATCHING = "uidl.frameBatching";
+
+    /**
+     * Configuration name for the maximum size in megabytes of the in-memory
+     * cache for static resources served in production mode. The cache is
+     * disabled if the value is zero, which is the default.
+     */
+    public static final String SERVLET_PARAMETER_STATIC_RESOURCE_CACHE_SIZE = "static.resource.cache.size";
+
+    /**
+     * Configuration name for the time in milliseconds to wait for a session
+     * lock before failing with an exception. Threads wait for the lock
+     * indefinitely if the value is zero, which is the default.
+     */
+    public static final String SERVLET_PARAMETER_SESSION_LOCK_TIMEOUT = "session.lock.timeout";
+
+    /**
+     * Configuration name for the parameter that determines whether session
+     * locks are granted to waiting threads in the order they requested them.
+     */
+    public static final String SERVLET_PARAMETER_SESSION_LOCK_FAIR = "session.lock.fair";
+
+    /**
+     * Configuration name for the time in milliseconds that tasks submitted
+     * using {@link VaadinSession#access(com.vaadin.flow.server.Command)} from
+     * threads not holding the session lock are collected before they are run
+     * together. Tasks are run right away if the value is zero, which is the
+     * default.
+     */
+    public static final String SERVLET_PARAMETER_ACCESS_BATCH_WINDOW = "access.batch.window";
+
+    /**
+     * Configuration name for the number of collected access tasks that causes
+     * a batch to be run before its window has passed. There is no limit if the
+     * value is zero, which is the default.
+     */
+    public static final String SERVLET_PARAMETER_ACCESS_BATCH_SIZE = "access.batch.size";
+
+    /**
+     * Configuration name for the parameter that determines whether plain file
+     * uploads are read using non-blocking servlet I/O instead of occupying a
+     * request thread for the duration of the upload.
+     */
+    public static final String SERVLET_PARAMETER_ASYNC_UPLOAD = "upload.async";
+
+    /**
+     * Configuration name for the parameter that determines whether
+     * <code>index.html</code> should be compiled into a template once in
+     * production mode instead of being modified for every request. When the
+     * template is compiled, the {@link AppShellRegistry app shell} settings are
+     * applied only once, using the first request, and the template is only
+     * used as long as no
+     * {@link com.vaadin.flow.server.communication.IndexHtmlRequestListener}
+     * has been registered.
+     */
+    public static final String SERVLET_PARAMETER_COMPILED_INDEX_HTML = "index.html.compiled";
+
     /**
      * Configuration name for the WebPack profile statistics json file to use to
      * determine template contents.
@@ -0,0 +1,303 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * The lock used for locking a {@link VaadinSession}, keeping track of how the
+ * lock is contended.
+ * <p>
+ * The lock records how long threads wait for the lock and how long they hold
+ * it, together with the stack trace of the thread that has held the lock for
+ * the longest time. The statistics are only updated by the thread that holds
+ * the lock, so they can be read from any thread without slowing down locking.
+ * <p>
+ * If a timeout is set, {@link #lock()} gives up with a
+ * {@link SessionLockTimeoutException} instead of waiting indefinitely for the
+ * lock.
+ * <p>
+ * Subclasses can be returned from
+ * {@link VaadinService#createSessionLock(WrappedSession)} to use a different
+ * locking strategy.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+public class SessionLock extends ReentrantLock {
+
+    private final long timeout;
+
+    // Only written by the thread holding the lock
+    private volatile long acquireCount;
+    private volatile long totalWaitTime;
+    private volatile long maxWaitTime;
+    private volatile long totalHoldTime;
+    private volatile long maxHoldTime;
+    private volatile StackTraceElement[] longestHolderStackTrace;
+
+    private transient long acquiredAt;
+
+    /**
+     * Creates a new non-fair session lock without a timeout.
+     */
+    public SessionLock() {
+        this(false, 0);
+    }
+
+    /**
+     * Creates a new session lock.
+     *
+     * @param fair
+     *            <code>true</code> to grant the lock to the longest waiting
+     *            thread, <code>false</code> to allow barging
+     * @param timeoutMillis
+     *            the time in milliseconds to wait for the lock in
+     *            {@link #lock()} before giving up, or <code>0</code> to wait
+     *            indefinitely
+     */
+    public SessionLock(boolean fair, long timeoutMillis) {
+        super(fair);
+        if (timeoutMillis < 0) {
+            throw new IllegalArgumentException(
+                    "Timeout cannot be negative: " + timeoutMillis);
+        }
+        timeout = timeoutMillis;
+    }
+
+    /**
+     * Gets the time {@link #lock()} waits for the lock before giving up.
+     *
+     * @return the timeout in milliseconds, or <code>0</code> if threads wait
+     *         indefinitely
+     */
+    public long getTimeout() {
+        return timeout;
+    }
+
+    /**
+     * Acquires the lock, waiting at most for the {@link #getTimeout() timeout}
+     * if one has been set.
+     *
+     * @throws SessionLockTimeoutException
+     *             if the lock could not be acquired within the timeout
+     */
+    @Override
+    public void lock() {
+        long start = System.nanoTime();
+        if (timeout == 0) {
+            super.lock();
+        } else {
+            acquireWithTimeout(start);
+        }
+        acquired(start);
+    }
+
+    private void acquireWithTimeout(long start) {
+        long deadline = start + TimeUnit.MILLISECONDS.toNanos(timeout);
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    if (super.tryLock(deadline - System.nanoTime(),
+                            TimeUnit.NANOSECONDS)) {
+                        return;
+                    }
+                    throw new SessionLockTimeoutException(
+                            getTimeoutMessage());
+                } catch (InterruptedException e) {
+                    // lock() is not interruptible, keep waiting and restore
+                    // the interrupt status afterwards
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private String getTimeoutMessage() {
+        StringBuilder message = new StringBuilder(
+                "Could not acquire the session lock within ").append(timeout)
+                        .append(" ms. ").append(getQueueLength())
+                        .append(" other threads are waiting for the lock.");
+        Thread owner = getOwner();
+        if (owner != null) {
+            message.append(" The lock is held by ").append(owner.getName())
+                    .append(':');
+            for (StackTraceElement element : owner.getStackTrace()) {
+                message.append("\n\tat ").append(element);
+            }
+        }
+        return message.toString();
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        long start = System.nanoTime();
+        super.lockInterruptibly();
+        acquired(start);
+    }
+
+    @Override
+    public boolean tryLock() {
+        long start = System.nanoTime();
+        if (super.tryLock()) {
+            acquired(start);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit)
+            throws InterruptedException {
+        long start = System.nanoTime();
+        if (super.tryLock(time, unit)) {
+            acquired(start);
+            return true;
+        }
+        return false;
+    }
+
+    @Override
+    public void unlock() {
+        if (getHoldCount() == 1) {
+            released();
+        }
+        super.unlock();
+    }
+
+    private void acquired(long start) {
+        if (getHoldCount() > 1) {
+            // Reentrant locking does not wait and is part of the outer hold
+            return;
+        }
+        long now = System.nanoTime();
+        long waited = now - start;
+        acquiredAt = now;
+        acquireCount++;
+        totalWaitTime += waited;
+        if (waited > maxWaitTime) {
+            maxWaitTime = waited;
+        }
+    }
+
+    private void released() {
+        long held = System.nanoTime() - acquiredAt;
+        totalHoldTime += held;
+        if (held > maxHoldTime) {
+            maxHoldTime = held;
+            longestHolderStackTrace = Thread.currentThread().getStackTrace();
+        }
+    }
+
+    /**
+     * Gets the number of times the lock has been acquired, not counting
+     * reentrant acquisitions.
+     *
+     * @return the number of acquisitions
+     */
+    public long getAcquireCount() {
+        return acquireCount;
+    }
+
+    /**
+     * Gets the total time threads have waited to acquire the lock.
+     *
+     * @return the total wait time
+     */
+    public Duration getTotalWaitTime() {
+        return Duration.ofNanos(totalWaitTime);
+    }
+
+    /**
+     * Gets the longest time a thread has waited to acquire the lock.
+     *
+     * @return the maximum wait time
+     */
+    public Duration getMaxWaitTime() {
+        return Duration.ofNanos(maxWaitTime);
+    }
+
+    /**
+     * Gets the total time the lock has been held.
+     *
+     * @return the total hold time
+     */
+    public Duration getTotalHoldTime() {
+        return Duration.ofNanos(totalHoldTime);
+    }
+
+    /**
+     * Gets the longest time the lock has been held at once.
+     *
+     * @return the maximum hold time
+     */
+    public Duration getMaxHoldTime() {
+        return Duration.ofNanos(maxHoldTime);
+    }
+
+    /**
+     * Gets the stack trace of the thread that has held the lock for the
+     * longest time, captured when that thread released the lock.
+     *
+     * @return the stack trace of the longest holder, or an empty array if the
+     *         lock has not been released yet
+     */
+    public StackTraceElement[] getLongestHolderStackTrace() {
+        StackTraceElement[] stackTrace = longestHolderStackTrace;
+        return stackTrace == null ? new StackTraceElement[0]
+                : stackTrace.clone();
+    }
+
+    /**
+     * Gets the current stack trace of the thread holding the lock.
+     *
+     * @return the stack trace of the current holder, or an empty array if the
+     *         lock is not held
+     */
+    public StackTraceElement[] getHolderStackTrace() {
+        Thread owner = getOwner();
+        return owner == null ? new StackTraceElement[0]
+                : owner.getStackTrace();
+    }
+
+    /**
+     * Resets the collected statistics.
+     */
+    public void clearStatistics() {
+        acquireCount = 0;
+        totalWaitTime = 0;
+        maxWaitTime = 0;
+        totalHoldTime = 0;
+        maxHoldTime = 0;
+        longestHolderStackTrace = null;
+    }
+
+    @Override
+    public String toString() {
+        return super.toString() + "[acquired " + acquireCount
+                + " times, queue length " + getQueueLength() + ", wait total "
+                + getTotalWaitTime() + " max " + getMaxWaitTime()
+                + ", hold total " + getTotalHoldTime() + " max "
+                + getMaxHoldTime() + "]";
+    }
+}
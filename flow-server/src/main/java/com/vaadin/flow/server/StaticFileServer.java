@@ -32,6 +32,8 @@ import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.ResponseWriter;
+import com.vaadin.flow.internal.StaticResourceCache;
+import com.vaadin.flow.internal.StaticResourceCache.CachedResource;
 import com.vaadin.flow.server.frontend.FrontendUtils;
 
 import static com.vaadin.flow.server.Constants.VAADIN_BUILD_FILES_PATH;
@@ -62,6 +64,7 @@ public class StaticFileServer implements StaticFileHandler {
     private final VaadinService vaadinService;
     private DeploymentConfiguration deploymentConfiguration;
     private final List<String> manifestPaths;
+    private final StaticResourceCache resourceCache;
 
     // Matcher to match string starting with '/themes/[theme-name]/'
     protected static final Pattern APP_THEME_PATTERN = Pattern
@@ -78,6 +81,12 @@ public class StaticFileServer implements StaticFileHandler {
         deploymentConfiguration = vaadinService.getDeploymentConfiguration();
         responseWriter = new ResponseWriter(deploymentConfiguration);
         manifestPaths = getManifestPathsFromJson();
+        int cacheSize = deploymentConfiguration.getStaticResourceCacheSize();
+        if (deploymentConfiguration.isProductionMode() && cacheSize > 0) {
+            resourceCache = new StaticResourceCache(cacheSize * 1024L * 1024L);
+        } else {
+            resourceCache = null;
+        }
     }
 
     @Override
@@ -105,6 +114,10 @@ public class StaticFileServer implements StaticFileHandler {
             // resource as well.
             return true;
         }
+        if (resourceCache != null
+                && resourceCache.get(requestFilename) != null) {
+            return true;
+        }
         resource = getStaticResource(requestFilename);
 
         if (resource == null && shouldFixIncorrectWebjarPaths()
@@ -128,6 +141,54 @@ public class StaticFileServer implements StaticFileHandler {
             return true;
         }
 
+        // Cached resources have been looked up already
+        CachedResource cachedResource = resourceCache != null
+                ? resourceCache.get(filenameWithPath)
+                : null;
+        URL resourceUrl = cachedResource != null ? cachedResource.getUrl()
+                : findResourceUrl(filenameWithPath);
+
+        if (resourceUrl == null) {
+            // Not found in webcontent or in META-INF/resources in some JAR
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return true;
+        }
+
+        // There is a resource!
+
+        // Intentionally writing cache headers also for 304 responses
+        writeCacheHeaders(filenameWithPath, response);
+
+        long timestamp;
+        if (cachedResource != null) {
+            timestamp = cachedResource.getLastModified();
+            if (timestamp != -1L) {
+                response.setDateHeader("Last-Modified", timestamp);
+            }
+        } else {
+            timestamp = writeModificationTimestamp(resourceUrl, request,
+                    response);
+        }
+        // If-None-Match takes precedence when entity tags are in use
+        boolean checkETag = resourceCache != null
+                && request.getHeader("If-None-Match") != null;
+        if (!checkETag && browserHasNewestVersion(request, timestamp)) {
+            // Browser is up to date, nothing further to do than set the
+            // response code
+            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+            return true;
+        }
+        if (resourceCache != null) {
+            responseWriter.writeCachedResponseContents(filenameWithPath,
+                    resourceUrl, resourceCache, request, response);
+        } else {
+            responseWriter.writeResponseContents(filenameWithPath, resourceUrl,
+                    request, response);
+        }
+        return true;
+    }
+
+    private URL findResourceUrl(String filenameWithPath) {
         URL resourceUrl = null;
         if (isAllowedVAADINBuildOrStaticUrl(filenameWithPath)
                 || manifestPaths.contains(filenameWithPath)) {
@@ -152,29 +213,7 @@ public class StaticFileServer implements StaticFileHandler {
             resourceUrl = getStaticResource(
                     fixIncorrectWebjarPath(filenameWithPath));
         }
-
-        if (resourceUrl == null) {
-            // Not found in webcontent or in META-INF/resources in some JAR
-            response.sendError(HttpServletResponse.SC_NOT_FOUND);
-            return true;
-        }
-
-        // There is a resource!
-
-        // Intentionally writing cache headers also for 304 responses
-        writeCacheHeaders(filenameWithPath, response);
-
-        long timestamp = writeModificationTimestamp(resourceUrl, request,
-                response);
-        if (browserHasNewestVersion(request, timestamp)) {
-            // Browser is up to date, nothing further to do than set the
-            // response code
-            response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
-            return true;
-        }
-        responseWriter.writeResponseContents(filenameWithPath, resourceUrl,
-                request, response);
-        return true;
+        return resourceUrl;
     }
 
     /**
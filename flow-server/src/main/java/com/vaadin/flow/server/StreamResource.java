@@ -17,13 +17,17 @@ package com.vaadin.flow.server;
 
 import javax.servlet.ServletContext;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
 import java.util.Optional;
 
 import com.vaadin.flow.dom.Element;
 import com.vaadin.flow.function.ContentTypeResolver;
+import com.vaadin.flow.internal.FileChannelUtil;
 
 /**
  * Represents dynamically generated data.
@@ -111,6 +115,25 @@ public class StreamResource extends AbstractStreamResource {
         }
     }
 
+    private static class FileTransfer implements StreamResourceWriter {
+
+        private final File file;
+
+        private FileTransfer(File file) {
+            this.file = file;
+        }
+
+        @Override
+        public void accept(OutputStream stream, VaadinSession session)
+                throws IOException {
+            try (FileChannel channel = FileChannel.open(file.toPath(),
+                    StandardOpenOption.READ)) {
+                FileChannelUtil.transferTo(channel, 0L, Long.MAX_VALUE,
+                        stream);
+            }
+        }
+    }
+
     /**
      * Creates {@link StreamResource} instance using mandatory parameters
      * {@code name} as a resource file name and output stream {@code writer} as
@@ -158,6 +181,45 @@ public class StreamResource extends AbstractStreamResource {
         assert name != null;
     }
 
+    /**
+     * Creates {@link StreamResource} instance using mandatory parameters
+     * {@code name} as a resource file name and {@code file} as the file on
+     * disk to send.
+     * <p>
+     * The content is written directly from the file channel without copying
+     * it through an input stream, and the servlet container may send the file
+     * by itself if it supports that. The session is not locked while the file
+     * is being sent.
+     * <p>
+     * {@code name} parameter value will be used in URI (generated when resource
+     * is registered) in a way that the {@code name} is the last segment of the
+     * path. So this is synthetic file name (not real one).
+     *
+     * @param name
+     *            resource file name. May not be null.
+     * @param file
+     *            the file to send. May not be null.
+     */
+    public StreamResource(String name, File file) {
+        this(name, new FileTransfer(file));
+        assert file != null;
+    }
+
+    /**
+     * Gets the file on disk that this resource sends, if the resource was
+     * created for a file.
+     *
+     * @return the file of this resource, or an empty optional if the content
+     *         is produced by a writer or an input stream factory
+     * @see #StreamResource(String, File)
+     */
+    public Optional<File> getFile() {
+        if (writer instanceof FileTransfer) {
+            return Optional.of(((FileTransfer) writer).file);
+        }
+        return Optional.empty();
+    }
+
     /**
      * Returns the stream resource writer.
      * <p>
@@ -156,6 +156,29 @@ public interface StreamVariable extends Serializable {
          * accept more post.
          */
         void disposeStreamVariable();
+
+        /**
+         * Get the position of the first streamed byte within the whole file.
+         * <p>
+         * The position is non-zero when the file is uploaded in chunks sent as
+         * separate requests with a <code>Content-Range</code> header. In that
+         * case {@link #getContentLength()} is the length of the chunk.
+         *
+         * @return the position of the streamed content in the file
+         */
+        default long getPosition() {
+            return 0;
+        }
+
+        /**
+         * Get the length of the whole file.
+         *
+         * @return the length of the whole file (in bytes) if known, else -1
+         * @see #getPosition()
+         */
+        default long getTotalLength() {
+            return getContentLength();
+        }
     }
 
     /**
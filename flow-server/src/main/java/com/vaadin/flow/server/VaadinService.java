@@ -31,6 +31,7 @@ import java.lang.reflect.Constructor;
 import java.net.URL;
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -44,8 +45,19 @@ import java.util.ServiceLoader;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
@@ -63,6 +75,7 @@ import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.i18n.I18NProvider;
 import com.vaadin.flow.internal.CurrentInstance;
 import com.vaadin.flow.internal.LocaleUtil;
+import com.vaadin.flow.internal.SharedConstantRegistry;
 import com.vaadin.flow.internal.UsageStatistics;
 import com.vaadin.flow.router.RouteData;
 import com.vaadin.flow.router.Router;
@@ -193,6 +206,21 @@ public abstract class VaadinService implements Serializable {
 
     private VaadinContext vaadinContext;
 
+    /*
+     * Upper limit for the threads running batched access tasks, matching the
+     * default request thread pool size of common servlet containers.
+     */
+    private static final int MAX_ACCESS_BATCH_THREADS = 200;
+
+    // Only triggers running the batches, which happens on the purge executor
+    private transient ScheduledExecutorService accessBatchExecutor;
+
+    private transient ExecutorService accessBatchPurgeExecutor;
+
+    private final AccessQueueMetrics accessQueueMetrics = new AccessQueueMetrics();
+
+    private transient SharedConstantRegistry sharedConstantRegistry;
+
     /**
      * Creates a new vaadin service based on a deployment configuration.
      *
@@ -641,6 +669,18 @@ public abstract class VaadinService implements Serializable {
                 listener -> listener.modifyIndexHtmlResponse(response));
     }
 
+    /**
+     * Checks whether any {@link IndexHtmlRequestListener} has been registered
+     * for this service.
+     *
+     * @return <code>true</code> if there are index HTML request listeners,
+     *         <code>false</code> otherwise
+     */
+    public boolean hasIndexHtmlRequestListeners() {
+        return indexHtmlRequestListeners != null
+                && indexHtmlRequestListeners.iterator().hasNext();
+    }
+
     /**
      * Handles destruction of the given session. Internally ensures proper
      * locking is done.
@@ -781,6 +821,26 @@ public abstract class VaadinService implements Serializable {
                         + getLockAttributeName() + " in the session");
     }
 
+    /**
+     * Creates the lock instance used to lock the VaadinSession associated with
+     * the given wrapped session. The lock is created the first time the session
+     * is locked and reused for the lifetime of the session.
+     * <p>
+     * By default, a {@link SessionLock} configured using
+     * {@link DeploymentConfiguration#isSessionLockFair()} and
+     * {@link DeploymentConfiguration#getSessionLockTimeout()} is created.
+     * Override this method to use a different locking strategy.
+     *
+     * @param wrappedSession
+     *            the wrapped session to create a lock for
+     * @return a new lock instance, not <code>null</code>
+     */
+    protected ReentrantLock createSessionLock(WrappedSession wrappedSession) {
+        DeploymentConfiguration configuration = getDeploymentConfiguration();
+        return new SessionLock(configuration.isSessionLockFair(),
+                configuration.getSessionLockTimeout());
+    }
+
     /**
      * Locks the given session for this service instance. Typically you want to
      * call {@link VaadinSession#lock()} instead of this method.
@@ -789,6 +849,9 @@ public abstract class VaadinService implements Serializable {
      *            The session to lock
      * @throws IllegalStateException
      *             if the session is invalidated before it can be locked
+     * @throws SessionLockTimeoutException
+     *             if the lock could not be acquired within the configured
+     *             timeout
      */
     protected void lockSession(WrappedSession wrappedSession) {
         Lock lock = getSessionLock(wrappedSession);
@@ -803,7 +866,7 @@ public abstract class VaadinService implements Serializable {
             synchronized (VaadinService.class) {
                 lock = getSessionLock(wrappedSession);
                 if (lock == null) {
-                    lock = new ReentrantLock();
+                    lock = createSessionLock(wrappedSession);
                     setSessionLock(wrappedSession, lock);
                 }
             }
@@ -845,6 +908,8 @@ public abstract class VaadinService implements Serializable {
 
         try {
             lockSession(wrappedSession);
+        } catch (SessionLockTimeoutException e) {
+            throw e;
         } catch (IllegalStateException e) {
             throw new SessionExpiredException();
         }
@@ -1986,11 +2051,143 @@ public abstract class VaadinService implements Serializable {
         FutureAccess future = new FutureAccess(session, command);
         session.getPendingAccessQueue().add(future);
 
-        ensureAccessQueuePurged(session);
+        if (!scheduleAccessBatch(session)) {
+            ensureAccessQueuePurged(session);
+        }
 
         return future;
     }
 
+    /**
+     * Postpones purging the pending access queue if access tasks are batched,
+     * so that tasks submitted within the batching window are run under the
+     * same lock acquisition and their changes are pushed together.
+     *
+     * @param session
+     *            the session to which a task was added
+     * @return <code>true</code> if the queue will be purged later,
+     *         <code>false</code> if it should be purged right away
+     */
+    private boolean scheduleAccessBatch(VaadinSession session) {
+        DeploymentConfiguration configuration = getDeploymentConfiguration();
+        long window = configuration.getAccessBatchWindow();
+        if (window <= 0 || session.hasLock()) {
+            // The queue is purged when the current thread releases the lock
+            return false;
+        }
+        int maxSize = configuration.getAccessBatchSize();
+        int size = session.getAccessBatchSize().incrementAndGet();
+        if (maxSize > 0 && size >= maxSize) {
+            return false;
+        }
+        AtomicBoolean scheduled = session.getAccessBatchScheduled();
+        if (scheduled.compareAndSet(false, true)) {
+            /*
+             * The first task of a batch schedules purging the queue, later
+             * tasks are run with it. The scheduled purge clears the flag
+             * itself, since the queue may already have been emptied by some
+             * other thread releasing the lock, in which case
+             * runPendingAccessTasks has nothing to run.
+             */
+            try {
+                getAccessBatchExecutor().schedule(
+                        () -> startAccessBatch(session, scheduled), window,
+                        TimeUnit.MILLISECONDS);
+            } catch (RejectedExecutionException e) {
+                // The service has been destroyed
+                scheduled.set(false);
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void startAccessBatch(VaadinSession session,
+            AtomicBoolean scheduled) {
+        // A slow batch of one session must not delay the other sessions
+        try {
+            getAccessBatchPurgeExecutor().execute(() -> {
+                scheduled.set(false);
+                session.getAccessBatchSize().set(0);
+                try {
+                    ensureAccessQueuePurged(session);
+                } catch (RuntimeException e) {
+                    getLogger().error("Error running batched access tasks",
+                            e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // The service has been destroyed
+            scheduled.set(false);
+        }
+    }
+
+    private synchronized ScheduledExecutorService getAccessBatchExecutor() {
+        if (accessBatchExecutor == null) {
+            accessBatchExecutor = Executors.newSingleThreadScheduledExecutor(
+                    createAccessBatchThreadFactory("VaadinAccessBatch-"));
+        }
+        return accessBatchExecutor;
+    }
+
+    /**
+     * Gets the executor that runs the batched access tasks of the sessions
+     * once their batching window has passed.
+     *
+     * @return the executor for running access batches, not <code>null</code>
+     */
+    synchronized Executor getAccessBatchPurgeExecutor() {
+        if (accessBatchPurgeExecutor == null) {
+            /*
+             * Threads are only created while batches of several sessions are
+             * run at the same time. When all threads are busy, the scheduling
+             * thread runs the batch itself.
+             */
+            accessBatchPurgeExecutor = new ThreadPoolExecutor(0,
+                    MAX_ACCESS_BATCH_THREADS, 60L, TimeUnit.SECONDS,
+                    new SynchronousQueue<>(),
+                    createAccessBatchThreadFactory("VaadinAccessBatchPurge-"),
+                    new ThreadPoolExecutor.CallerRunsPolicy());
+        }
+        return accessBatchPurgeExecutor;
+    }
+
+    private static ThreadFactory createAccessBatchThreadFactory(
+            String namePrefix) {
+        AtomicInteger threadNumber = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable,
+                    namePrefix + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Gets the metrics collected when running tasks submitted using
+     * {@link VaadinSession#access(Command)}.
+     *
+     * @return the access queue metrics, not <code>null</code>
+     */
+    public AccessQueueMetrics getAccessQueueMetrics() {
+        return accessQueueMetrics;
+    }
+
+    /**
+     * Gets the registry of constant pool values shared between the UIs of
+     * this service.
+     * <p>
+     * For internal use only. May be renamed or removed in a future release.
+     *
+     * @return the shared constant registry, not <code>null</code>
+     */
+    public synchronized SharedConstantRegistry getSharedConstantRegistry() {
+        if (sharedConstantRegistry == null) {
+            sharedConstantRegistry = new SharedConstantRegistry();
+        }
+        return sharedConstantRegistry;
+    }
+
     /**
      * Makes sure the pending access queue is purged for the provided session.
      * If the session is currently locked by the current thread or some other
@@ -2039,11 +2236,22 @@ public abstract class VaadinService implements Serializable {
     public void runPendingAccessTasks(VaadinSession session) {
         session.checkHasLock();
 
+        DeploymentConfiguration configuration = getDeploymentConfiguration();
+        AtomicInteger accessBatchSize = session.getAccessBatchSize();
+        if (accessBatchSize != null && configuration != null
+                && configuration.getAccessBatchWindow() > 0) {
+            // Tasks added from now on belong to the next batch
+            accessBatchSize.set(0);
+        }
+
         if (session.getPendingAccessQueue().isEmpty()) {
             return;
         }
 
         FutureAccess pendingAccess;
+        int batchSize = 0;
+        long maxLatency = 0;
+        long totalLatency = 0;
 
         // Dump all current instances, not only the ones dumped by setCurrent
         Map<Class<?>, CurrentInstance> oldInstances = CurrentInstance
@@ -2052,6 +2260,11 @@ public abstract class VaadinService implements Serializable {
         try {
             while ((pendingAccess = session.getPendingAccessQueue()
                     .poll()) != null) {
+                long latency = System.nanoTime()
+                        - pendingAccess.getCreationTime();
+                batchSize++;
+                totalLatency += latency;
+                maxLatency = Math.max(maxLatency, latency);
                 if (!pendingAccess.isCancelled()) {
                     pendingAccess.run();
 
@@ -2066,6 +2279,7 @@ public abstract class VaadinService implements Serializable {
         } finally {
             CurrentInstance.clearAll();
             CurrentInstance.restoreInstances(oldInstances);
+            accessQueueMetrics.record(batchSize, totalLatency, maxLatency);
         }
     }
 
@@ -2100,6 +2314,16 @@ public abstract class VaadinService implements Serializable {
         ServiceDestroyEvent event = new ServiceDestroyEvent(this);
         serviceDestroyListeners
                 .forEach(listener -> listener.serviceDestroy(event));
+        synchronized (this) {
+            if (accessBatchExecutor != null) {
+                accessBatchExecutor.shutdownNow();
+                accessBatchExecutor = null;
+            }
+            if (accessBatchPurgeExecutor != null) {
+                accessBatchPurgeExecutor.shutdown();
+                accessBatchPurgeExecutor = null;
+            }
+        }
     }
 
     /**
@@ -2405,4 +2629,110 @@ public abstract class VaadinService implements Serializable {
         return VaadinSession.class.getName() + "."
                 + ApplicationConstants.CSRF_TOKEN;
     }
+
+    /**
+     * Metrics about running the tasks submitted using
+     * {@link VaadinSession#access(Command)}. A batch consists of the tasks run
+     * together by one {@link VaadinService#runPendingAccessTasks(VaadinSession)
+     * invocation}, and the latency of a task is the time from submitting it to
+     * starting to run it.
+     */
+    public static final class AccessQueueMetrics implements Serializable {
+
+        private final AtomicLong batchCount = new AtomicLong();
+        private final AtomicLong taskCount = new AtomicLong();
+        private final AtomicLong maxBatchSize = new AtomicLong();
+        private final AtomicLong totalLatency = new AtomicLong();
+        private final AtomicLong maxLatency = new AtomicLong();
+
+        private AccessQueueMetrics() {
+        }
+
+        private void record(int batchSize, long batchLatency,
+                long batchMaxLatency) {
+            if (batchSize == 0) {
+                return;
+            }
+            batchCount.incrementAndGet();
+            taskCount.addAndGet(batchSize);
+            maxBatchSize.accumulateAndGet(batchSize, Math::max);
+            totalLatency.addAndGet(batchLatency);
+            maxLatency.accumulateAndGet(batchMaxLatency, Math::max);
+        }
+
+        /**
+         * Gets the number of batches run.
+         *
+         * @return the number of batches
+         */
+        public long getBatchCount() {
+            return batchCount.get();
+        }
+
+        /**
+         * Gets the number of tasks run in all batches.
+         *
+         * @return the number of tasks
+         */
+        public long getTaskCount() {
+            return taskCount.get();
+        }
+
+        /**
+         * Gets the number of tasks in the largest batch.
+         *
+         * @return the maximum batch size
+         */
+        public long getMaxBatchSize() {
+            return maxBatchSize.get();
+        }
+
+        /**
+         * Gets the average number of tasks in a batch.
+         *
+         * @return the average batch size, or <code>0</code> if no batches
+         *         have been run
+         */
+        public double getAverageBatchSize() {
+            long batches = batchCount.get();
+            return batches == 0 ? 0 : (double) taskCount.get() / batches;
+        }
+
+        /**
+         * Gets the sum of the latencies of all tasks.
+         *
+         * @return the total latency
+         */
+        public Duration getTotalLatency() {
+            return Duration.ofNanos(totalLatency.get());
+        }
+
+        /**
+         * Gets the longest latency of a task.
+         *
+         * @return the maximum latency
+         */
+        public Duration getMaxLatency() {
+            return Duration.ofNanos(maxLatency.get());
+        }
+
+        /**
+         * Resets all metrics to zero.
+         */
+        public void clear() {
+            batchCount.set(0);
+            taskCount.set(0);
+            maxBatchSize.set(0);
+            totalLatency.set(0);
+            maxLatency.set(0);
+        }
+
+        @Override
+        public String toString() {
+            return "AccessQueueMetrics[batches=" + getBatchCount() + ", tasks="
+                    + getTaskCount() + ", maxBatchSize=" + getMaxBatchSize()
+                    + ", totalLatency=" + getTotalLatency() + ", maxLatency="
+                    + getMaxLatency() + "]";
+        }
+    }
 }
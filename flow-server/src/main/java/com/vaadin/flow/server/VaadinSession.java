@@ -37,6 +37,8 @@ import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
@@ -119,6 +121,18 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
      */
     private transient ConcurrentLinkedQueue<FutureAccess> pendingAccessQueue = new ConcurrentLinkedQueue<>();
 
+    /**
+     * The number of access tasks collected since the pending access queue was
+     * last run, when access tasks are batched.
+     */
+    private transient AtomicInteger accessBatchSize = new AtomicInteger();
+
+    /**
+     * Whether purging the pending access queue has been scheduled for the
+     * current batch, when access tasks are batched.
+     */
+    private transient AtomicBoolean accessBatchScheduled = new AtomicBoolean();
+
     /*
      * Despite section 6 of RFC 4122, this particular use of UUID *is* adequate
      * for security capabilities. Type 4 UUIDs contain 122 bits of random data,
@@ -980,6 +994,26 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         return pendingAccessQueue;
     }
 
+    /**
+     * Gets the number of access tasks collected since the pending access queue
+     * was last run, when access tasks are batched.
+     *
+     * @return the access batch size counter
+     */
+    AtomicInteger getAccessBatchSize() {
+        return accessBatchSize;
+    }
+
+    /**
+     * Gets the flag telling whether purging the pending access queue has been
+     * scheduled for the current batch, when access tasks are batched.
+     *
+     * @return the access batch scheduled flag
+     */
+    AtomicBoolean getAccessBatchScheduled() {
+        return accessBatchScheduled;
+    }
+
     /**
      * Gets the push connection identifier for this session. Used when
      * establishing a push connection with the client.
@@ -993,7 +1027,8 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
 
     /**
      * Override default deserialization logic to account for transient
-     * {@link #pendingAccessQueue}.
+     * {@link #pendingAccessQueue}, {@link #accessBatchSize} and
+     * {@link #accessBatchScheduled}.
      *
      * @param stream
      *            the object to read
@@ -1008,6 +1043,8 @@ public class VaadinSession implements HttpSessionBindingListener, Serializable {
         try {
             stream.defaultReadObject();
             pendingAccessQueue = new ConcurrentLinkedQueue<>();
+            accessBatchSize = new AtomicInteger();
+            accessBatchScheduled = new AtomicBoolean();
         } finally {
             CurrentInstance.restoreInstances(old);
         }
@@ -17,8 +17,11 @@ package com.vaadin.flow.server.communication;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
 
 import org.jsoup.Jsoup;
 import org.jsoup.nodes.DataNode;
@@ -65,11 +68,16 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
         DeploymentConfiguration config = session.getConfiguration();
         IndexHtmlResponse indexHtmlResponse;
 
+        if (config.isProductionMode() && config.isIndexHtmlCompiled()
+                && !request.getService().hasIndexHtmlRequestListeners()) {
+            return writeCompiledIndexHtml(session, request, response);
+        }
+
         Document indexDocument = config.isProductionMode()
                 ? getCachedIndexHtmlDocument(request.getService())
                 : getIndexHtmlDocument(request.getService());
 
-        prependBaseHref(request, indexDocument);
+        prependBaseHref(indexDocument, getServiceUrl(request));
 
         JsonObject initialJson = Json.createObject();
 
@@ -128,16 +136,54 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
         return true;
     }
 
+    private boolean writeCompiledIndexHtml(VaadinSession session,
+            VaadinRequest request, VaadinResponse response) {
+        CompiledIndexHtml compiledIndexHtml = getCompiledIndexHtml(request);
+
+        JsonObject initialJson = Json.createObject();
+        if (request.getService().getBootstrapInitialPredicate()
+                .includeInitialUidl(request)) {
+            includeInitialUidl(initialJson, session, request, response);
+
+            // App might be using classic server-routing, which is true
+            // unless we detect a call to JavaScriptBootstrapUI.connectClient
+            session.setAttribute(SERVER_ROUTING, Boolean.TRUE);
+        }
+        addCsrfToken(initialJson, session, request);
+
+        response.setContentType(CONTENT_TYPE_TEXT_HTML_UTF_8);
+
+        String appShellTitle = compiledIndexHtml.getAppShellTitle();
+        if (UI.getCurrent() != null && appShellTitle != null) {
+            UI.getCurrent().getInternals().setAppShellTitle(appShellTitle);
+        }
+        try {
+            compiledIndexHtml.write(response.getOutputStream(),
+                    getServiceUrl(request), JsonUtil.stringify(initialJson));
+        } catch (IOException e) {
+            getLogger().error("Error writing 'index.html' to response", e);
+            return false;
+        }
+        return true;
+    }
+
     private void storeAppShellTitleToUI(Document indexDocument) {
         if (UI.getCurrent() != null) {
-            Element elm = indexDocument.head().selectFirst("title");
-            if (elm != null) {
-                String appShellTitle = elm.text().isEmpty() ? elm.data() : elm.text();
+            String appShellTitle = getAppShellTitle(indexDocument);
+            if (appShellTitle != null) {
                 UI.getCurrent().getInternals().setAppShellTitle(appShellTitle);
             }
         }
     }
 
+    private static String getAppShellTitle(Document indexDocument) {
+        Element elm = indexDocument.head().selectFirst("title");
+        if (elm == null) {
+            return null;
+        }
+        return elm.text().isEmpty() ? elm.data() : elm.text();
+    }
+
     private void addDevmodeGizmo(Document indexDocument, VaadinSession session,
             VaadinRequest request) {
         VaadinService service = session.getService();
@@ -163,6 +209,12 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
 
     private void addInitialFlow(JsonObject initialJson, Document indexDocument,
                                 VaadinSession session, VaadinRequest request) {
+        addCsrfToken(initialJson, session, request);
+        addInitialScript(indexDocument, JsonUtil.stringify(initialJson));
+    }
+
+    private static void addCsrfToken(JsonObject initialJson,
+            VaadinSession session, VaadinRequest request) {
         // Do not add the CSRF token if the request comes from the service
         // worker, to not have the token cached locally (#9537)
         String referer = request.getHeader("referer");
@@ -172,11 +224,14 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
                 initialJson.put(CSRF_TOKEN, csrfToken);
             }
         }
+    }
 
+    private static void addInitialScript(Document indexDocument,
+            String initialJson) {
         Element elm = new Element("script");
         elm.attr("initial", "");
         elm.appendChild(new DataNode(
-                "window.Vaadin = {TypeScript: " + JsonUtil.stringify(initialJson) + "};"
+                "window.Vaadin = {TypeScript: " + initialJson + "};"
         ));
         indexDocument.head().insertChildren(0, elm);
     }
@@ -202,16 +257,15 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
         }
     }
 
-    private void configureErrorDialogStyles(Document document) {
+    private static void configureErrorDialogStyles(Document document) {
         Element styles = document.createElement("style");
         document.head().appendChild(styles);
         setupErrorDialogs(styles);
     }
 
-    private static void prependBaseHref(VaadinRequest request,
-            Document indexDocument) {
+    private static void prependBaseHref(Document indexDocument,
+            String baseHref) {
         Elements base = indexDocument.head().getElementsByTag("base");
-        String baseHref = getServiceUrl(request);
         if (base.isEmpty()) {
             indexDocument.head().prependElement("base").attr("href", baseHref);
         } else {
@@ -225,6 +279,14 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
                 .getDocument();
     }
 
+    private static CompiledIndexHtml getCompiledIndexHtml(
+            VaadinRequest request) {
+        VaadinService service = request.getService();
+        return service.getContext().getAttribute(CompiledIndexHtml.class,
+                () -> new CompiledIndexHtml(
+                        getCachedIndexHtmlDocument(service), request));
+    }
+
     private static Document getIndexHtmlDocument(VaadinService service)
             throws IOException {
         String index = FrontendUtils.getIndexHtmlContent(service);
@@ -273,6 +335,97 @@ public class IndexHtmlRequestHandler extends JavaScriptBootstrapHandler {
         }
     }
 
+    // Holds index.html compiled into pre-encoded static parts with slots for
+    // the base href and the initial JSON, which are the only parts that
+    // differ between requests unless index HTML request listeners are used.
+    //
+    // This holder is supposed to be stored as a VaadinContext attribute
+    private static final class CompiledIndexHtml implements Serializable {
+        private static final String BASE_HREF_SLOT = "vaadin-base-href-slot";
+        private static final String INITIAL_JSON_SLOT = "vaadin-initial-json-slot";
+
+        private final byte[][] parts;
+        private final boolean[] baseHrefSlots;
+        private final String appShellTitle;
+
+        private CompiledIndexHtml(Document indexDocument,
+                VaadinRequest request) {
+            VaadinService service = request.getService();
+            prependBaseHref(indexDocument, BASE_HREF_SLOT);
+            addInitialScript(indexDocument, INITIAL_JSON_SLOT);
+            configureErrorDialogStyles(indexDocument);
+            setupPwa(indexDocument, service);
+            AppShellRegistry.getInstance(service.getContext())
+                    .modifyIndexHtml(indexDocument, request);
+            appShellTitle = IndexHtmlRequestHandler
+                    .getAppShellTitle(indexDocument);
+
+            String html = indexDocument.html();
+            List<byte[]> staticParts = new ArrayList<>();
+            List<Boolean> slots = new ArrayList<>();
+            int start = 0;
+            while (true) {
+                int baseHref = html.indexOf(BASE_HREF_SLOT, start);
+                int initialJson = html.indexOf(INITIAL_JSON_SLOT, start);
+                if (baseHref < 0 && initialJson < 0) {
+                    break;
+                }
+                boolean isBaseHref = initialJson < 0
+                        || (baseHref >= 0 && baseHref < initialJson);
+                int slot = isBaseHref ? baseHref : initialJson;
+                staticParts.add(html.substring(start, slot).getBytes(UTF_8));
+                slots.add(isBaseHref);
+                start = slot + (isBaseHref ? BASE_HREF_SLOT
+                        : INITIAL_JSON_SLOT).length();
+            }
+            staticParts.add(html.substring(start).getBytes(UTF_8));
+
+            parts = staticParts.toArray(new byte[0][]);
+            baseHrefSlots = new boolean[slots.size()];
+            for (int i = 0; i < baseHrefSlots.length; i++) {
+                baseHrefSlots[i] = slots.get(i);
+            }
+        }
+
+        private String getAppShellTitle() {
+            return appShellTitle;
+        }
+
+        private void write(OutputStream outputStream, String baseHref,
+                String initialJson) throws IOException {
+            byte[] baseHrefBytes = escapeAttribute(baseHref).getBytes(UTF_8);
+            byte[] initialJsonBytes = initialJson.getBytes(UTF_8);
+            for (int i = 0; i < baseHrefSlots.length; i++) {
+                outputStream.write(parts[i]);
+                outputStream.write(
+                        baseHrefSlots[i] ? baseHrefBytes : initialJsonBytes);
+            }
+            outputStream.write(parts[parts.length - 1]);
+        }
+
+        // Escapes the value the same way as Jsoup escapes attribute values
+        private static String escapeAttribute(String value) {
+            StringBuilder builder = new StringBuilder(value.length());
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                case '&':
+                    builder.append("&amp;");
+                    break;
+                case '"':
+                    builder.append("&quot;");
+                    break;
+                case '\u00A0':
+                    builder.append("&nbsp;");
+                    break;
+                default:
+                    builder.append(c);
+                }
+            }
+            return builder.toString();
+        }
+    }
+
     private static Logger getLogger() {
         return LoggerFactory.getLogger(IndexHtmlRequestHandler.class);
     }
@@ -24,6 +24,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -374,23 +375,39 @@ public class ServerRpcHandler implements Serializable {
         RpcInvocationHandler mapSyncHandler = getInvocationHandlers()
                 .get(JsonConstants.RPC_TYPE_MAP_SYNC);
 
+        // Only the latest value of each synced property is relevant. It is
+        // handled in the position of the latest sync, so that change events
+        // fire in the order the client sent the final values.
+        Map<String, JsonObject> mapSyncs = new LinkedHashMap<>();
         for (int i = 0; i < invocationsData.length(); i++) {
             JsonObject invocationJson = invocationsData.getObject(i);
             String type = invocationJson.getString(JsonConstants.RPC_TYPE);
             assert type != null;
             if (JsonConstants.RPC_TYPE_MAP_SYNC.equals(type)) {
-                // Handle these before any RPC invocations.
-                mapSyncHandler.handle(ui, invocationJson)
-                        .ifPresent(pendingChangeEvents::add);
+                String key = getMapSyncKey(invocationJson);
+                mapSyncs.remove(key);
+                mapSyncs.put(key, invocationJson);
             } else {
                 data.add(invocationJson);
             }
         }
 
+        // Handle these before any RPC invocations.
+        for (JsonObject mapSync : mapSyncs.values()) {
+            mapSyncHandler.handle(ui, mapSync)
+                    .ifPresent(pendingChangeEvents::add);
+        }
+
         pendingChangeEvents.forEach(runnable -> runMapSyncTask(ui, runnable));
         data.forEach(json -> handleInvocationData(ui, json));
     }
 
+    private static String getMapSyncKey(JsonObject invocationJson) {
+        return (int) invocationJson.getNumber(JsonConstants.RPC_NODE) + ":"
+                + (int) invocationJson.getNumber(JsonConstants.RPC_FEATURE)
+                + ":" + invocationJson.getString(JsonConstants.RPC_PROPERTY);
+    }
+
     private void runMapSyncTask(UI ui, Runnable runnable) {
         try {
             runnable.run();
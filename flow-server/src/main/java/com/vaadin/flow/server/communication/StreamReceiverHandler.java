@@ -15,6 +15,9 @@
  */
 package com.vaadin.flow.server.communication;
 
+import javax.servlet.AsyncContext;
+import javax.servlet.ReadListener;
+import javax.servlet.ServletInputStream;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
 import javax.servlet.http.Part;
@@ -29,6 +32,9 @@ import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 import org.apache.commons.fileupload.FileItemIterator;
 import org.apache.commons.fileupload.FileItemStream;
@@ -38,8 +44,10 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
+import com.vaadin.flow.component.UIDetachedException;
 import com.vaadin.flow.internal.Pair;
 import com.vaadin.flow.internal.StateNode;
+import com.vaadin.flow.server.Command;
 import com.vaadin.flow.server.ErrorEvent;
 import com.vaadin.flow.server.NoInputStreamException;
 import com.vaadin.flow.server.NoOutputStreamException;
@@ -66,7 +74,12 @@ import static java.nio.charset.StandardCharsets.UTF_8;
  */
 public class StreamReceiverHandler implements Serializable {
 
-    private static final int MAX_UPLOAD_BUFFER_SIZE = 4 * 1024;
+    private static final int MAX_UPLOAD_BUFFER_SIZE = 32 * 1024;
+
+    private static final String CONTENT_RANGE_HEADER = "Content-Range";
+
+    private static final Pattern CONTENT_RANGE = Pattern
+            .compile("bytes (\\d+)-(\\d+)/(\\d+|\\*)");
 
     /* Minimum interval which will be used for streaming progress events. */
     public static final int DEFAULT_STREAMING_PROGRESS_EVENT_INTERVAL_MS = 500;
@@ -117,6 +130,7 @@ public class StreamReceiverHandler implements Serializable {
             VaadinResponse response, StreamReceiver streamReceiver, String uiId,
             String securityKey) throws IOException {
         StateNode source;
+        UI ui;
 
         session.lock();
         try {
@@ -129,7 +143,7 @@ public class StreamReceiverHandler implements Serializable {
                 return;
             }
 
-            UI ui = session.getUIById(Integer.parseInt(uiId));
+            ui = session.getUIById(Integer.parseInt(uiId));
             UI.setCurrent(ui);
 
             source = streamReceiver.getNode();
@@ -142,6 +156,10 @@ public class StreamReceiverHandler implements Serializable {
             if (isMultipartUpload(request)) {
                 doHandleMultipartFileUpload(session, request, response,
                         streamReceiver, source);
+            } else if (isAsyncUpload(session, request)) {
+                doHandleXhrFilePostAsync(session, (HttpServletRequest) request,
+                        response, streamReceiver, source, ui,
+                        getContentLength(request));
             } else {
                 // if boundary string does not exist, the posted file is from
                 // XHR2.post(File)
@@ -288,6 +306,11 @@ public class StreamReceiverHandler implements Serializable {
     /**
      * Used to stream plain file post (aka XHR2.post(File))
      * <p>
+     * A file may be posted in chunks using separate requests that each have a
+     * <code>Content-Range</code> header. The range is passed to the stream
+     * variable through {@link StreamVariable.StreamingStartEvent#getPosition()}
+     * and {@link StreamVariable.StreamingStartEvent#getTotalLength()}.
+     * <p>
      * This method takes care of locking the session as needed and does not
      * assume the caller has locked the session. This allows the session to be
      * locked only when needed and not when handling the upload data.
@@ -322,14 +345,121 @@ public class StreamReceiverHandler implements Serializable {
 
         boolean success = false;
         try {
-            success = handleFileUploadValidationAndData(session, stream,
-                    streamReceiver, filename, mimeType, contentLength, owner);
+            String range = request.getHeader(CONTENT_RANGE_HEADER);
+            if (range == null) {
+                success = handleFileUploadValidationAndData(session, stream,
+                        streamReceiver, filename, mimeType, contentLength,
+                        owner);
+            } else {
+                success = handleFileUploadValidationAndData(session, stream,
+                        streamReceiver, createStartEvent(range, filename,
+                                mimeType, contentLength),
+                        owner);
+            }
         } catch (UploadException e) {
             session.getErrorHandler().error(new ErrorEvent(e));
         }
         sendUploadResponse(response, success);
     }
 
+    /**
+     * Used to stream plain file post (aka XHR2.post(File)) using non-blocking
+     * servlet I/O.
+     * <p>
+     * The stream variable is validated and notified about the start of the
+     * upload before this method returns. The content is read in container
+     * threads as it becomes available, and the progress, finished and failed
+     * events are delivered through {@link UI#access(Command)} so that neither
+     * a request thread nor the session lock is held while waiting for data.
+     * Progress events that are not yet delivered are merged into one event.
+     * The upload response is sent once all data has been read, without
+     * waiting for the finished or failed event to be delivered.
+     *
+     * @param session
+     *            The session containing the stream variable
+     * @param request
+     *            The upload request, must support asynchronous processing
+     * @param response
+     *            The upload response
+     * @param streamReceiver
+     *            the receiver containing the destination stream variable
+     * @param owner
+     *            The owner of the stream
+     * @param ui
+     *            the UI to deliver the streaming events through, or
+     *            <code>null</code> to use the session
+     * @param contentLength
+     *            The length of the request content
+     * @throws IOException
+     *             If there is a problem reading the request or writing the
+     *             response
+     */
+    protected void doHandleXhrFilePostAsync(VaadinSession session,
+            HttpServletRequest request, VaadinResponse response,
+            StreamReceiver streamReceiver, StateNode owner, UI ui,
+            long contentLength) throws IOException {
+        // These are unknown in filexhr ATM, see doHandleXhrFilePost
+        final String filename = "unknown";
+        final String mimeType = filename;
+
+        AsyncUpload upload = new AsyncUpload(session, ui, response,
+                streamReceiver);
+        boolean started = false;
+        session.lock();
+        try {
+            validateNode(owner);
+            upload.start(createStartEvent(
+                    request.getHeader(CONTENT_RANGE_HEADER), filename,
+                    mimeType, contentLength));
+            started = true;
+        } catch (Exception e) {
+            session.getErrorHandler().error(new ErrorEvent(e));
+        } finally {
+            session.unlock();
+        }
+        if (!started) {
+            sendUploadResponse(response, false);
+            return;
+        }
+
+        AsyncContext asyncContext = request.startAsync();
+        // The upload may take as long as the client keeps sending data, in
+        // the same way as with a blocking read
+        asyncContext.setTimeout(0);
+        upload.asyncContext = asyncContext;
+        upload.input = request.getInputStream();
+        upload.input.setReadListener(upload);
+    }
+
+    /**
+     * Checks whether the given request should be read with non-blocking I/O.
+     *
+     * @param session
+     *            the session the request belongs to
+     * @param request
+     *            the upload request
+     * @return <code>true</code> if the upload should be read asynchronously,
+     *         <code>false</code> otherwise
+     * @see com.vaadin.flow.function.DeploymentConfiguration#isAsyncUpload()
+     */
+    protected boolean isAsyncUpload(VaadinSession session,
+            VaadinRequest request) {
+        return request instanceof HttpServletRequest
+                && ((HttpServletRequest) request).isAsyncSupported()
+                && session.getConfiguration().isAsyncUpload();
+    }
+
+    private static void validateNode(StateNode node) throws UploadException {
+        if (node == null) {
+            throw new UploadException(
+                    "File upload ignored because the node for the stream variable was not found");
+        }
+        if (!node.isAttached()) {
+            throw new UploadException("Warning: file upload ignored for "
+                    + node.getId() + " because the component was disabled");
+        }
+    }
+
     /**
      * Validate that stream target is in a valid state for receiving data
      * and send stream to receiver. Handles cleanup and error in reading stream
@@ -356,16 +486,19 @@ public class StreamReceiverHandler implements Serializable {
             InputStream inputStream, StreamReceiver streamReceiver,
             String filename, String mimeType, long contentLength,
             StateNode node) throws UploadException {
+        return handleFileUploadValidationAndData(session, inputStream,
+                streamReceiver,
+                new StreamingStartEventImpl(filename, mimeType, contentLength),
+                node);
+    }
+
+    private boolean handleFileUploadValidationAndData(VaadinSession session,
+            InputStream inputStream, StreamReceiver streamReceiver,
+            StreamingStartEventImpl startedEvent, StateNode node)
+            throws UploadException {
         session.lock();
         try {
-            if (node == null) {
-                throw new UploadException(
-                        "File upload ignored because the node for the stream variable was not found");
-            }
-            if (!node.isAttached()) {
-                throw new UploadException("Warning: file upload ignored for "
-                        + node.getId() + " because the component was disabled");
-            }
+            validateNode(node);
         } finally {
             session.unlock();
         }
@@ -373,8 +506,7 @@ public class StreamReceiverHandler implements Serializable {
             // Store ui reference so we can do cleanup even if node is
             // detached in some event handler
             Pair<Boolean, UploadStatus> result = streamToReceiver(session,
-                    inputStream, streamReceiver, filename, mimeType,
-                    contentLength);
+                    inputStream, streamReceiver, startedEvent);
             if (result.getFirst()) {
                 cleanStreamVariable(session, streamReceiver);
             }
@@ -454,18 +586,19 @@ public class StreamReceiverHandler implements Serializable {
 
     private final Pair<Boolean, UploadStatus> streamToReceiver(
             VaadinSession session, final InputStream in,
-            StreamReceiver streamReceiver, String filename, String type,
-            long contentLength) throws UploadException {
+            StreamReceiver streamReceiver, StreamingStartEventImpl startedEvent)
+            throws UploadException {
         StreamVariable streamVariable = streamReceiver.getStreamVariable();
         if (streamVariable == null) {
             throw new IllegalStateException(
                     "StreamVariable for the post not found");
         }
 
+        String filename = startedEvent.getFileName();
+        String type = startedEvent.getMimeType();
+        long contentLength = startedEvent.getContentLength();
         OutputStream out = null;
         long totalBytes = 0;
-        StreamingStartEventImpl startedEvent = new StreamingStartEventImpl(
-                filename, type, contentLength);
         boolean success = false;
         try {
             boolean listenProgress;
@@ -572,6 +705,255 @@ public class StreamReceiverHandler implements Serializable {
         return lastStreamingEvent;
     }
 
+    /**
+     * Reads an upload with non-blocking I/O and delivers the streaming events
+     * through {@link UI#access(Command)}. The container invokes the listener
+     * methods one at a time, so the read state needs no synchronization.
+     */
+    private class AsyncUpload implements ReadListener {
+        private final VaadinSession session;
+        private final UI ui;
+        private final VaadinResponse response;
+        private final StreamReceiver streamReceiver;
+
+        private final byte[] buffer = new byte[MAX_UPLOAD_BUFFER_SIZE];
+        private final AtomicBoolean done = new AtomicBoolean();
+        private final AtomicBoolean progressPending = new AtomicBoolean();
+
+        private AsyncContext asyncContext;
+        private ServletInputStream input;
+        private StreamVariable streamVariable;
+        private StreamingStartEventImpl startedEvent;
+        private String filename;
+        private String mimeType;
+        private long contentLength;
+        private OutputStream out;
+        private boolean listenProgress;
+        private long lastProgressEvent;
+        private volatile long totalBytes;
+
+        private AsyncUpload(VaadinSession session, UI ui,
+                VaadinResponse response, StreamReceiver streamReceiver) {
+            this.session = session;
+            this.ui = ui;
+            this.response = response;
+            this.streamReceiver = streamReceiver;
+        }
+
+        /*
+         * Must be called with the session locked.
+         */
+        private void start(StreamingStartEventImpl event)
+                throws UploadException {
+            streamVariable = streamReceiver.getStreamVariable();
+            if (streamVariable == null) {
+                throw new IllegalStateException(
+                        "StreamVariable for the post not found");
+            }
+            startedEvent = event;
+            filename = event.getFileName();
+            mimeType = event.getMimeType();
+            contentLength = event.getContentLength();
+            try {
+                streamVariable.streamingStarted(startedEvent);
+                out = streamVariable.getOutputStream();
+                listenProgress = streamVariable.listenProgress();
+                if (out == null) {
+                    throw new NoOutputStreamException();
+                }
+            } catch (Exception e) {
+                tryToCloseStream(out);
+                streamVariable.streamingFailed(new StreamingErrorEventImpl(
+                        filename, mimeType, contentLength, 0, e));
+                if (startedEvent.isDisposed()) {
+                    session.getResourceRegistry()
+                            .unregisterResource(streamReceiver);
+                }
+                throw new UploadException(e);
+            }
+        }
+
+        @Override
+        public void onDataAvailable() {
+            if (done.get()) {
+                return;
+            }
+            try {
+                int bytesReadToBuffer;
+                while (input.isReady()
+                        && (bytesReadToBuffer = input.read(buffer)) != -1) {
+                    if (bytesReadToBuffer > 0) {
+                        out.write(buffer, 0, bytesReadToBuffer);
+                        totalBytes += bytesReadToBuffer;
+                    }
+                    if (listenProgress) {
+                        updateProgress();
+                    }
+                    if (streamVariable.isInterrupted()) {
+                        throw new UploadInterruptedException();
+                    }
+                }
+            } catch (UploadInterruptedException e) {
+                // Not a terminal level error, see streamToReceiver
+                fail(e, false);
+            } catch (Exception e) {
+                fail(e, true);
+            }
+        }
+
+        @Override
+        public void onAllDataRead() {
+            if (done.get()) {
+                return;
+            }
+            try {
+                out.close();
+            } catch (Exception e) {
+                fail(e, true);
+                return;
+            }
+            if (done.getAndSet(true)) {
+                return;
+            }
+            StreamVariable.StreamingEndEvent event = new StreamingEndEventImpl(
+                    filename, mimeType, totalBytes);
+            try {
+                deliver(() -> {
+                    if (listenProgress) {
+                        streamVariable.onProgress(
+                                new StreamingProgressEventImpl(filename,
+                                        mimeType, contentLength, totalBytes));
+                    }
+                    streamVariable.streamingFinished(event);
+                });
+            } finally {
+                complete(true);
+            }
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+            fail(throwable instanceof Exception ? (Exception) throwable
+                    : new UploadException(throwable.toString()), true);
+        }
+
+        private void updateProgress() {
+            long now = System.currentTimeMillis();
+            // An event that is still waiting for the lock will report the
+            // bytes read until it runs, so there is no need for another one
+            if (lastProgressEvent + getProgressEventInterval() <= now
+                    && progressPending.compareAndSet(false, true)) {
+                lastProgressEvent = now;
+                access(() -> {
+                    progressPending.set(false);
+                    if (!done.get()) {
+                        streamVariable.onProgress(
+                                new StreamingProgressEventImpl(filename,
+                                        mimeType, contentLength, totalBytes));
+                    }
+                });
+            }
+        }
+
+        private void fail(Exception exception, boolean terminal) {
+            if (done.getAndSet(true)) {
+                return;
+            }
+            tryToCloseStream(out);
+            StreamVariable.StreamingErrorEvent event = new StreamingErrorEventImpl(
+                    filename, mimeType, contentLength, totalBytes, exception);
+            try {
+                deliver(() -> {
+                    streamVariable.streamingFailed(event);
+                    if (terminal) {
+                        session.getErrorHandler().error(new ErrorEvent(
+                                new UploadException(exception)));
+                    }
+                });
+            } finally {
+                complete(false);
+            }
+        }
+
+        /*
+         * The request is completed by the reading thread, since the delivered
+         * command is never run if the UI is detached or the session closed
+         * before it gets the lock.
+         */
+        private void deliver(Command command) {
+            access(() -> {
+                try {
+                    command.execute();
+                } catch (Exception e) {
+                    session.getErrorHandler().error(new ErrorEvent(e));
+                } finally {
+                    if (startedEvent.isDisposed()) {
+                        session.getResourceRegistry()
+                                .unregisterResource(streamReceiver);
+                    }
+                }
+            });
+        }
+
+        private void access(Command command) {
+            if (ui != null) {
+                try {
+                    ui.access(command);
+                    return;
+                } catch (UIDetachedException e) {
+                    getLogger().trace(
+                            "UI detached during upload, delivering event through the session",
+                            e);
+                }
+            }
+            session.access(command);
+        }
+
+        private void complete(boolean success) {
+            try {
+                sendUploadResponse(response, success);
+            } catch (IOException e) {
+                getLogger().debug("Exception sending upload response", e);
+            } finally {
+                asyncContext.complete();
+            }
+        }
+    }
+
+    /**
+     * Creates the start event for a plain file post, taking the
+     * <code>Content-Range</code> header of a chunked upload into account.
+     */
+    private static StreamingStartEventImpl createStartEvent(String range,
+            String filename, String mimeType, long contentLength)
+            throws UploadException {
+        if (range == null) {
+            return new StreamingStartEventImpl(filename, mimeType,
+                    contentLength);
+        }
+        Matcher matcher = CONTENT_RANGE.matcher(range.trim());
+        if (!matcher.matches()) {
+            throw new UploadException(
+                    "Malformed " + CONTENT_RANGE_HEADER + " header: " + range);
+        }
+        try {
+            long first = Long.parseLong(matcher.group(1));
+            long last = Long.parseLong(matcher.group(2));
+            long total = "*".equals(matcher.group(3)) ? -1
+                    : Long.parseLong(matcher.group(3));
+            long length = last - first + 1;
+            if (last < first || (total >= 0 && last >= total)
+                    || (contentLength >= 0 && contentLength != length)) {
+                throw new UploadException("Invalid " + CONTENT_RANGE_HEADER
+                        + " header for " + contentLength + " bytes: " + range);
+            }
+            return new StreamingStartEventImpl(filename, mimeType, length,
+                    first, total);
+        } catch (NumberFormatException e) {
+            throw new UploadException(e);
+        }
+    }
+
     /**
      * The request.getContentLength() is limited to "int" by the Servlet
      * specification. To support larger file uploads manually evaluate the
@@ -20,14 +20,18 @@ import javax.servlet.ServletRequest;
 import javax.servlet.ServletRequestWrapper;
 import javax.servlet.http.HttpServletResponse;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.Serializable;
 
+import com.vaadin.flow.internal.FileChannelUtil;
 import com.vaadin.flow.server.StreamResource;
 import com.vaadin.flow.server.StreamResourceWriter;
 import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinResponse;
+import com.vaadin.flow.server.VaadinServletRequest;
+import com.vaadin.flow.server.VaadinServletResponse;
 import com.vaadin.flow.server.VaadinSession;
 
 /**
@@ -59,6 +63,7 @@ public class StreamResourceHandler implements Serializable {
             throws IOException {
 
         StreamResourceWriter writer;
+        File file;
         session.lock();
         try {
             ServletContext context = ((ServletRequest) request)
@@ -71,6 +76,8 @@ public class StreamResourceHandler implements Serializable {
                 throw new IOException(
                         "Stream resource produces null input stream");
             }
+            file = streamResource.getFile().filter(File::isFile)
+                    .orElse(null);
         } catch (Exception exception) {
             response.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
             throw exception;
@@ -84,6 +91,22 @@ public class StreamResourceHandler implements Serializable {
         // effect being called after closing the stream (see #8740).
         OutputStream outputStream = null;
         try {
+            if (file != null) {
+                long length = file.length();
+                response.setHeader("Content-Length", Long.toString(length));
+                // Check the objects the Vaadin wrappers were created for
+                if (request instanceof VaadinServletRequest
+                        && response instanceof VaadinServletResponse
+                        && FileChannelUtil.sendFile(
+                                ((VaadinServletRequest) request)
+                                        .getRequest(),
+                                ((VaadinServletResponse) response)
+                                        .getResponse(),
+                                file, 0L, length)) {
+                    // The servlet container sends the file
+                    return;
+                }
+            }
             outputStream = response.getOutputStream();
             writer.accept(outputStream, session);
         } catch (Exception exception) {
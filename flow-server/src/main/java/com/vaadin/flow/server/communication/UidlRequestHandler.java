@@ -16,8 +16,10 @@
 
 package com.vaadin.flow.server.communication;
 
+import java.io.BufferedWriter;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.StringWriter;
 import java.io.Writer;
 import java.util.regex.Matcher;
@@ -28,6 +30,8 @@ import org.slf4j.LoggerFactory;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.JavaScriptBootstrapUI;
+import com.vaadin.flow.function.DeploymentConfiguration;
+import com.vaadin.flow.internal.JsonUtils;
 import com.vaadin.flow.server.HandlerHelper;
 import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.SessionExpiredHandler;
@@ -82,6 +86,8 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
     private static final String CHANGES = "changes";
     private static final String EXECUTE = UIDL_KEY_EXECUTE;
 
+    private static final int STREAMING_BUFFER_SIZE = 8192;
+
     @Override
     protected boolean canHandleRequest(VaadinRequest request) {
         return HandlerHelper.isRequestType(request, RequestType.UIDL);
@@ -108,11 +114,17 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             return true;
         }
 
+        boolean streaming = isStreamingUidl(session);
         StringWriter stringWriter = new StringWriter();
+        JsonObject uidl = null;
 
         try {
             getRpcHandler(session).handleRpc(uI, request.getReader(), request);
-            writeUidl(uI, stringWriter, false);
+            if (streaming) {
+                uidl = createResponseUidl(uI, false);
+            } else {
+                writeUidl(uI, stringWriter, false);
+            }
         } catch (JsonException e) {
             getLogger().error("Error writing JSON to response", e);
             // Refresh on client side
@@ -126,15 +138,29 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
             return true;
         } catch (ResynchronizationRequiredException e) { // NOSONAR
             // Resync on the client side
-            writeUidl(uI, stringWriter, true);
+            if (streaming) {
+                uidl = createResponseUidl(uI, true);
+            } else {
+                writeUidl(uI, stringWriter, true);
+            }
         } finally {
             stringWriter.close();
         }
 
-        commitJsonResponse(response, stringWriter.toString());
+        if (streaming) {
+            streamJsonResponse(response, uidl);
+        } else {
+            commitJsonResponse(response, stringWriter.toString());
+        }
         return true;
     }
 
+    private static boolean isStreamingUidl(VaadinSession session) {
+        DeploymentConfiguration configuration = session.getService()
+                .getDeploymentConfiguration();
+        return configuration != null && configuration.isStreamingUidl();
+    }
+
     private void writeRefresh(VaadinResponse response) throws IOException {
         String json = VaadinService.createCriticalNotificationJSON(null, null,
                 null, null);
@@ -143,15 +169,28 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
 
     void writeUidl(UI ui, Writer writer, boolean resync)
             throws IOException {
+        JsonObject uidl = createResponseUidl(ui, resync);
+
+        // some dirt to prevent cross site scripting
+        String responseString = "for(;;);[" + uidl.toJson() + "]";
+        writer.write(responseString);
+    }
+
+    private JsonObject createResponseUidl(UI ui, boolean resync) {
         JsonObject uidl = createUidl(ui, resync);
 
         if (ui instanceof JavaScriptBootstrapUI) {
             removeOffendingMprHashFragment(uidl);
         }
+        return uidl;
+    }
 
+    private static void writeStreamingUidl(JsonObject uidl, Writer writer)
+            throws IOException {
         // some dirt to prevent cross site scripting
-        String responseString = "for(;;);[" + uidl.toJson() + "]";
-        writer.write(responseString);
+        writer.write("for(;;);[");
+        JsonUtils.writeJson(uidl, writer);
+        writer.write(']');
     }
 
     JsonObject createUidl(UI ui, boolean resync) {
@@ -205,13 +244,8 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
      */
     public static void commitJsonResponse(VaadinResponse response, String json)
             throws IOException {
-        response.setContentType(JsonConstants.JSON_CONTENT_TYPE);
-
-        // Ensure that the browser does not cache UIDL responses.
-        // iOS 6 Safari requires this (#9732)
-        response.setHeader("Cache-Control", "no-cache");
-
         byte[] b = json.getBytes(UTF_8);
+        setJsonResponseHeaders(response);
         response.setContentLength(b.length);
 
         OutputStream outputStream = response.getOutputStream();
@@ -220,6 +254,31 @@ public class UidlRequestHandler extends SynchronizedRequestHandler
         outputStream.flush();
     }
 
+    /**
+     * Writes the JSON response straight to the output stream as it is being
+     * encoded. The response has no content length, so the container sends it
+     * in chunks instead of buffering all of it.
+     */
+    private static void streamJsonResponse(VaadinResponse response,
+            JsonObject uidl) throws IOException {
+        setJsonResponseHeaders(response);
+
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), UTF_8),
+                STREAMING_BUFFER_SIZE);
+        writeStreamingUidl(uidl, writer);
+        // NOTE GateIn requires the buffers to be flushed to work
+        writer.flush();
+    }
+
+    private static void setJsonResponseHeaders(VaadinResponse response) {
+        response.setContentType(JsonConstants.JSON_CONTENT_TYPE);
+
+        // Ensure that the browser does not cache UIDL responses.
+        // iOS 6 Safari requires this (#9732)
+        response.setHeader("Cache-Control", "no-cache");
+    }
+
     private void removeOffendingMprHashFragment(JsonObject uidl) {
         if (!uidl.hasKey(EXECUTE)) {
             return;
@@ -16,13 +16,21 @@
 package com.vaadin.flow.server.communication.rpc;
 
 import java.io.Serializable;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -36,6 +44,7 @@ import com.vaadin.flow.component.template.internal.DeprecatedPolymerPublishedEve
 import com.vaadin.flow.di.Lookup;
 import com.vaadin.flow.dom.DisabledUpdateMode;
 import com.vaadin.flow.internal.ReflectTools;
+import com.vaadin.flow.internal.ReflectionCache;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.nodefeature.ClientCallableHandlers;
 import com.vaadin.flow.internal.nodefeature.ComponentMapping;
@@ -62,6 +71,146 @@ public class PublishedServerEventHandlerRpcHandler
 
     private static final Collection<RpcDecoder> DECODERS = loadDecoders();
 
+    /*
+     * Whether all decoders only depend on the JSON type of the value and the
+     * parameter type when checking whether they are applicable. The
+     * RpcDecoder contract allows looking at the value itself, so the chosen
+     * decoder can only be cached for the built-in decoders.
+     */
+    private static final boolean DECODERS_CACHEABLE = DECODERS.stream()
+            .allMatch(PublishedServerEventHandlerRpcHandler::isBuiltInDecoder);
+
+    private static final ReflectionCache<Component, PublishedMethods> PUBLISHED_METHODS = new ReflectionCache<>(
+            PublishedMethods::new);
+
+    /**
+     * The event handler methods of a component class, resolved once per class
+     * so that invoking a method doesn't need to look it up using reflection.
+     */
+    private static class PublishedMethods {
+        private final Map<String, PublishedMethod> methods = new HashMap<>();
+        private final Set<String> ambiguousNames = new HashSet<>();
+        private final Class<?> type;
+
+        private PublishedMethods(Class<? extends Component> type) {
+            this.type = type;
+            Class<?> clazz = type;
+            while (true) {
+                Map<String, List<Method>> declaredMethods = Stream
+                        .of(clazz.getDeclaredMethods())
+                        .filter(method -> hasMethodAnnotation(method))
+                        .collect(Collectors.groupingBy(Method::getName));
+                for (Entry<String, List<Method>> entry : declaredMethods
+                        .entrySet()) {
+                    String name = entry.getKey();
+                    // Methods in sub classes hide methods with the same name
+                    if (methods.containsKey(name)
+                            || ambiguousNames.contains(name)) {
+                        continue;
+                    }
+                    if (entry.getValue().size() > 1) {
+                        ambiguousNames.add(name);
+                    } else {
+                        methods.put(name,
+                                new PublishedMethod(entry.getValue().get(0)));
+                    }
+                }
+                if (Component.class.equals(clazz)) {
+                    break;
+                }
+                clazz = clazz.getSuperclass();
+            }
+        }
+
+        private PublishedMethod getMethod(String methodName) {
+            if (ambiguousNames.contains(methodName)) {
+                String msg = String.format("Class '%s' contains "
+                        + "several event handler method with the same name '%s'",
+                        type.getName(), methodName);
+                throw new IllegalStateException(msg);
+            }
+            return methods.get(methodName);
+        }
+    }
+
+    /**
+     * An event handler method with a method handle for invoking it and the
+     * decoders for its parameters.
+     */
+    private static class PublishedMethod {
+        private final Method method;
+        private final MethodHandle handle;
+        private final PublishedParameter[] parameters;
+
+        private PublishedMethod(Method method) {
+            this.method = method;
+            method.setAccessible(true);
+            MethodHandle methodHandle;
+            try {
+                methodHandle = MethodHandles.lookup().unreflect(method)
+                        .asFixedArity();
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException(e);
+            }
+            if (Modifier.isStatic(method.getModifiers())) {
+                methodHandle = MethodHandles.dropArguments(methodHandle, 0,
+                        Object.class);
+            }
+            // (Object instance, Object[] args) -> Object
+            handle = methodHandle
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(MethodType.methodType(Object.class, Object.class,
+                            Object[].class));
+            parameters = Stream.of(method.getParameterTypes())
+                    .map(PublishedParameter::new)
+                    .toArray(PublishedParameter[]::new);
+        }
+    }
+
+    /**
+     * A parameter of an event handler method, or a component type of an array
+     * parameter, with the decoders used for each type of JSON value.
+     */
+    private static class PublishedParameter {
+        private final Class<?> type;
+        private final Class<?> convertedType;
+        private final PublishedParameter componentParameter;
+        /*
+         * The built-in decoders are applicable based on the JSON type of the
+         * value, so they're looked up lazily for each JSON type. Concurrent
+         * lookups find the same decoder.
+         */
+        private final RpcDecoder[] decoders = new RpcDecoder[JsonType
+                .values().length];
+
+        private PublishedParameter(Class<?> type) {
+            this.type = type;
+            convertedType = ReflectTools.convertPrimitiveType(type);
+            componentParameter = type.isArray()
+                    ? new PublishedParameter(type.getComponentType())
+                    : null;
+        }
+
+        private RpcDecoder getDecoder(JsonValue value) {
+            if (!DECODERS_CACHEABLE) {
+                return findDecoder(value);
+            }
+            int index = value.getType().ordinal();
+            RpcDecoder decoder = decoders[index];
+            if (decoder == null) {
+                decoder = findDecoder(value);
+                decoders[index] = decoder;
+            }
+            return decoder;
+        }
+
+        private RpcDecoder findDecoder(JsonValue value) {
+            return DECODERS.stream().filter(
+                    candidate -> candidate.isApplicable(value, convertedType))
+                    .findFirst().orElse(null);
+        }
+    }
+
     @Override
     public String getRpcType() {
         return JsonConstants.RPC_PUBLISHED_SERVER_EVENT_HANDLER;
@@ -127,12 +276,14 @@ public class PublishedServerEventHandlerRpcHandler
         return Optional.empty();
     }
 
-    static void invokeMethod(Component instance, Class<?> clazz,
-            String methodName, JsonArray args, int promiseId) {
+    static void invokeMethod(Component instance,
+            Class<? extends Component> clazz, String methodName,
+            JsonArray args, int promiseId) {
         assert instance != null;
-        Optional<Method> method = findMethod(instance, clazz, methodName);
-        if (method.isPresent()) {
-            invokeMethod(instance, method.get(), args, promiseId);
+        PublishedMethod method = PUBLISHED_METHODS.get(clazz)
+                .getMethod(methodName);
+        if (method != null) {
+            invokeMethod(instance, method, args, promiseId);
         } else if (instance instanceof Composite) {
             Component compositeContent = ((Composite<?>) instance).getContent();
             invokeMethod(compositeContent, compositeContent.getClass(),
@@ -145,26 +296,6 @@ public class PublishedServerEventHandlerRpcHandler
         }
     }
 
-    private static Optional<Method> findMethod(Component instance,
-            Class<?> clazz, String methodName) {
-        List<Method> methods = Stream.of(clazz.getDeclaredMethods())
-                .filter(method -> methodName.equals(method.getName()))
-                .filter(method -> hasMethodAnnotation(method))
-                .collect(Collectors.toList());
-        if (methods.size() > 1) {
-            String msg = String.format("Class '%s' contains "
-                    + "several event handler method with the same name '%s'",
-                    instance.getClass().getName(), methodName);
-            throw new IllegalStateException(msg);
-        } else if (methods.size() == 1) {
-            return Optional.of(methods.get(0));
-        } else if (!Component.class.equals(clazz)) {
-            return findMethod(instance, clazz.getSuperclass(), methodName);
-        } else {
-            return Optional.empty();
-        }
-    }
-
     private static boolean hasMethodAnnotation(Method method) {
         // Check for polymer event handler annotation.
         final boolean hasEventHandler = ReflectTools.hasAnnotation(method,
@@ -173,8 +304,8 @@ public class PublishedServerEventHandlerRpcHandler
                 || method.isAnnotationPresent(ClientCallable.class);
     }
 
-    private static void invokeMethod(Component instance, Method method,
-            JsonArray args, int promiseId) {
+    private static void invokeMethod(Component instance,
+            PublishedMethod method, JsonArray args, int promiseId) {
         if (promiseId == -1) {
             invokeMethod(instance, method, args);
         } else {
@@ -198,37 +329,57 @@ public class PublishedServerEventHandlerRpcHandler
         }
     }
 
-    private static Object invokeMethod(Component instance, Method method,
-            JsonArray args) {
+    private static Object invokeMethod(Component instance,
+            PublishedMethod method, JsonArray args) {
+        Object[] decodedArgs = decodeArgs(instance, method, args);
+        verifyArgumentTypes(instance, method, decodedArgs);
         try {
-            method.setAccessible(true);
-            return method.invoke(instance, decodeArgs(instance, method, args));
-        } catch (IllegalAccessException e) {
-            throw new RuntimeException(e);
-        } catch (InvocationTargetException e) {
+            return (Object) method.handle.invokeExact((Object) instance,
+                    decodedArgs);
+        } catch (Throwable throwable) {
             LoggerFactory.getLogger(
                     PublishedServerEventHandlerRpcHandler.class.getName())
-                    .debug(null, e);
-            throw new RuntimeException(e.getCause());
+                    .debug(null, throwable);
+            throw new RuntimeException(throwable);
+        }
+    }
+
+    /*
+     * The method handle would fail with a ClassCastException, so the types are
+     * checked beforehand to throw the same exceptions as Method.invoke.
+     */
+    private static void verifyArgumentTypes(Component instance,
+            PublishedMethod method, Object[] args) {
+        if (!Modifier.isStatic(method.method.getModifiers()) && !method.method
+                .getDeclaringClass().isInstance(instance)) {
+            throw new IllegalArgumentException(
+                    "object is not an instance of declaring class");
+        }
+        for (int i = 0; i < args.length; i++) {
+            PublishedParameter parameter = method.parameters[i];
+            if (args[i] == null ? parameter.type.isPrimitive()
+                    : !parameter.convertedType.isInstance(args[i])) {
+                throw new IllegalArgumentException("argument type mismatch");
+            }
         }
     }
 
-    private static Object[] decodeArgs(Component instance, Method method,
-            JsonArray argsFromClient) {
-        int methodArgs = method.getParameterCount();
+    private static Object[] decodeArgs(Component instance,
+            PublishedMethod method, JsonArray argsFromClient) {
+        int methodArgs = method.parameters.length;
         int clientValuesCount = argsFromClient.length();
         JsonArray argValues;
-        if (method.isVarArgs()) {
+        if (method.method.isVarArgs()) {
             if (clientValuesCount >= methodArgs - 1) {
-                argValues = unwrapVarArgs(argsFromClient, method);
+                argValues = unwrapVarArgs(argsFromClient, methodArgs);
             } else {
                 String msg = String.format(
                         "The number of received values (%d) is not enough "
                                 + "to call the method '%s' declared in '%s' which "
                                 + "has vararg parameter and the number of arguments %d",
-                        argsFromClient.length(), method.getName(),
-                        method.getDeclaringClass().getName(),
-                        method.getParameterCount());
+                        argsFromClient.length(), method.method.getName(),
+                        method.method.getDeclaringClass().getName(),
+                        methodArgs);
                 throw new IllegalArgumentException(msg);
             }
         } else {
@@ -239,23 +390,22 @@ public class PublishedServerEventHandlerRpcHandler
                         "The number of received values (%d) is not equal "
                                 + "to the number of arguments (%d) in the method '%s' "
                                 + "declared in '%s'",
-                        argsFromClient.length(), method.getParameterCount(),
-                        method.getName(), method.getDeclaringClass().getName());
+                        argsFromClient.length(), methodArgs,
+                        method.method.getName(),
+                        method.method.getDeclaringClass().getName());
                 throw new IllegalArgumentException(msg);
             }
         }
-        List<Object> decoded = new ArrayList<>(method.getParameterCount());
-        Class<?>[] methodParameterTypes = method.getParameterTypes();
+        Object[] decoded = new Object[methodArgs];
         for (int i = 0; i < argValues.length(); i++) {
-            Class<?> type = methodParameterTypes[i];
-            decoded.add(decodeArg(instance, method, type, i, argValues.get(i)));
+            decoded[i] = decodeArg(instance, method, method.parameters[i], i,
+                    argValues.get(i));
         }
-        return decoded.toArray(new Object[method.getParameterCount()]);
+        return decoded;
     }
 
     private static JsonArray unwrapVarArgs(JsonArray argsFromClient,
-            Method method) {
-        int paramCount = method.getParameterCount();
+            int paramCount) {
         if (argsFromClient.length() == paramCount) {
             if (argsFromClient.get(paramCount - 1).getType()
                     .equals(JsonType.ARRAY)) {
@@ -278,24 +428,25 @@ public class PublishedServerEventHandlerRpcHandler
         return result;
     }
 
-    private static Object decodeArg(Component instance, Method method,
-            Class<?> type, int index, JsonValue argValue) {
+    private static Object decodeArg(Component instance, PublishedMethod method,
+            PublishedParameter parameter, int index, JsonValue argValue) {
         // come up with method to know that it's an id and should be gotten from
         // the model
         assert argValue != null;
+        Class<?> type = parameter.type;
         if (type.isPrimitive() && argValue.getType() == JsonType.NULL) {
             String msg = String.format(
                     "Null values are not allowed for primitive types but "
                             + "a 'null' value was received for parameter %d "
                             + "which refers to primitive type '%s' "
                             + "in the method '%s' defined in the class '%s'",
-                    index, type.getName(), method.getName(),
-                    method.getDeclaringClass().getName());
+                    index, type.getName(), method.method.getName(),
+                    method.method.getDeclaringClass().getName());
             throw new IllegalArgumentException(msg);
-        } else if (type.isArray()) {
-            return decodeArray(method, type, index, argValue);
+        } else if (parameter.componentParameter != null) {
+            return decodeArray(method, parameter, index, argValue);
         } else {
-            Class<?> convertedType = ReflectTools.convertPrimitiveType(type);
+            Class<?> convertedType = parameter.convertedType;
 
             if (instance != null) {
                 Optional<UI> ui = instance.getUI();
@@ -312,54 +463,56 @@ public class PublishedServerEventHandlerRpcHandler
                         argValue, convertedType)) {
                     return handler.getTemplateItem(instance,
                             (JsonObject) argValue,
-                            method.getGenericParameterTypes()[index]);
+                            method.method.getGenericParameterTypes()[index]);
                 }
             }
 
-            Optional<RpcDecoder> decoder = getDecoder(argValue, convertedType);
-            if (decoder.isPresent()) {
+            RpcDecoder decoder = parameter.getDecoder(argValue);
+            if (decoder != null) {
                 try {
-                    return decoder.get().decode(argValue, convertedType);
+                    return decoder.decode(argValue, convertedType);
                 } catch (RpcDecodeException exception) {
                     throw new IllegalArgumentException(exception);
                 }
             }
             String msg = String.format("Class '%s' has the method '%s' "
                     + "whose parameter %d refers to unsupported type '%s'",
-                    method.getDeclaringClass().getName(), method.getName(),
-                    index, type.getName());
+                    method.method.getDeclaringClass().getName(),
+                    method.method.getName(), index, type.getName());
             throw new IllegalArgumentException(msg);
         }
 
     }
 
-    private static Optional<RpcDecoder> getDecoder(JsonValue value,
-            Class<?> type) {
-        return DECODERS.stream()
-                .filter(decoder -> decoder.isApplicable(value, type))
-                .findFirst();
-    }
-
-    private static Object decodeArray(Method method, Class<?> type, int index,
-            JsonValue argValue) {
+    private static Object decodeArray(PublishedMethod method,
+            PublishedParameter parameter, int index, JsonValue argValue) {
         if (argValue.getType() != JsonType.ARRAY) {
             String msg = String.format("Class '%s' has the method '%s' "
                     + "whose parameter %d refers to the array type '%s' "
                     + "but received value is not an array, its type is '%s'",
-                    method.getDeclaringClass().getName(), method.getName(),
-                    index, type.getName(), argValue.getType().name());
+                    method.method.getDeclaringClass().getName(),
+                    method.method.getName(), index, parameter.type.getName(),
+                    argValue.getType().name());
             throw new IllegalArgumentException(msg);
         }
-        Class<?> componentType = type.getComponentType();
+        PublishedParameter componentParameter = parameter.componentParameter;
         JsonArray array = (JsonArray) argValue;
-        Object result = Array.newInstance(componentType, array.length());
+        Object result = Array.newInstance(componentParameter.type,
+                array.length());
         for (int i = 0; i < array.length(); i++) {
-            Array.set(result, i, decodeArg(null, method, componentType, index,
-                    array.get(i)));
+            Array.set(result, i, decodeArg(null, method, componentParameter,
+                    index, array.get(i)));
         }
         return result;
     }
 
+    private static boolean isBuiltInDecoder(RpcDecoder decoder) {
+        Class<?> type = decoder.getClass();
+        return type == StringToNumberDecoder.class
+                || type == StringToEnumDecoder.class
+                || type == DefaultRpcDecoder.class;
+    }
+
     private static Collection<RpcDecoder> loadDecoders() {
         List<RpcDecoder> decoders = new ArrayList<>();
         decoders.add(new StringToNumberDecoder());
@@ -25,6 +25,8 @@ import com.vaadin.flow.server.StreamVariable.StreamingStartEvent;
 public final class StreamingStartEventImpl extends AbstractStreamingEvent
         implements StreamingStartEvent {
 
+    private final long position;
+    private final long totalLength;
     private boolean disposed;
 
     /**
@@ -39,7 +41,28 @@ public final class StreamingStartEventImpl extends AbstractStreamingEvent
      */
     public StreamingStartEventImpl(final String filename, final String type,
             long contentLength) {
+        this(filename, type, contentLength, 0, contentLength);
+    }
+
+    /**
+     * Streaming start event constructor for a chunk of a file.
+     *
+     * @param filename
+     *            filename
+     * @param type
+     *            file type
+     * @param contentLength
+     *            content length of the chunk
+     * @param position
+     *            position of the chunk in the file
+     * @param totalLength
+     *            length of the whole file, or -1 if not known
+     */
+    public StreamingStartEventImpl(final String filename, final String type,
+            long contentLength, long position, long totalLength) {
         super(filename, type, contentLength, 0);
+        this.position = position;
+        this.totalLength = totalLength;
     }
 
     @Override
@@ -47,6 +70,16 @@ public final class StreamingStartEventImpl extends AbstractStreamingEvent
         disposed = true;
     }
 
+    @Override
+    public long getPosition() {
+        return position;
+    }
+
+    @Override
+    public long getTotalLength() {
+        return totalLength;
+    }
+
     /**
      * Get if stream resource should be unregistered.
      * 
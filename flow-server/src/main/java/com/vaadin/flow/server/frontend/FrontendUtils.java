@@ -134,6 +134,13 @@ public class FrontendUtils {
      */
     public static final String TARGET = "target/";
 
+    /**
+     * Default file for keeping the bytecode analysis of the frontend
+     * dependencies scan between builds, relative to the npm folder.
+     */
+    public static final String DEFAULT_SCAN_CACHE_FILE = TARGET
+            + "frontend-scan.cache";
+
     /**
      * The NPM package name that will be used for the javascript files present
      * in jar resources that will to be copied to the npm folder so as they are
@@ -91,6 +91,8 @@ public class NodeTasks implements FallibleCommand {
 
         private File tokenFile;
 
+        private File scanCacheFile;
+
         private boolean enablePnpm;
 
         private File connectJavaSourceFolder;
@@ -186,6 +188,8 @@ public class NodeTasks implements FallibleCommand {
             this.frontendDirectory = frontendDirectory.isAbsolute()
                     ? frontendDirectory
                     : new File(npmFolder, frontendDirectory.getPath());
+            this.scanCacheFile = new File(npmFolder,
+                    FrontendUtils.DEFAULT_SCAN_CACHE_FILE);
         }
 
         /**
@@ -431,6 +435,22 @@ public class NodeTasks implements FallibleCommand {
             return this;
         }
 
+        /**
+         * Sets the file where the byte code scanner keeps the analysis of the
+         * visited classes between builds, so that only changed classes are
+         * read again. Defaults to
+         * {@value FrontendUtils#DEFAULT_SCAN_CACHE_FILE} in the npm folder.
+         *
+         * @param scanCacheFile
+         *            the cache file, or {@code null} to read all classes on
+         *            every build
+         * @return the builder, for chaining
+         */
+        public Builder withScanCacheFile(File scanCacheFile) {
+            this.scanCacheFile = scanCacheFile;
+            return this;
+        }
+
         /**
          * Fill token file data into the provided {@code object}.
          *
@@ -547,7 +567,8 @@ public class NodeTasks implements FallibleCommand {
                 || enableWebpackConfigUpdate) {
             frontendDependencies = new FrontendDependenciesScanner.FrontendDependenciesScannerFactory()
                     .createScanner(!builder.useByteCodeScanner, classFinder,
-                            builder.generateEmbeddableWebComponents);
+                            builder.generateEmbeddableWebComponents,
+                            builder.scanCacheFile);
 
             if (builder.generateEmbeddableWebComponents) {
                 FrontendWebComponentGenerator generator = new FrontendWebComponentGenerator(
@@ -0,0 +1,423 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend.scanner;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import net.bytebuddy.jar.asm.AnnotationVisitor;
+import net.bytebuddy.jar.asm.ClassReader;
+import net.bytebuddy.jar.asm.ClassVisitor;
+import net.bytebuddy.jar.asm.Opcodes;
+import net.bytebuddy.jar.asm.Type;
+
+/**
+ * The content of a class file that is relevant for the frontend dependencies:
+ * the classes referenced from its signatures and code, and its annotations.
+ * <p>
+ * The referenced classes do not depend on the end-point being visited, so they
+ * are extracted once. The annotations are recorded and replayed to a
+ * {@link FrontendClassVisitor} for each visit, since their meaning depends on
+ * the end-point. This allows reading a class file once per scan and keeping
+ * the result in a {@link ClassInfoCache} between scans.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+final class ClassInfo {
+
+    /**
+     * Placeholder for a class whose class file is not available.
+     */
+    static final ClassInfo NOT_FOUND = new ClassInfo(Collections.emptySet(),
+            Collections.emptyList(), false);
+
+    private static final byte CLASS_ANNOTATION = 'A';
+    private static final byte ANNOTATION = 'a';
+    private static final byte ARRAY = '[';
+    private static final byte VALUE = 'v';
+    private static final byte END = ')';
+
+    // The constant pool of a class file has at most this many entries
+    private static final int MAX_COUNT = 0xFFFF;
+
+    private final Set<String> children;
+    private final List<Event> annotations;
+    private final boolean cacheable;
+
+    private ClassInfo(Set<String> children, List<Event> annotations,
+            boolean cacheable) {
+        this.children = children;
+        this.annotations = annotations;
+        this.cacheable = cacheable;
+    }
+
+    /**
+     * Parses the content of a class file.
+     *
+     * @param stream
+     *            the class file content
+     * @return the class info
+     * @throws IOException
+     *             if the stream cannot be read
+     */
+    static ClassInfo parse(InputStream stream) throws IOException {
+        Recorder recorder = new Recorder();
+        // Frames and debug information do not contain class references that
+        // are not available elsewhere
+        new ClassReader(stream).accept(recorder,
+                ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        return new ClassInfo(recorder.signatures.getChildren(),
+                recorder.events, recorder.cacheable);
+    }
+
+    /**
+     * Visits the class by replaying its annotations to the given visitor and
+     * adding the referenced classes to the children of the visitor.
+     *
+     * @param visitor
+     *            the visitor to update
+     */
+    void accept(FrontendClassVisitor visitor) {
+        int index = 0;
+        while (index < annotations.size()) {
+            Event event = annotations.get(index);
+            index = replay(visitor.visitAnnotation(event.name,
+                    (Boolean) event.value), index + 1);
+        }
+        visitor.getChildren().addAll(children);
+    }
+
+    /**
+     * Gets all the classes that a visit to this class may continue to,
+     * including the classes used as annotation values.
+     *
+     * @return the referenced class names
+     */
+    Set<String> getReferences() {
+        Set<String> references = new HashSet<>(children);
+        for (Event event : annotations) {
+            if (event.value instanceof Type) {
+                references.add(((Type) event.value).getClassName());
+            }
+        }
+        return references;
+    }
+
+    /**
+     * Checks whether the class info can be written to a cache. Annotation
+     * values of types that the cache does not support are only kept in memory.
+     *
+     * @return <code>true</code> if the info can be written
+     */
+    boolean isCacheable() {
+        return cacheable;
+    }
+
+    /**
+     * Writes a cacheable class info.
+     *
+     * @param output
+     *            the output to write to
+     * @throws IOException
+     *             if writing fails
+     */
+    void write(DataOutput output) throws IOException {
+        output.writeInt(children.size());
+        for (String child : children) {
+            output.writeUTF(child);
+        }
+        output.writeInt(annotations.size());
+        for (Event event : annotations) {
+            output.writeByte(event.kind);
+            writeNullable(output, event.name);
+            writeValue(output, event.value);
+        }
+    }
+
+    /**
+     * Reads a class info written by {@link #write(DataOutput)}.
+     *
+     * @param input
+     *            the input to read from
+     * @return the class info
+     * @throws IOException
+     *             if reading fails or the data is not valid
+     */
+    static ClassInfo read(DataInput input) throws IOException {
+        int childCount = readCount(input);
+        Set<String> children = new HashSet<>();
+        for (int i = 0; i < childCount; i++) {
+            children.add(input.readUTF());
+        }
+        int eventCount = readCount(input);
+        List<Event> events = new ArrayList<>();
+        int depth = 0;
+        for (int i = 0; i < eventCount; i++) {
+            Event event = new Event(input.readByte(), readNullable(input),
+                    readValue(input));
+            depth = checkDepth(event, depth);
+            events.add(event);
+        }
+        if (depth != 0) {
+            throw new IOException("Incomplete annotation");
+        }
+        return new ClassInfo(children, events, true);
+    }
+
+    // Returns the nesting depth after the event, so that a corrupted cache
+    // is detected when read rather than when replayed
+    private static int checkDepth(Event event, int depth) throws IOException {
+        if (event.kind == CLASS_ANNOTATION && depth == 0
+                && event.name != null && event.value instanceof Boolean) {
+            return 1;
+        } else if (depth == 0) {
+            throw new IOException("Missing class annotation");
+        }
+        switch (event.kind) {
+        case ANNOTATION:
+            if (!(event.value instanceof String)) {
+                throw new IOException("Missing annotation descriptor");
+            }
+            return depth + 1;
+        case ARRAY:
+            return depth + 1;
+        case VALUE:
+            return depth;
+        case END:
+            return depth - 1;
+        default:
+            throw new IOException("Unexpected annotation event " + event.kind);
+        }
+    }
+
+    // Replays the events of an annotation up to its end, skipping them when
+    // the visitor is not interested. Returns the index after the end.
+    private int replay(AnnotationVisitor visitor, int index) {
+        while (true) {
+            Event event = annotations.get(index++);
+            switch (event.kind) {
+            case END:
+                if (visitor != null) {
+                    visitor.visitEnd();
+                }
+                return index;
+            case VALUE:
+                if (visitor != null) {
+                    visitor.visit(event.name, event.value);
+                }
+                break;
+            case ANNOTATION:
+                index = replay(visitor == null ? null
+                        : visitor.visitAnnotation(event.name,
+                                (String) event.value),
+                        index);
+                break;
+            case ARRAY:
+                index = replay(
+                        visitor == null ? null : visitor.visitArray(event.name),
+                        index);
+                break;
+            default:
+                throw new IllegalStateException(
+                        "Unexpected annotation event " + event.kind);
+            }
+        }
+    }
+
+    private static int readCount(DataInput input) throws IOException {
+        int count = input.readInt();
+        if (count < 0 || count > MAX_COUNT) {
+            throw new IOException("Invalid count " + count);
+        }
+        return count;
+    }
+
+    private static void writeNullable(DataOutput output, String value)
+            throws IOException {
+        output.writeBoolean(value != null);
+        if (value != null) {
+            output.writeUTF(value);
+        }
+    }
+
+    private static String readNullable(DataInput input) throws IOException {
+        return input.readBoolean() ? input.readUTF() : null;
+    }
+
+    private static boolean isSupportedValue(Object value) {
+        return value == null || value instanceof String || value instanceof Type
+                || value instanceof Boolean || value instanceof Integer
+                || value instanceof Long || value instanceof Character
+                || value instanceof Byte || value instanceof Short
+                || value instanceof Float || value instanceof Double;
+    }
+
+    private static void writeValue(DataOutput output, Object value)
+            throws IOException {
+        if (value == null) {
+            output.writeByte('n');
+        } else if (value instanceof String) {
+            output.writeByte('s');
+            output.writeUTF((String) value);
+        } else if (value instanceof Type) {
+            output.writeByte('t');
+            output.writeUTF(((Type) value).getDescriptor());
+        } else if (value instanceof Boolean) {
+            output.writeByte('z');
+            output.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer) {
+            output.writeByte('i');
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte('j');
+            output.writeLong((Long) value);
+        } else if (value instanceof Character) {
+            output.writeByte('c');
+            output.writeChar((Character) value);
+        } else if (value instanceof Byte) {
+            output.writeByte('b');
+            output.writeByte((Byte) value);
+        } else if (value instanceof Short) {
+            output.writeByte('h');
+            output.writeShort((Short) value);
+        } else if (value instanceof Float) {
+            output.writeByte('f');
+            output.writeFloat((Float) value);
+        } else if (value instanceof Double) {
+            output.writeByte('d');
+            output.writeDouble((Double) value);
+        } else {
+            throw new IllegalArgumentException(
+                    "Unsupported annotation value " + value.getClass());
+        }
+    }
+
+    private static Object readValue(DataInput input) throws IOException {
+        byte type = input.readByte();
+        switch (type) {
+        case 'n':
+            return null;
+        case 's':
+            return input.readUTF();
+        case 't':
+            return Type.getType(input.readUTF());
+        case 'z':
+            return input.readBoolean();
+        case 'i':
+            return input.readInt();
+        case 'j':
+            return input.readLong();
+        case 'c':
+            return input.readChar();
+        case 'b':
+            return input.readByte();
+        case 'h':
+            return input.readShort();
+        case 'f':
+            return input.readFloat();
+        case 'd':
+            return input.readDouble();
+        default:
+            throw new IOException("Unknown annotation value type " + type);
+        }
+    }
+
+    /**
+     * A recorded annotation event. For a class annotation, the name is the
+     * annotation descriptor and the value tells whether it is visible at
+     * runtime. For a nested annotation, the value is its descriptor.
+     */
+    private static final class Event {
+        private final byte kind;
+        private final String name;
+        private final Object value;
+
+        private Event(byte kind, String name, Object value) {
+            this.kind = kind;
+            this.name = name;
+            this.value = value;
+        }
+    }
+
+    /**
+     * Collects the referenced classes with a {@link FrontendClassVisitor} that
+     * is not bound to an end-point, and records the class annotations instead
+     * of interpreting them.
+     */
+    private static final class Recorder extends ClassVisitor {
+        private final FrontendClassVisitor signatures;
+        private final List<Event> events = new ArrayList<>();
+        private boolean cacheable = true;
+
+        private Recorder() {
+            this(new FrontendClassVisitor(null, null, false));
+        }
+
+        private Recorder(FrontendClassVisitor signatures) {
+            super(Opcodes.ASM7, signatures);
+            this.signatures = signatures;
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String descriptor,
+                boolean visible) {
+            signatures.addSignatureToClasses(signatures.getChildren(),
+                    descriptor);
+            events.add(new Event(CLASS_ANNOTATION, descriptor, visible));
+            return new AnnotationRecorder();
+        }
+
+        // Enum values are not recorded since none of the frontend annotation
+        // visitors reads them
+        private final class AnnotationRecorder extends AnnotationVisitor {
+            private AnnotationRecorder() {
+                super(Opcodes.ASM7);
+            }
+
+            @Override
+            public void visit(String name, Object value) {
+                cacheable &= isSupportedValue(value);
+                events.add(new Event(VALUE, name, value));
+            }
+
+            @Override
+            public AnnotationVisitor visitAnnotation(String name,
+                    String descriptor) {
+                events.add(new Event(ANNOTATION, name, descriptor));
+                return new AnnotationRecorder();
+            }
+
+            @Override
+            public AnnotationVisitor visitArray(String name) {
+                events.add(new Event(ARRAY, name, null));
+                return new AnnotationRecorder();
+            }
+
+            @Override
+            public void visitEnd() {
+                events.add(new Event(END, null, null));
+            }
+        }
+    }
+}
@@ -0,0 +1,315 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend.scanner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.io.FileUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Keeps the {@link ClassInfo} of class files between dependency scans.
+ * <p>
+ * A class in a directory is identified by the path, modification time and
+ * length of its class file. A class in a jar file is identified by the hash
+ * of the jar content and the entry name, so that the entries stay valid when
+ * the jar is replaced by an identical copy. The hash of a jar is computed
+ * again only when its modification time or length has changed.
+ * <p>
+ * Classes from other kinds of locations are read on every scan. Only the
+ * entries used by the latest scan are saved.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+final class ClassInfoCache {
+
+    private static final int FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String JAR_SEPARATOR = "!/";
+
+    private final File file;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, JarStamp> jars = new ConcurrentHashMap<>();
+
+    private final Map<String, Entry> usedEntries = new ConcurrentHashMap<>();
+    private final Map<String, JarStamp> usedJars = new ConcurrentHashMap<>();
+
+    private final AtomicInteger hits = new AtomicInteger();
+    private final AtomicInteger reads = new AtomicInteger();
+
+    /**
+     * Creates a cache that is saved to the given file.
+     *
+     * @param file
+     *            the file to load the cache from and save it to, or
+     *            <code>null</code> to only read class files
+     */
+    ClassInfoCache(File file) {
+        this.file = file;
+        if (file != null && file.isFile()) {
+            load();
+        }
+    }
+
+    /**
+     * Gets the info of a class file, reading it unless the cached info is
+     * still valid. Safe to call concurrently.
+     *
+     * @param url
+     *            the location of the class file
+     * @return the class info
+     * @throws IOException
+     *             if the class file cannot be read
+     */
+    ClassInfo get(URL url) throws IOException {
+        String key = file == null ? null : getKey(url);
+        if (key == null) {
+            return read(url);
+        }
+        Entry entry = entries.get(key);
+        File classFile = getClassFile(url);
+        long lastModified = classFile == null ? 0 : classFile.lastModified();
+        long length = classFile == null ? 0 : classFile.length();
+        if (entry != null && entry.lastModified == lastModified
+                && entry.length == length) {
+            hits.incrementAndGet();
+        } else {
+            entry = new Entry(lastModified, length, read(url));
+            entries.put(key, entry);
+        }
+        if (entry.info.isCacheable()) {
+            usedEntries.put(key, entry);
+        }
+        return entry.info;
+    }
+
+    /**
+     * Gets the number of class infos found in the cache.
+     *
+     * @return the number of cache hits
+     */
+    int getHits() {
+        return hits.get();
+    }
+
+    /**
+     * Gets the number of class files that have been read.
+     *
+     * @return the number of read class files
+     */
+    int getReads() {
+        return reads.get();
+    }
+
+    /**
+     * Writes the entries used since the cache was created to the cache file.
+     * Does nothing if the cache has no file.
+     *
+     * @throws IOException
+     *             if the file cannot be written
+     */
+    void save() throws IOException {
+        if (file == null) {
+            return;
+        }
+        FileUtils.forceMkdirParent(file);
+        File temp = new File(file.getPath() + ".tmp");
+        try (DataOutputStream output = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(temp.toPath()),
+                        BUFFER_SIZE))) {
+            output.writeInt(FORMAT_VERSION);
+            output.writeInt(usedJars.size());
+            for (Map.Entry<String, JarStamp> jar : usedJars.entrySet()) {
+                output.writeUTF(jar.getKey());
+                output.writeLong(jar.getValue().lastModified);
+                output.writeLong(jar.getValue().length);
+                output.writeUTF(jar.getValue().hash);
+            }
+            output.writeInt(usedEntries.size());
+            for (Map.Entry<String, Entry> entry : usedEntries.entrySet()) {
+                output.writeUTF(entry.getKey());
+                output.writeLong(entry.getValue().lastModified);
+                output.writeLong(entry.getValue().length);
+                entry.getValue().info.write(output);
+            }
+        }
+        // Replace the file at once where possible, so that a concurrent scan
+        // never reads a partially written cache
+        try {
+            Files.move(temp.toPath(), file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING,
+                    StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) { // NOSONAR
+            Files.move(temp.toPath(), file.toPath(),
+                    StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    private void load() {
+        try (DataInputStream input = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file.toPath()),
+                        BUFFER_SIZE))) {
+            if (input.readInt() != FORMAT_VERSION) {
+                return;
+            }
+            int jarCount = input.readInt();
+            for (int i = 0; i < jarCount; i++) {
+                String path = input.readUTF();
+                jars.put(path, new JarStamp(input.readLong(), input.readLong(),
+                        input.readUTF()));
+            }
+            int entryCount = input.readInt();
+            for (int i = 0; i < entryCount; i++) {
+                String key = input.readUTF();
+                entries.put(key, new Entry(input.readLong(), input.readLong(),
+                        ClassInfo.read(input)));
+            }
+        } catch (IOException | RuntimeException e) {
+            getLogger().debug("Ignoring unreadable frontend scan cache {}",
+                    file, e);
+            jars.clear();
+            entries.clear();
+        }
+    }
+
+    private ClassInfo read(URL url) throws IOException {
+        reads.incrementAndGet();
+        try (InputStream stream = url.openStream()) {
+            return ClassInfo.parse(stream);
+        }
+    }
+
+    // Returns null for locations that cannot be validated cheaply
+    private String getKey(URL url) throws IOException {
+        if ("file".equals(url.getProtocol())) {
+            File classFile = getClassFile(url);
+            return classFile == null ? null : classFile.getPath();
+        }
+        if ("jar".equals(url.getProtocol())) {
+            String path = url.getPath();
+            int separator = path.indexOf(JAR_SEPARATOR);
+            if (separator < 0 || !path.startsWith("file:")
+                    || path.indexOf(JAR_SEPARATOR, separator + 1) >= 0) {
+                // nested jars are not supported
+                return null;
+            }
+            File jar = toFile(new URL(path.substring(0, separator)));
+            if (jar == null) {
+                return null;
+            }
+            try {
+                return getJarHash(jar) + path.substring(separator);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        return null;
+    }
+
+    private File getClassFile(URL url) {
+        return "file".equals(url.getProtocol()) ? toFile(url) : null;
+    }
+
+    private static File toFile(URL url) {
+        try {
+            return new File(url.toURI());
+        } catch (URISyntaxException | IllegalArgumentException e) { // NOSONAR
+            return null;
+        }
+    }
+
+    private String getJarHash(File jar) {
+        String path = jar.getAbsolutePath();
+        JarStamp stamp = usedJars.computeIfAbsent(path, key -> {
+            long lastModified = jar.lastModified();
+            long length = jar.length();
+            JarStamp known = jars.get(key);
+            if (known != null && known.lastModified == lastModified
+                    && known.length == length) {
+                return known;
+            }
+            return new JarStamp(lastModified, length, hash(jar));
+        });
+        return stamp.hash;
+    }
+
+    private static String hash(File jar) {
+        try (InputStream stream = Files.newInputStream(jar.toPath())) {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for (int read; (read = stream.read(buffer)) >= 0;) {
+                digest.update(buffer, 0, read);
+            }
+            StringBuilder hash = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hash.append(String.format("%02x", b));
+            }
+            return hash.toString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Logger getLogger() {
+        return LoggerFactory.getLogger(ClassInfoCache.class);
+    }
+
+    private static final class Entry {
+        private final long lastModified;
+        private final long length;
+        private final ClassInfo info;
+
+        private Entry(long lastModified, long length, ClassInfo info) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.info = info;
+        }
+    }
+
+    private static final class JarStamp {
+        private final long lastModified;
+        private final long length;
+        private final String hash;
+
+        private JarStamp(long lastModified, long length, String hash) {
+            this.lastModified = lastModified;
+            this.length = length;
+            this.hash = hash;
+        }
+    }
+}
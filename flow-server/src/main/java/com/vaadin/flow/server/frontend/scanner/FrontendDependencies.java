@@ -15,8 +15,9 @@
  */
 package com.vaadin.flow.server.frontend.scanner;
 
+import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Modifier;
 import java.net.URL;
@@ -30,9 +31,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountedCompleter;
+import java.util.concurrent.ForkJoinPool;
 import java.util.stream.Collectors;
 
-import net.bytebuddy.jar.asm.ClassReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -69,6 +72,11 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
     private final Set<String> visited = new HashSet<>();
     private PwaConfiguration pwaConfiguration;
 
+    private final transient ClassInfoCache cache;
+    private final transient Map<String, ClassInfo> classInfos = new ConcurrentHashMap<>();
+    private final transient Set<String> prefetched = ConcurrentHashMap
+            .newKeySet();
+
     /**
      * Default Constructor.
      *
@@ -93,21 +101,52 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
      */
     public FrontendDependencies(ClassFinder finder,
             boolean generateEmbeddableWebComponents) {
+        this(finder, generateEmbeddableWebComponents, null);
+    }
+
+    /**
+     * Constructor which allows keeping the bytecode analysis of the visited
+     * classes in a file between scans, so that only class files that have
+     * changed since the previous scan are read again.
+     *
+     * @param finder
+     *            the class finder
+     * @param generateEmbeddableWebComponents
+     *            {@code true} checks the
+     *            {@link com.vaadin.flow.component.WebComponentExporter} classes
+     *            for dependencies
+     * @param scanCacheFile
+     *            the file to keep the bytecode analysis in, or {@code null}
+     *            to read all visited class files
+     */
+    public FrontendDependencies(ClassFinder finder,
+            boolean generateEmbeddableWebComponents, File scanCacheFile) {
         super(finder);
         log().info(
                 "Scanning classes to find frontend configurations and dependencies...");
-        long start = System.nanoTime();
+        ScanMetrics metrics = new ScanMetrics();
+        cache = new ClassInfoCache(scanCacheFile);
+        metrics.endPhase("cache");
         try {
             computeEndpoints();
+            metrics.endPhase("endpoints");
             if (generateEmbeddableWebComponents) {
                 computeExporterEndpoints(WebComponentExporter.class);
                 computeExporterEndpoints(WebComponentExporterFactory.class);
+                metrics.endPhase("exporters");
             }
             computeApplicationTheme();
+            metrics.endPhase("theme");
             computePackages();
+            metrics.endPhase("packages");
             computePwaConfiguration();
-            long ms = (System.nanoTime() - start) / 1000000;
-            log().info("Visited {} classes. Took {} ms.", visited.size(), ms);
+            metrics.endPhase("pwa");
+            saveCache();
+            metrics.endPhase("cache");
+            log().info(
+                    "Visited {} classes, read {} class files, {} from cache. Took {} ms ({}).",
+                    visited.size(), cache.getReads(), cache.getHits(),
+                    metrics.getTotalMillis(), metrics);
         } catch (ClassNotFoundException | InstantiationException
                 | IllegalAccessException | IOException e) {
             throw new IllegalStateException(
@@ -238,28 +277,21 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
         // references loaded by the specific class finder loader
         Class<? extends Annotation> routeClass = getFinder()
                 .loadClass(Route.class.getName());
-        for (Class<?> route : getFinder().getAnnotatedClasses(routeClass)) {
-            collectEndpoints(route);
-        }
-
-        for (Class<?> initListener : getFinder().getSubTypesOf(
-                getFinder().loadClass(UIInitListener.class.getName()))) {
-            collectEndpoints(initListener);
-        }
-
-        for (Class<?> initListener : getFinder().getSubTypesOf(getFinder()
-                .loadClass(VaadinServiceInitListener.class.getName()))) {
-            collectEndpoints(initListener);
-        }
-
-        for (Class<?> appShell : getFinder().getSubTypesOf(
-                getFinder().loadClass(AppShellConfigurator.class.getName()))) {
-            collectEndpoints(appShell);
-        }
-
-        for (Class<?> errorParameters : getFinder().getSubTypesOf(
-                getFinder().loadClass(HasErrorParameter.class.getName()))) {
-            collectEndpoints(errorParameters);
+        List<Class<?>> entries = new ArrayList<>(
+                getFinder().getAnnotatedClasses(routeClass));
+        entries.addAll(getFinder().getSubTypesOf(
+                getFinder().loadClass(UIInitListener.class.getName())));
+        entries.addAll(getFinder().getSubTypesOf(getFinder()
+                .loadClass(VaadinServiceInitListener.class.getName())));
+        entries.addAll(getFinder().getSubTypesOf(
+                getFinder().loadClass(AppShellConfigurator.class.getName())));
+        entries.addAll(getFinder().getSubTypesOf(
+                getFinder().loadClass(HasErrorParameter.class.getName())));
+
+        prefetch(entries.stream().map(Class::getName)
+                .collect(Collectors.toList()));
+        for (Class<?> entry : entries) {
+            collectEndpoints(entry);
         }
     }
 
@@ -501,6 +533,8 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
 
         HashMap<String, EndPointData> exportedPoints = new HashMap<>();
 
+        prefetch(exporterClasses.stream().map(Class::getName)
+                .collect(Collectors.toList()));
         for (Class<?> exporter : exporterClasses) {
             String exporterClassName = exporter.getName();
             EndPointData exporterData = new EndPointData(exporter);
@@ -544,17 +578,14 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
         }
         endPoint.getClasses().add(className);
 
-        URL url = getUrl(className);
-        if (url == null) {
+        ClassInfo info = getClassInfo(className);
+        if (info == ClassInfo.NOT_FOUND) {
             return endPoint;
         }
 
         FrontendClassVisitor visitor = new FrontendClassVisitor(className,
                 endPoint, themeScope);
-        try (InputStream is = url.openStream()) {
-            ClassReader cr = new ClassReader(is);
-            cr.accept(visitor, ClassReader.EXPAND_FRAMES);
-        }
+        info.accept(visitor);
 
         // all classes visited by the scanner, used for performance (#5933)
         visited.add(className);
@@ -592,8 +623,71 @@ public class FrontendDependencies extends AbstractDependenciesScanner {
         return getFinder().getResource(className.replace(".", "/") + ".class");
     }
 
+    private ClassInfo getClassInfo(String className) throws IOException {
+        ClassInfo info = classInfos.get(className);
+        if (info == null) {
+            URL url = getUrl(className);
+            info = url == null ? ClassInfo.NOT_FOUND : cache.get(url);
+            classInfos.put(className, info);
+        }
+        return info;
+    }
+
+    /*
+     * Reads the class files reachable from the given classes in parallel, so
+     * that the visits, which must run in a fixed order to produce the same
+     * result every time, only need to replay them.
+     */
+    private void prefetch(Collection<String> classNames) throws IOException {
+        try {
+            ForkJoinPool.commonPool().invoke(new Prefetch(null, classNames));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void saveCache() {
+        try {
+            cache.save();
+        } catch (IOException e) {
+            log().warn("Unable to save the frontend scan cache", e);
+        }
+    }
+
     @Override
     public String toString() {
         return endPoints.toString();
     }
+
+    /**
+     * Reads the given classes and forks a task for the classes referenced by
+     * each of them. Classes are only read once per scan.
+     */
+    private final class Prefetch extends CountedCompleter<Void> {
+        private final Collection<String> classNames;
+
+        private Prefetch(Prefetch parent, Collection<String> classNames) {
+            super(parent);
+            this.classNames = classNames;
+        }
+
+        @Override
+        public void compute() {
+            for (String className : classNames) {
+                if (isVisitable(className) && prefetched.add(className)) {
+                    Set<String> references;
+                    try {
+                        references = getClassInfo(className).getReferences();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    if (!references.isEmpty()) {
+                        addToPendingCount(1);
+                        new Prefetch(this, references).fork();
+                    }
+                }
+            }
+            tryComplete();
+        }
+    }
 }
@@ -96,7 +96,7 @@ class FullDependenciesScanner extends AbstractDependenciesScanner {
     FullDependenciesScanner(ClassFinder finder,
             SerializableBiFunction<Class<?>, Class<? extends Annotation>, List<? extends Annotation>> annotationFinder) {
         super(finder);
-        long start = System.currentTimeMillis();
+        ScanMetrics metrics = new ScanMetrics();
         this.annotationFinder = annotationFinder;
         try {
             abstractTheme = finder.loadClass(AbstractTheme.class.getName());
@@ -106,6 +106,7 @@ class FullDependenciesScanner extends AbstractDependenciesScanner {
         }
 
         packages = discoverPackages();
+        metrics.endPhase("packages");
 
         Map<String, Set<String>> themeModules = new HashMap<>();
         LinkedHashSet<String> regularModules = new LinkedHashSet<>();
@@ -115,22 +116,27 @@ class FullDependenciesScanner extends AbstractDependenciesScanner {
                         themeModules),
                 JsModule.class,
                 module -> getAnnotationValueAsString(module, VALUE));
+        metrics.endPhase("modules");
 
         collectAnnotationValues((clazz, script) -> {
             classes.add(clazz.getName());
             scripts.add(script);
         }, JavaScript.class,
                 module -> getAnnotationValueAsString(module, VALUE));
+        metrics.endPhase("scripts");
         cssData = discoverCss();
+        metrics.endPhase("css");
 
         discoverTheme();
 
         modules = calculateModules(regularModules, themeModules);
+        metrics.endPhase("theme");
 
         pwaConfiguration = discoverPwa();
+        metrics.endPhase("pwa");
 
-        getLogger().info("Visited {} classes. Took {} ms.", getClasses().size(),
-                System.currentTimeMillis() - start);
+        getLogger().info("Visited {} classes. Took {} ms ({}).",
+                getClasses().size(), metrics.getTotalMillis(), metrics);
     }
 
     @Override
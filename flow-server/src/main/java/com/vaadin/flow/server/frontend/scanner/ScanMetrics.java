@@ -0,0 +1,74 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend.scanner;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Measures the time spent in the consecutive phases of a dependency scan.
+ *
+ * @author Vaadin Ltd
+ * @since
+ */
+final class ScanMetrics {
+
+    private final long start = System.nanoTime();
+    private long phaseStart = start;
+    private final Map<String, Long> phases = new LinkedHashMap<>();
+
+    /**
+     * Ends the current phase and records its duration under the given name.
+     * The next phase starts immediately.
+     *
+     * @param name
+     *            the name of the phase that ended
+     */
+    void endPhase(String name) {
+        long now = System.nanoTime();
+        phases.merge(name, now - phaseStart, Long::sum);
+        phaseStart = now;
+    }
+
+    /**
+     * Gets the duration of a recorded phase.
+     *
+     * @param name
+     *            the name of the phase
+     * @return the duration in milliseconds, 0 if the phase is not recorded
+     */
+    long getPhaseMillis(String name) {
+        return TimeUnit.NANOSECONDS.toMillis(phases.getOrDefault(name, 0L));
+    }
+
+    /**
+     * Gets the time elapsed since the scan started.
+     *
+     * @return the elapsed time in milliseconds
+     */
+    long getTotalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+    }
+
+    @Override
+    public String toString() {
+        return phases.keySet().stream()
+                .map(name -> name + " " + getPhaseMillis(name) + " ms")
+                .collect(Collectors.joining(", "));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.dom;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+
+import com.vaadin.flow.component.UI;
+import com.vaadin.flow.testcategory.SlowTests;
+
+/**
+ * Measures the heap retained by attached elements with a few attributes and
+ * properties, after their changes have been collected.
+ * <p>
+ * The measurement depends on the JVM, its flags and the garbage collector, so
+ * the test is excluded from the default build and only run with the
+ * <code>all-tests</code> profile.
+ */
+@Category(SlowTests.class)
+public class ElementMemoryUsageTest {
+
+    private static final int ELEMENT_COUNT = 20000;
+
+    /*
+     * Around 520 bytes with compressed oops and 750 bytes before the compact
+     * node maps. Leave room for other JVM configurations and GC inaccuracy.
+     */
+    private static final long MAX_BYTES_PER_ELEMENT = 1000;
+
+    @Test
+    public void attachedElementsWithAttributesAndProperties_bytesPerElement() {
+        // Warm up so that class loading and lazy initialization are excluded
+        createElements(ELEMENT_COUNT);
+
+        long usedBefore = usedHeap();
+        List<Element> elements = createElements(ELEMENT_COUNT);
+        long bytesPerElement = (usedHeap() - usedBefore) / ELEMENT_COUNT;
+
+        Assert.assertEquals(ELEMENT_COUNT, elements.size());
+        Assert.assertTrue("Bytes per element: " + bytesPerElement,
+                bytesPerElement < MAX_BYTES_PER_ELEMENT);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage()
+                .getUsed();
+    }
+
+    private static List<Element> createElements(int count) {
+        UI ui = new UI();
+        List<Element> elements = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Element element = new Element("div");
+            element.setAttribute("id", "element-" + i);
+            element.setAttribute("class", "item");
+            element.setAttribute("title", "Item");
+            element.setProperty("value", i);
+            element.setProperty("label", "Label");
+            element.setProperty("checked", true);
+            ui.getElement().appendChild(element);
+            elements.add(element);
+        }
+        ui.getInternals().getStateTree().collectChanges(change -> {
+        });
+        return elements;
+    }
+}
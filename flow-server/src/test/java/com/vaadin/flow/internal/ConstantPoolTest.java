@@ -15,16 +15,27 @@
  */
 package com.vaadin.flow.internal;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+
 import org.junit.Assert;
 import org.junit.Test;
 
+import com.vaadin.flow.function.SerializableFunction;
 import com.vaadin.flow.internal.ConstantPool;
 import com.vaadin.flow.internal.ConstantPoolKey;
+import com.vaadin.flow.internal.SharedConstantRegistry;
 
 import elemental.json.Json;
 import elemental.json.JsonObject;
+import elemental.json.JsonValue;
+import elemental.json.impl.JsonUtil;
 
 public class ConstantPoolTest {
+    private static final SerializableFunction<JsonValue, Long> COLLIDING_HASH = json -> 0x5eed_c011_1510_4e5dL;
+
     private ConstantPool constantPool = new ConstantPool();
 
     @Test
@@ -74,4 +85,123 @@ public class ConstantPoolTest {
         Assert.assertNotEquals(constantId, otherId);
         Assert.assertTrue(constantPool.hasNewConstants());
     }
+
+    @Test
+    public void sameValueDifferentKeyOrder_sameId() {
+        JsonObject first = Json.createObject();
+        first.put("a", 1);
+        first.put("b", "foo");
+        JsonObject second = Json.createObject();
+        second.put("b", "foo");
+        second.put("a", 1);
+
+        Assert.assertEquals(new ConstantPoolKey(first).getStructuralId(),
+                new ConstantPoolKey(second).getStructuralId());
+    }
+
+    @Test
+    public void similarValues_differentIds() {
+        Assert.assertNotEquals(
+                new ConstantPoolKey(JsonUtil.parse("[\"a\",\"b\"]")).getStructuralId(),
+                new ConstantPoolKey(JsonUtil.parse("[\"b\",\"a\"]")).getStructuralId());
+        Assert.assertNotEquals(
+                new ConstantPoolKey(Json.parse("{\"a\":\"b\"}")).getStructuralId(),
+                new ConstantPoolKey(Json.parse("{\"b\":\"a\"}")).getStructuralId());
+        Assert.assertNotEquals(new ConstantPoolKey(Json.create(1)).getStructuralId(),
+                new ConstantPoolKey(Json.create("1")).getStructuralId());
+    }
+
+    @Test
+    public void sameValueInPoolsSharingRegistry_sameIdOwnJsonInstance() {
+        SharedConstantRegistry registry = new SharedConstantRegistry();
+        ConstantPool pool = new ConstantPool(() -> registry);
+        ConstantPool otherPool = new ConstantPool(() -> registry);
+        JsonObject value = Json.parse("{\"shared\":[1,2]}");
+        JsonObject otherValue = Json.parse("{\"shared\":[1,2]}");
+
+        String id = pool.getConstantId(new ConstantPoolKey(value));
+        String otherId = otherPool
+                .getConstantId(new ConstantPoolKey(otherValue));
+
+        Assert.assertEquals(id, otherId);
+        Assert.assertSame(value, pool.dumpConstants().get(id));
+        Assert.assertSame(otherValue, otherPool.dumpConstants().get(otherId));
+    }
+
+    @Test
+    public void poolsWithDifferentRegistries_independent() {
+        ConstantPool otherPool = new ConstantPool();
+        constantPool.getConstantId(new ConstantPoolKey(Json.create("first")));
+
+        String id = otherPool
+                .getConstantId(new ConstantPoolKey(Json.create("second")));
+
+        // Both values are the first one in their registry
+        Assert.assertEquals(
+                new ConstantPoolKey(Json.create("second")).getStructuralId(), id);
+        Assert.assertTrue(otherPool.hasNewConstants());
+    }
+
+    @Test
+    public void hashCollision_differentIds() {
+        ConstantPoolKey first = new ConstantPoolKey(Json.create("first"),
+                COLLIDING_HASH);
+        ConstantPoolKey second = new ConstantPoolKey(Json.create("second"),
+                COLLIDING_HASH);
+
+        String firstId = constantPool.getConstantId(first);
+        String secondId = constantPool.getConstantId(second);
+
+        Assert.assertNotEquals(firstId, secondId);
+        JsonObject dump = constantPool.dumpConstants();
+        Assert.assertEquals("first", dump.getString(firstId));
+        Assert.assertEquals("second", dump.getString(secondId));
+    }
+
+    @Test
+    public void registryFull_newValuesGetDigestIds() {
+        SharedConstantRegistry registry = new SharedConstantRegistry();
+        for (int i = 0; i < SharedConstantRegistry.MAX_SHARED_VALUES; i++) {
+            Assert.assertEquals(i,
+                    registry.register(new ConstantPoolKey(Json.create(i))));
+        }
+        ConstantPool pool = new ConstantPool(() -> registry);
+        ConstantPoolKey first = new ConstantPoolKey(Json.create("first"),
+                COLLIDING_HASH);
+        ConstantPoolKey second = new ConstantPoolKey(Json.create("second"),
+                COLLIDING_HASH);
+
+        String firstId = pool.getConstantId(first);
+        String secondId = pool.getConstantId(second);
+
+        Assert.assertEquals(-1, registry.register(first));
+        Assert.assertNotEquals(firstId, secondId);
+        Assert.assertNotEquals(first.getStructuralId(), firstId);
+        Assert.assertEquals(firstId, pool.getConstantId(
+                new ConstantPoolKey(Json.create("first"), COLLIDING_HASH)));
+        Assert.assertEquals(2, pool.dumpConstants().keys().length);
+    }
+
+    @Test
+    public void serializedPool_remembersKnownValues() throws Exception {
+        ConstantPoolKey shared = new ConstantPoolKey(Json.create("shared"));
+        constantPool.getConstantId(shared);
+        constantPool.dumpConstants();
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(constantPool);
+        }
+        ConstantPool deserialized;
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes.toByteArray()))) {
+            deserialized = (ConstantPool) in.readObject();
+        }
+
+        deserialized.getConstantId(shared);
+        Assert.assertFalse(deserialized.hasNewConstants());
+
+        deserialized.getConstantId(new ConstantPoolKey(Json.create("new")));
+        Assert.assertTrue(deserialized.hasNewConstants());
+    }
 }
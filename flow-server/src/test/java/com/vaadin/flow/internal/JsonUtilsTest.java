@@ -15,6 +15,7 @@
  */
 package com.vaadin.flow.internal;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -407,4 +408,37 @@ public class JsonUtilsTest {
         Assert.assertEquals("bean2", json.getObject("two").getString("string"));
     }
 
+    @Test
+    public void writeJson_sameOutputAsToJson() throws IOException {
+        JsonObject object = Json.createObject();
+        object.put("string", "quote \" and \u2028 and \n");
+        object.put("int", 42);
+        object.put("double", 3.14);
+        object.put("nan", Double.NaN);
+        object.put("bool", true);
+        object.put("null", Json.createNull());
+        object.put("10", "ten");
+        object.put("2", "two");
+        object.put("$H", "skipped");
+        object.put("empty", Json.createObject());
+        object.put("array", createTestArray1());
+        object.put("nested", createTestObject1());
+
+        JsonArray array = Json.createArray();
+        array.set(0, object);
+        array.set(1, Json.createArray());
+        array.set(2, -0.5);
+
+        assertWriteJson(object);
+        assertWriteJson(array);
+        assertWriteJson(Json.create("plain"));
+        assertWriteJson(Json.create(1e21));
+    }
+
+    private static void assertWriteJson(JsonValue value) throws IOException {
+        StringBuilder builder = new StringBuilder();
+        JsonUtils.writeJson(value, builder);
+        Assert.assertEquals(value.toJson(), builder.toString());
+    }
+
 }
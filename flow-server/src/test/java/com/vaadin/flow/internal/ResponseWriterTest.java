@@ -18,6 +18,7 @@ package com.vaadin.flow.internal;
 
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.net.MalformedURLException;
@@ -25,6 +26,7 @@ import java.net.URL;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
@@ -40,12 +42,15 @@ import javax.servlet.ServletOutputStream;
 import javax.servlet.WriteListener;
 import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
 
 import org.apache.commons.fileupload.MultipartStream;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Matchers;
 import org.mockito.Mockito;
 
@@ -91,6 +96,9 @@ public class ResponseWriterTest {
                 createFileURLWithDataAndLength(FAULTY_CLASS_PATH_GZ, fileJsGzippedContents));
     }
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private ServletContext servletContext;
     private HttpServletRequest request;
     private HttpServletResponse response;
@@ -524,6 +532,94 @@ public class ResponseWriterTest {
         assertStatus(206);
     }
 
+    @Test
+    public void writeDataFromFile() throws IOException {
+        String path = createFileOnDisk();
+        assertResponse(path, fileJsContents);
+    }
+
+    @Test
+    public void writeByteRangeFromFile() throws IOException {
+        String path = createFileOnDisk();
+        mockRequestHeaders(new Pair<>("Range", "bytes=5-10"));
+        assertResponse(path, "js con".getBytes());
+        assertResponseHeaders(new Pair<>("Content-Range", "bytes 5-10/16"));
+        assertStatus(206);
+    }
+
+    @Test
+    public void writeByteRangeMultiPartNonSequentialFromFile()
+            throws IOException {
+        String path = createFileOnDisk();
+        mockRequestHeaders(new Pair<>("Range", "bytes=10-12, 1-4, 5-6"));
+        // "File.js contents"
+        // ^0123456789ABCDEF^
+        assertMultipartResponse(path, Arrays.asList(
+                new Pair<>(new String[] {"Content-Range: bytes 10-12/16"},
+                        "nte".getBytes()),
+                new Pair<>(new String[] {"Content-Range: bytes 1-4/16"},
+                        "ile.".getBytes()),
+                new Pair<>(new String[] {"Content-Range: bytes 5-6/16"},
+                        "js".getBytes())));
+        assertStatus(206);
+    }
+
+    @Test
+    public void writeDataFromFile_sendfileSupported_fileSentByContainer()
+            throws IOException {
+        String path = createFileOnDisk();
+        Mockito.when(
+                request.getAttribute("org.apache.tomcat.sendfile.support"))
+                .thenReturn(Boolean.TRUE);
+        mockRequestHeaders(new Pair<>("Range", "bytes=5-10"));
+
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        responseWriter.writeResponseContents(path, pathToUrl.get(path),
+                request, response);
+
+        Assert.assertEquals(0, out.getOutput().length);
+        Assert.assertEquals(6, responseContentLength.get());
+        Mockito.verify(request).setAttribute(
+                "org.apache.tomcat.sendfile.filename",
+                new File(pathToUrl.get(path).getPath()).getCanonicalPath());
+        Mockito.verify(request)
+                .setAttribute("org.apache.tomcat.sendfile.start", 5L);
+        Mockito.verify(request).setAttribute("org.apache.tomcat.sendfile.end",
+                11L);
+    }
+
+    @Test
+    public void writeDataFromFile_sendfileSupportedButResponseWrapped_fileWritten()
+            throws IOException {
+        String path = createFileOnDisk();
+        Mockito.when(
+                request.getAttribute("org.apache.tomcat.sendfile.support"))
+                .thenReturn(Boolean.TRUE);
+        mockRequestHeaders(new Pair<>("Range", "bytes=5-10"));
+
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        // e.g. a compressing filter
+        HttpServletResponse wrapped = new HttpServletResponseWrapper(response);
+        responseWriter.writeResponseContents(path, pathToUrl.get(path),
+                request, wrapped);
+
+        Assert.assertArrayEquals(Arrays.copyOfRange(fileJsContents, 5, 11),
+                out.getOutput());
+        Mockito.verify(request, Mockito.never()).setAttribute(
+                Mockito.eq("org.apache.tomcat.sendfile.filename"),
+                Mockito.any());
+    }
+
+    private String createFileOnDisk() throws IOException {
+        File file = temporaryFolder.newFile("file.js");
+        Files.write(file.toPath(), fileJsContents);
+        String path = "/static/disk/file.js";
+        pathToUrl.put(path, file.toURI().toURL());
+        return path;
+    }
+
     private void assertResponse(byte[] expectedResponse) throws IOException {
         assertResponse(PATH_JS, expectedResponse);
     }
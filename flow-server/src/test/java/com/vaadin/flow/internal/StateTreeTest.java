@@ -19,6 +19,7 @@ package com.vaadin.flow.internal;
 import java.lang.ref.WeakReference;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
@@ -673,4 +674,98 @@ public class StateTreeTest {
                 remaining.hasFeature(PushConfigurationParametersMap.class));
 
     }
+
+    @Test
+    public void markAsDirty_sameNodeTwice_changesCollectedOnce() {
+        StateNode node = StateNodeTest.createTestNode("node",
+                ElementPropertyMap.class);
+        StateNodeTest.setParent(node, tree.getRootNode());
+        tree.collectChanges(c -> {
+        });
+
+        node.getFeature(ElementPropertyMap.class).setProperty("foo", "bar");
+        node.markAsDirty();
+        node.markAsDirty();
+
+        Assert.assertEquals(Collections.singleton(node),
+                tree.collectDirtyNodes());
+
+        List<NodeChange> changes = new ArrayList<>();
+        tree.collectChanges(changes::add);
+
+        Assert.assertEquals(1, changes.size());
+        Assert.assertSame(node, changes.get(0).getNode());
+        Assert.assertFalse(tree.hasDirtyNodes());
+    }
+
+    @Test
+    public void collectChanges_nodeMarkedDirtyDuringCollection_dirtyInNextRound() {
+        StateNode node = StateNodeTest.createTestNode("node",
+                ElementPropertyMap.class);
+        StateNodeTest.setParent(node, tree.getRootNode());
+        tree.collectChanges(c -> {
+        });
+
+        node.getFeature(ElementPropertyMap.class).setProperty("foo", "bar");
+        tree.collectChanges(change -> node.markAsDirty());
+
+        Assert.assertEquals(Collections.singleton(node),
+                tree.collectDirtyNodes());
+
+        tree.collectChanges(c -> {
+        });
+        Assert.assertFalse(tree.hasDirtyNodes());
+    }
+
+    @Test
+    public void collectChanges_collectorThrows_remainingNodesCanBeMarkedDirtyAgain() {
+        StateNode first = StateNodeTest.createTestNode("first",
+                ElementPropertyMap.class);
+        StateNode second = StateNodeTest.createTestNode("second",
+                ElementPropertyMap.class);
+        StateNodeTest.setParent(first, tree.getRootNode());
+        StateNodeTest.setParent(second, tree.getRootNode());
+        tree.collectChanges(c -> {
+        });
+
+        first.getFeature(ElementPropertyMap.class).setProperty("foo", "bar");
+        second.getFeature(ElementPropertyMap.class).setProperty("foo", "baz");
+        try {
+            tree.collectChanges(change -> {
+                throw new IllegalStateException("Encoding failed");
+            });
+            Assert.fail("Exception from the collector should be rethrown");
+        } catch (IllegalStateException expected) {
+            // expected
+        }
+        Assert.assertFalse(tree.hasDirtyNodes());
+
+        second.markAsDirty();
+
+        Assert.assertEquals(Collections.singleton(second),
+                tree.collectDirtyNodes());
+        List<NodeChange> changes = new ArrayList<>();
+        tree.collectChanges(changes::add);
+        Assert.assertTrue(changes.stream()
+                .anyMatch(change -> change.getNode() == second));
+    }
+
+    @Test
+    public void markAsDirty_nodeMovedToOtherTree_dirtyInOtherTree() {
+        StateTree otherTree = new UI().getInternals().getStateTree();
+        StateNode node = StateNodeTest.createEmptyNode("node");
+        StateNodeTest.setParent(node, tree.getRootNode());
+
+        node.removeFromTree();
+        StateNodeTest.setParent(node, otherTree.getRootNode());
+
+        Assert.assertTrue(otherTree.collectDirtyNodes().contains(node));
+
+        tree.collectChanges(c -> {
+        });
+        node.markAsDirty();
+
+        Assert.assertTrue(otherTree.collectDirtyNodes().contains(node));
+        Assert.assertFalse(tree.collectDirtyNodes().contains(node));
+    }
 }
@@ -0,0 +1,237 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.internal;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.vaadin.flow.internal.StaticResourceCache.CachedResource;
+
+public class StaticResourceCacheTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private StaticResourceCache cache = new StaticResourceCache(10000);
+
+    @Test
+    public void load_compressibleResource_gzipVariantCreated()
+            throws IOException {
+        byte[] data = repeat("body { color: red; }\n", 100);
+        File file = writeFile("styles.css", data);
+
+        CachedResource resource = cache.load("/styles.css", file.toURI().toURL(),
+                null, null, true);
+
+        Assert.assertArrayEquals(data,
+                toBytes(resource.getContent(StaticResourceCache.IDENTITY)));
+        Assert.assertTrue(resource.hasEncoding(StaticResourceCache.GZIP));
+        Assert.assertFalse(resource.hasEncoding(StaticResourceCache.BROTLI));
+        byte[] gzipped = toBytes(
+                resource.getContent(StaticResourceCache.GZIP));
+        Assert.assertTrue(gzipped.length < data.length);
+        Assert.assertArrayEquals(data, IOUtils.toByteArray(
+                new GZIPInputStream(new ByteArrayInputStream(gzipped))));
+        Assert.assertSame(resource, cache.get("/styles.css"));
+    }
+
+    @Test
+    public void load_notCompressible_noGzipVariant() throws IOException {
+        File file = writeFile("image.png", repeat("a", 2000));
+
+        CachedResource resource = cache.load("/image.png", file.toURI().toURL(),
+                null, null, false);
+
+        Assert.assertFalse(resource.hasEncoding(StaticResourceCache.GZIP));
+    }
+
+    @Test
+    public void load_precompressedVariants_used() throws IOException {
+        File file = writeFile("app.js", repeat("foo();", 200));
+        File gzip = writeFile("app.js.gz", "gzip".getBytes());
+        File brotli = writeFile("app.js.br", "brotli".getBytes());
+
+        CachedResource resource = cache.load("/app.js", file.toURI().toURL(),
+                gzip.toURI().toURL(), brotli.toURI().toURL(), true);
+
+        Assert.assertArrayEquals("gzip".getBytes(),
+                toBytes(resource.getContent(StaticResourceCache.GZIP)));
+        Assert.assertArrayEquals("brotli".getBytes(),
+                toBytes(resource.getContent(StaticResourceCache.BROTLI)));
+    }
+
+    @Test
+    public void getContent_independentBuffers() throws IOException {
+        File file = writeFile("file.txt", "content".getBytes());
+        CachedResource resource = cache.load("/file.txt", file.toURI().toURL(),
+                null, null, true);
+
+        resource.getContent(StaticResourceCache.IDENTITY).get(new byte[3]);
+
+        Assert.assertEquals(7,
+                resource.getContent(StaticResourceCache.IDENTITY).remaining());
+    }
+
+    @Test
+    public void etag_strongAndContentBased() throws IOException {
+        File first = writeFile("first.txt", "content".getBytes());
+        File second = writeFile("second.txt", "content".getBytes());
+        File other = writeFile("other.txt", "other content".getBytes());
+
+        CachedResource firstResource = cache.load("/first.txt",
+                first.toURI().toURL(), null, null, false);
+        CachedResource secondResource = cache.load("/second.txt",
+                second.toURI().toURL(), null, null, false);
+        CachedResource otherResource = cache.load("/other.txt",
+                other.toURI().toURL(), null, null, false);
+
+        String etag = firstResource.getETag(StaticResourceCache.IDENTITY);
+        Assert.assertTrue(etag.startsWith("\""));
+        Assert.assertTrue(etag.endsWith("\""));
+        Assert.assertEquals(etag,
+                secondResource.getETag(StaticResourceCache.IDENTITY));
+        Assert.assertNotEquals(etag,
+                otherResource.getETag(StaticResourceCache.IDENTITY));
+        Assert.assertNotEquals(etag,
+                firstResource.getETag(StaticResourceCache.GZIP));
+    }
+
+    @Test
+    public void matchesETag() throws IOException {
+        File file = writeFile("file.txt", "content".getBytes());
+        CachedResource resource = cache.load("/file.txt", file.toURI().toURL(),
+                null, null, false);
+        String etag = resource.getETag(StaticResourceCache.IDENTITY);
+
+        Assert.assertTrue(resource.matchesETag(etag));
+        Assert.assertTrue(resource.matchesETag("W/" + etag));
+        Assert.assertTrue(resource.matchesETag("\"foo\", " + etag));
+        Assert.assertTrue(
+                resource.matchesETag(resource.getETag(StaticResourceCache.GZIP)));
+        Assert.assertTrue(resource.matchesETag("*"));
+        Assert.assertFalse(resource.matchesETag("\"foo\""));
+        Assert.assertFalse(resource.matchesETag(null));
+    }
+
+    @Test
+    public void load_exceedsMaxSize_leastRecentlyUsedEvicted()
+            throws IOException {
+        File first = writeFile("first.txt", new byte[4000]);
+        File second = writeFile("second.txt", new byte[4000]);
+        File third = writeFile("third.txt", new byte[4000]);
+
+        cache.load("/first.txt", first.toURI().toURL(), null, null, false);
+        cache.load("/second.txt", second.toURI().toURL(), null, null, false);
+        // Make the first one the most recently used
+        cache.get("/first.txt");
+        cache.load("/third.txt", third.toURI().toURL(), null, null, false);
+
+        Assert.assertNotNull(cache.get("/first.txt"));
+        Assert.assertNull(cache.get("/second.txt"));
+        Assert.assertNotNull(cache.get("/third.txt"));
+        Assert.assertEquals(8000, cache.getSize());
+    }
+
+    @Test
+    public void load_largerThanMaxSize_notCached() throws IOException {
+        File file = writeFile("large.bin", new byte[20000]);
+
+        Assert.assertNull(cache.load("/large.bin", file.toURI().toURL(), null,
+                null, false));
+        Assert.assertNull(cache.get("/large.bin"));
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void load_largerThanMaxSize_notReadAgainUntilModified()
+            throws IOException {
+        File file = writeFile("large.bin", new byte[20000]);
+        URL url = file.toURI().toURL();
+        cache.load("/large.bin", url, null, null, false);
+        long lastModified = file.lastModified();
+
+        // Same timestamp, the earlier result is trusted
+        Files.write(file.toPath(), "small".getBytes());
+        Assert.assertTrue(file.setLastModified(lastModified));
+        Assert.assertNull(cache.load("/large.bin", url, null, null, false));
+
+        Assert.assertTrue(file.setLastModified(lastModified + 10000));
+        CachedResource resource = cache.load("/large.bin", url, null, null,
+                false);
+        Assert.assertNotNull(resource);
+        Assert.assertArrayEquals("small".getBytes(),
+                toBytes(resource.getContent(StaticResourceCache.IDENTITY)));
+    }
+
+    @Test
+    public void load_largeFile_memoryMapped() throws IOException {
+        StaticResourceCache largeCache = new StaticResourceCache(
+                10 * StaticResourceCache.MAPPED_THRESHOLD);
+        byte[] data = new byte[StaticResourceCache.MAPPED_THRESHOLD + 1];
+        Arrays.fill(data, (byte) 7);
+        File file = writeFile("large.bin", data);
+
+        CachedResource resource = largeCache.load("/large.bin",
+                file.toURI().toURL(), null, null, false);
+
+        ByteBuffer content = resource.getContent(StaticResourceCache.IDENTITY);
+        Assert.assertTrue(content.isDirect());
+        Assert.assertArrayEquals(data, toBytes(content));
+    }
+
+    @Test
+    public void clear_allRemoved() throws IOException {
+        File file = writeFile("file.txt", "content".getBytes());
+        cache.load("/file.txt", file.toURI().toURL(), null, null, false);
+
+        cache.clear();
+
+        Assert.assertNull(cache.get("/file.txt"));
+        Assert.assertEquals(0, cache.getSize());
+    }
+
+    private File writeFile(String name, byte[] data) throws IOException {
+        File file = temporaryFolder.newFile(name);
+        Files.write(file.toPath(), data);
+        return file;
+    }
+
+    private static byte[] repeat(String value, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(value);
+        }
+        return builder.toString().getBytes();
+    }
+
+    private static byte[] toBytes(ByteBuffer buffer) {
+        byte[] bytes = new byte[buffer.remaining()];
+        buffer.get(bytes);
+        return bytes;
+    }
+}
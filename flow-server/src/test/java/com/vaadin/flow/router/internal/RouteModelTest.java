@@ -275,6 +275,70 @@ public class RouteModelTest {
         }
     }
 
+    @Test
+    public void immutable_model_reuses_resolved_navigation_route_target() {
+        RouteModel mutable = getRouteModel();
+        RouteModel immutable = RouteModel.copy(mutable, false);
+
+        assertNavigation(immutable, "trunk/branch/12", Branch.class,
+                parameters("id", "12"));
+        assertNavigation(immutable, "trunk/branch/12", Branch.class,
+                parameters("id", "12"));
+        assertNavigation(immutable, "trunk/branch/a", null, null);
+        assertNavigation(immutable, "trunk/branch/a", null, null);
+
+        Assert.assertSame(immutable.getNavigationRouteTarget("trunk/twig/a"),
+                immutable.getNavigationRouteTarget("trunk/twig/a"));
+        Assert.assertNotSame(mutable.getNavigationRouteTarget("trunk/twig/a"),
+                mutable.getNavigationRouteTarget("trunk/twig/a"));
+    }
+
+    @Test
+    public void immutable_model_navigation_cache_is_bounded() {
+        RouteModel immutable = RouteModel.copy(getRouteModel(), false);
+
+        NavigationRouteTarget first = immutable
+                .getNavigationRouteTarget("trunk/branch/0");
+        for (int i = 1; i <= RouteModel.NAVIGATION_CACHE_SIZE; i++) {
+            immutable.getNavigationRouteTarget("trunk/branch/" + i);
+        }
+
+        NavigationRouteTarget resolvedAgain = immutable
+                .getNavigationRouteTarget("trunk/branch/0");
+        Assert.assertNotSame(first, resolvedAgain);
+        assertNavigation(immutable, "trunk/branch/0", Branch.class,
+                parameters("id", "0"));
+    }
+
+    @Test
+    public void immutable_model_provides_url_and_template_format() {
+        RouteModel immutable = RouteModel.copy(getRouteModel(), false);
+
+        final String template = "trunk/branch/:id("
+                + RouteParameterRegex.INTEGER + ")/:list*("
+                + RouteParameterRegex.LONG + ")";
+
+        EnumSet<RouteParameterFormatOption> format = EnumSet
+                .of(RouteParameterFormatOption.NAME);
+        Assert.assertEquals("trunk/branch/:id/:list",
+                immutable.formatTemplate(template, format));
+
+        // The cache must not depend on the caller's set instance
+        format.add(RouteParameterFormatOption.MODIFIER);
+        Assert.assertEquals("trunk/branch/:id/:list*",
+                immutable.formatTemplate(template, format));
+        Assert.assertEquals("trunk/branch/:id/:list",
+                immutable.formatTemplate(template,
+                        EnumSet.of(RouteParameterFormatOption.NAME)));
+
+        assertUrl(immutable, "trunk/twig", "trunk/twig/:leafs*",
+                parameters());
+        assertUrl(immutable, "trunk/twig/a/b", "trunk/twig/:leafs*",
+                parameters("leafs", varargs("a", "b")));
+        assertUrl(immutable, "trunk/twig", "trunk/twig/:leafs*",
+                parameters());
+    }
+
     private void assertUrl(RouteModel root, String expectedUrl,
             String template, RouteParameters parameters) {
         final String modelUrl = root.getUrl(template, parameters);
@@ -440,6 +440,45 @@ public class DevModeHandlerTest {
         servlet.service(request, response);
     }
 
+    @Test
+    public void serveDevModeRequest_webpackStarted_payloadCachedUntilNextCompilation()
+            throws Exception {
+        // Counts the module requests and reports a compilation on /compile
+        FileUtils.write(new File(baseDir, WEBPACK_SERVER),
+                "const http = require('http');\n"
+                        + "const port = Number.parseInt(process.argv["
+                        + "process.argv.indexOf('--port') + 1]);\n"
+                        + "let count = 0;\n"
+                        + "const server = new http.Server((req, res) => {\n"
+                        + "  if (req.url === '/compile') {\n"
+                        + "    console.log('[wps]: Compiled.');\n"
+                        + "  }\n"
+                        + "  res.writeHead(200);\n"
+                        + "  res.end(req.url.startsWith('/VAADIN/') "
+                        + "? String(++count) : '{}');\n"
+                        + "});\n"
+                        + "server.listen(port, "
+                        + "() => console.log('[wps]: Compiled.'));\n"
+                        + "setTimeout(() => process.exit(), 10000);\n",
+                StandardCharsets.UTF_8);
+        DevModeHandler handler = DevModeHandler.start(createDevModeLookup(),
+                npmFolder, CompletableFuture.completedFuture(null));
+        handler.join();
+
+        assertEquals("1", serveAndGetPayload(handler, "/VAADIN/foo.js"));
+        assertEquals("1", serveAndGetPayload(handler, "/VAADIN/foo.js"));
+        assertEquals("2", serveAndGetPayload(handler, "/VAADIN/bar.js"));
+
+        handler.prepareConnection("/compile", "GET").getResponseCode();
+        String payload = "1";
+        for (int i = 0; i < 50 && "1".equals(payload); i++) {
+            Thread.sleep(100); // NOSONAR
+            payload = serveAndGetPayload(handler, "/VAADIN/foo.js");
+        }
+        assertEquals("3", payload);
+        assertEquals("4", serveAndGetPayload(handler, "/VAADIN/bar.js"));
+    }
+
     @Test
     public void should_GetStatsJson_From_Webpack() throws Exception {
         VaadinService vaadinService = mock(VaadinService.class);
@@ -765,6 +804,21 @@ public class DevModeHandlerTest {
         return response;
     }
 
+    private String serveAndGetPayload(DevModeHandler handler, String uri)
+            throws IOException {
+        HttpServletResponse response = prepareResponse();
+        ServletOutputStream output = response.getOutputStream();
+        ByteArrayOutputStream payload = new ByteArrayOutputStream();
+        Mockito.doAnswer(invocation -> {
+            Object[] args = invocation.getArguments();
+            payload.write((byte[]) args[0], (int) args[1], (int) args[2]);
+            return null;
+        }).when(output).write(Mockito.any(byte[].class), Mockito.anyInt(),
+                Mockito.anyInt());
+        assertTrue(handler.serveDevModeRequest(prepareRequest(uri), response));
+        return new String(payload.toByteArray(), StandardCharsets.UTF_8);
+    }
+
     private int prepareHttpServer(int port, int status, String response)
             throws Exception {
         if (port == 0) {
@@ -0,0 +1,217 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.vaadin.flow.server.communication.streaming.StreamingEndEventImpl;
+import com.vaadin.flow.server.communication.streaming.StreamingErrorEventImpl;
+import com.vaadin.flow.server.communication.streaming.StreamingStartEventImpl;
+
+public class FileStreamVariableTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private final AtomicInteger completeCount = new AtomicInteger();
+    private File file;
+    private FileStreamVariable variable;
+    private byte[] content;
+
+    @Before
+    public void setUp() throws IOException {
+        file = new File(temporaryFolder.getRoot(), "upload");
+        variable = new FileStreamVariable(file) {
+            @Override
+            protected void uploadComplete() {
+                completeCount.incrementAndGet();
+            }
+        };
+        content = new byte[100_000];
+        new Random(42).nextBytes(content);
+    }
+
+    @Test
+    public void singleRequestOfUnknownLength_fileAndDigestWritten()
+            throws Exception {
+        variable.streamingStarted(
+                new StreamingStartEventImpl("upload", "bin", -1));
+        try (OutputStream out = variable.getOutputStream()) {
+            out.write(content, 0, 40_000);
+            out.write(content, 40_000, content.length - 40_000);
+        }
+        Assert.assertFalse(variable.isComplete());
+        variable.streamingFinished(
+                new StreamingEndEventImpl("upload", "bin", content.length));
+
+        assertComplete();
+    }
+
+    @Test
+    public void chunksInReverseOrder_fileAndDigestWritten() throws Exception {
+        int chunkSize = 30_000;
+        for (int start = (content.length - 1) / chunkSize
+                * chunkSize; start >= 0; start -= chunkSize) {
+            sendChunk(start, Math.min(chunkSize, content.length - start));
+        }
+
+        assertComplete();
+    }
+
+    @Test
+    public void chunksInParallel_fileAndDigestWritten() throws Exception {
+        int chunkSize = 10_000;
+        List<Integer> starts = new ArrayList<>();
+        for (int start = 0; start < content.length; start += chunkSize) {
+            starts.add(start);
+        }
+        Collections.shuffle(starts, new Random(1));
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int start : starts) {
+                futures.add(executor.submit(() -> {
+                    sendChunk(start, chunkSize);
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertComplete();
+    }
+
+    @Test
+    public void firstChunkPreallocatesFile() throws Exception {
+        sendChunk(0, 1000);
+
+        Assert.assertEquals(content.length, file.length());
+        Assert.assertEquals(content.length, variable.getTotalLength());
+        Assert.assertEquals(1000, variable.getReceivedBytes());
+        Assert.assertFalse(variable.isComplete());
+        Assert.assertNull(variable.getDigest());
+    }
+
+    @Test
+    public void failedChunkIsNotCounted_resentChunkCompletesFile()
+            throws Exception {
+        int half = content.length / 2;
+        OutputStream out;
+        synchronized (this) {
+            variable.streamingStarted(new StreamingStartEventImpl("upload",
+                    "bin", half, 0, content.length));
+            out = variable.getOutputStream();
+        }
+        out.write(content, 0, 100);
+        // Dropped connection
+        out.close();
+        variable.streamingFailed(new StreamingErrorEventImpl("upload", "bin",
+                half, 100, new IOException()));
+        Assert.assertEquals(0, variable.getReceivedBytes());
+
+        sendChunk(half, content.length - half);
+        Assert.assertEquals(content.length - half,
+                variable.getReceivedBytes());
+        sendChunk(0, half);
+
+        assertComplete();
+    }
+
+    @Test
+    public void duplicateChunkClosedAfterFileComplete_ignored()
+            throws Exception {
+        int half = content.length / 2;
+        OutputStream duplicate;
+        synchronized (this) {
+            variable.streamingStarted(new StreamingStartEventImpl("upload",
+                    "bin", content.length - half, half, content.length));
+            duplicate = variable.getOutputStream();
+        }
+        duplicate.write(content, half, content.length - half);
+
+        sendChunk(half, content.length - half);
+        sendChunk(0, half);
+        assertComplete();
+
+        // A retry of the second half that was still open
+        duplicate.close();
+        synchronized (this) {
+            variable.streamingFinished(new StreamingEndEventImpl("upload",
+                    "bin", content.length - half));
+        }
+
+        assertComplete();
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknownDigestAlgorithm_throws() {
+        new FileStreamVariable(file, "foo");
+    }
+
+    private void sendChunk(int start, int length) throws IOException {
+        OutputStream out;
+        // The handler calls these with the session locked
+        synchronized (this) {
+            variable.streamingStarted(new StreamingStartEventImpl("upload",
+                    "bin", length, start, content.length));
+            out = variable.getOutputStream();
+        }
+        for (int offset = start; offset < start + length; offset += 4096) {
+            out.write(content, offset,
+                    Math.min(4096, start + length - offset));
+        }
+        out.close();
+        synchronized (this) {
+            variable.streamingFinished(
+                    new StreamingEndEventImpl("upload", "bin", length));
+        }
+    }
+
+    private void assertComplete()
+            throws IOException, NoSuchAlgorithmException {
+        Assert.assertTrue(variable.isComplete());
+        Assert.assertEquals(1, completeCount.get());
+        Assert.assertEquals(content.length, variable.getReceivedBytes());
+        Assert.assertArrayEquals(content, Files.readAllBytes(file.toPath()));
+        Assert.assertArrayEquals(
+                MessageDigest.getInstance("SHA-256").digest(content),
+                variable.getDigest());
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SessionLockTest {
+
+    @Test
+    public void lockAndUnlock_statisticsUpdated() throws InterruptedException {
+        SessionLock lock = new SessionLock();
+
+        lock.lock();
+        Thread.sleep(5);
+        lock.unlock();
+
+        Assert.assertEquals(1, lock.getAcquireCount());
+        Assert.assertTrue(lock.getTotalHoldTime().toMillis() >= 5);
+        Assert.assertEquals(lock.getTotalHoldTime(), lock.getMaxHoldTime());
+        Assert.assertTrue(lock.getLongestHolderStackTrace().length > 0);
+    }
+
+    @Test
+    public void reentrantLock_countedOnce() {
+        SessionLock lock = new SessionLock();
+
+        lock.lock();
+        lock.lock();
+        Assert.assertTrue(lock.tryLock());
+        lock.unlock();
+        lock.unlock();
+        Assert.assertEquals(0, lock.getLongestHolderStackTrace().length);
+        lock.unlock();
+
+        Assert.assertEquals(1, lock.getAcquireCount());
+        Assert.assertFalse(lock.isLocked());
+    }
+
+    @Test
+    public void contendedLock_waitTimeRecorded() throws InterruptedException {
+        SessionLock lock = new SessionLock();
+        CountDownLatch locked = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            lock.lock();
+            try {
+                locked.countDown();
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        });
+        holder.start();
+        locked.await();
+
+        lock.lock();
+        lock.unlock();
+        holder.join();
+
+        Assert.assertEquals(2, lock.getAcquireCount());
+        Assert.assertTrue(lock.getMaxWaitTime().toMillis() > 0);
+        Assert.assertTrue(lock.getMaxHoldTime().toMillis() > 0);
+    }
+
+    @Test
+    public void lockHeldByOtherThread_timeoutExceeded_throws()
+            throws InterruptedException {
+        SessionLock lock = new SessionLock(false, 10);
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread holder = new Thread(() -> {
+            lock.lock();
+            try {
+                locked.countDown();
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } finally {
+                lock.unlock();
+            }
+        }, "lock-holder");
+        holder.start();
+        locked.await();
+
+        try {
+            lock.lock();
+            Assert.fail("Lock should not be acquired");
+        } catch (SessionLockTimeoutException e) {
+            Assert.assertTrue(e.getMessage(),
+                    e.getMessage().contains("lock-holder"));
+            Assert.assertTrue(lock.getHolderStackTrace().length > 0);
+        } finally {
+            release.countDown();
+            holder.join();
+        }
+
+        Assert.assertFalse(lock.isLocked());
+        Assert.assertEquals(1, lock.getAcquireCount());
+    }
+
+    @Test
+    public void timeout_interrupted_keepsWaitingAndRestoresInterrupt()
+            throws InterruptedException {
+        SessionLock lock = new SessionLock(false, 10000);
+        AtomicReference<Boolean> interrupted = new AtomicReference<>();
+        lock.lock();
+        Thread waiter = new Thread(() -> {
+            lock.lock();
+            interrupted.set(Thread.currentThread().isInterrupted());
+            lock.unlock();
+        });
+        waiter.start();
+        while (!lock.hasQueuedThread(waiter)) {
+            Thread.sleep(1);
+        }
+        waiter.interrupt();
+        Thread.sleep(10);
+        Assert.assertTrue(waiter.isAlive());
+        lock.unlock();
+        waiter.join(TimeUnit.SECONDS.toMillis(10));
+
+        Assert.assertEquals(Boolean.TRUE, interrupted.get());
+    }
+
+    @Test
+    public void fairLock() {
+        Assert.assertTrue(new SessionLock(true, 0).isFair());
+        Assert.assertFalse(new SessionLock().isFair());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeTimeout_throws() {
+        new SessionLock(false, -1);
+    }
+
+    @Test
+    public void clearStatistics() {
+        SessionLock lock = new SessionLock();
+        lock.lock();
+        lock.unlock();
+
+        lock.clearStatistics();
+
+        Assert.assertEquals(0, lock.getAcquireCount());
+        Assert.assertEquals(0, lock.getMaxHoldTime().toNanos());
+        Assert.assertEquals(0, lock.getLongestHolderStackTrace().length);
+    }
+}
@@ -37,7 +37,9 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.After;
 import org.junit.Assert;
 import org.junit.Before;
@@ -794,6 +796,144 @@ public class StaticFileServerTest implements Serializable {
                 responseCode.get());
     }
 
+    @Test
+    public void resourceCacheEnabled_serveStaticResource_etagAndCompressedVariant()
+            throws IOException {
+        enableResourceCache();
+        setupRequestURI("", "/some", "/file.js");
+        Mockito.when(servletContext.getMimeType("/some/file.js"))
+                .thenReturn("application/javascript");
+        Mockito.when(request.getHeader("Accept-Encoding"))
+                .thenReturn("gzip, deflate");
+        byte[] fileData = repeat("function() {eval('foo');};", 100);
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        fileData, 123000L));
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+
+        Assert.assertEquals("gzip", headers.get("Content-Encoding"));
+        Assert.assertEquals("Accept-Encoding", headers.get("Vary"));
+        Assert.assertNotNull(headers.get("ETag"));
+        Assert.assertEquals(123000L, (long) dateHeaders.get("Last-Modified"));
+        Assert.assertEquals(out.getOutput().length,
+                responseContentLength.get());
+        Assert.assertArrayEquals(fileData, IOUtils.toByteArray(
+                new GZIPInputStream(new ByteArrayInputStream(out.getOutput()))));
+    }
+
+    @Test
+    public void resourceCacheEnabled_secondRequest_resourceNotLookedUpAgain()
+            throws IOException {
+        enableResourceCache();
+        setupRequestURI("", "/some", "/file.js");
+        byte[] fileData = "function() {eval('foo');};"
+                .getBytes(StandardCharsets.UTF_8);
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        fileData));
+        Mockito.when(response.getOutputStream())
+                .thenReturn(new CapturingServletOutputStream());
+        fileServer.serveStaticResource(request, response);
+
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.isStaticResourceRequest(request));
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+
+        Mockito.verify(servletService, Mockito.times(1))
+                .getStaticResource("/some/file.js");
+        Assert.assertArrayEquals(fileData, out.getOutput());
+    }
+
+    @Test
+    public void resourceCacheEnabled_ifNoneMatchCurrentETag_notModified()
+            throws IOException {
+        enableResourceCache();
+        setupRequestURI("", "/some", "/file.js");
+        byte[] fileData = "function() {eval('foo');};"
+                .getBytes(StandardCharsets.UTF_8);
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        fileData));
+        Mockito.when(response.getOutputStream())
+                .thenReturn(new CapturingServletOutputStream());
+        fileServer.serveStaticResource(request, response);
+        String etag = headers.get("ETag");
+
+        Mockito.when(request.getHeader("If-None-Match")).thenReturn(etag);
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+
+        Assert.assertEquals(HttpServletResponse.SC_NOT_MODIFIED,
+                responseCode.get());
+        Assert.assertEquals(0, out.getOutput().length);
+        Assert.assertEquals(etag, headers.get("ETag"));
+    }
+
+    @Test
+    public void resourceCacheEnabled_ifNoneMatchOtherETag_contentWritten()
+            throws IOException {
+        enableResourceCache();
+        setupRequestURI("", "/some", "/file.js");
+        Mockito.when(request.getHeader("If-None-Match"))
+                .thenReturn("\"outdated\"");
+        // If-None-Match takes precedence over If-Modified-Since
+        Mockito.when(request.getDateHeader("If-Modified-Since"))
+                .thenReturn(123000L);
+        byte[] fileData = "function() {eval('foo');};"
+                .getBytes(StandardCharsets.UTF_8);
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        fileData, 123000L));
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        Mockito.when(response.getOutputStream()).thenReturn(out);
+
+        Assert.assertTrue(fileServer.serveStaticResource(request, response));
+
+        Assert.assertNotEquals(HttpServletResponse.SC_NOT_MODIFIED,
+                responseCode.get());
+        Assert.assertArrayEquals(fileData, out.getOutput());
+    }
+
+    @Test
+    public void resourceCacheEnabled_nonProductionMode_resourceNotCached()
+            throws IOException {
+        Mockito.when(configuration.isProductionMode()).thenReturn(false);
+        enableResourceCache();
+        setupRequestURI("", "/some", "/file.js");
+        byte[] fileData = "function() {eval('foo');};"
+                .getBytes(StandardCharsets.UTF_8);
+        Mockito.when(servletService.getStaticResource("/some/file.js"))
+                .thenReturn(createFileURLWithDataAndLength("/some/file.js",
+                        fileData));
+        Mockito.when(response.getOutputStream())
+                .thenReturn(new CapturingServletOutputStream());
+
+        fileServer.serveStaticResource(request, response);
+        fileServer.serveStaticResource(request, response);
+
+        Mockito.verify(servletService, Mockito.times(2))
+                .getStaticResource("/some/file.js");
+        Assert.assertNull(headers.get("ETag"));
+    }
+
+    private void enableResourceCache() {
+        Mockito.when(configuration.getStaticResourceCacheSize()).thenReturn(1);
+        fileServer = new OverrideableStaticFileServer(servletService);
+    }
+
+    private static byte[] repeat(String value, int times) {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < times; i++) {
+            builder.append(value);
+        }
+        return builder.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
     @Test
     public void serveStaticResourceFromWebjarWithIncorrectPath()
             throws IOException {
@@ -25,7 +25,15 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -45,6 +53,7 @@ import com.vaadin.flow.internal.UsageStatistics;
 import com.vaadin.flow.router.RouteConfiguration;
 import com.vaadin.flow.router.RouteData;
 import com.vaadin.flow.router.Router;
+import com.vaadin.flow.server.VaadinService.AccessQueueMetrics;
 import com.vaadin.flow.server.communication.PwaHandler;
 import com.vaadin.flow.server.communication.StreamRequestHandler;
 import com.vaadin.flow.server.communication.WebComponentBootstrapHandler;
@@ -162,6 +171,23 @@ public class VaadinServiceTest {
                 1, listener.callCount);
     }
 
+    @Test
+    public void createSessionLock_configuredSessionLockCreated() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_SESSION_LOCK_FAIR, "true");
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_SESSION_LOCK_TIMEOUT, "500");
+        VaadinService service = new MockVaadinServletService(configuration);
+
+        ReentrantLock lock = service
+                .createSessionLock(Mockito.mock(WrappedSession.class));
+
+        Assert.assertTrue(lock instanceof SessionLock);
+        Assert.assertTrue(lock.isFair());
+        Assert.assertEquals(500, ((SessionLock) lock).getTimeout());
+    }
+
     @Test
     public void captionIsSetToACriticalNotification() {
         String notification = createCriticalNotification("foobar", "message",
@@ -269,6 +295,160 @@ public class VaadinServiceTest {
                 "Original value", CurrentInstance.get(String.class));
     }
 
+    @Test
+    public void accessSession_noBatching_tasksRunRightAway() {
+        VaadinService service = new MockVaadinServletService();
+        MockVaadinSession session = new MockVaadinSession(service);
+        List<String> log = new ArrayList<>();
+
+        service.accessSession(session, () -> log.add("first"));
+        service.accessSession(session, () -> log.add("second"));
+
+        Assert.assertEquals(Arrays.asList("first", "second"), log);
+        Assert.assertEquals(2,
+                service.getAccessQueueMetrics().getBatchCount());
+        Assert.assertEquals(2, service.getAccessQueueMetrics().getTaskCount());
+        Assert.assertEquals(1,
+                service.getAccessQueueMetrics().getMaxBatchSize());
+    }
+
+    @Test
+    public void accessSession_batchingWindow_tasksRunTogether()
+            throws Exception {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_ACCESS_BATCH_WINDOW, "50");
+        VaadinService service = new MockVaadinServletService(configuration);
+        MockVaadinSession session = new MockVaadinSession(service);
+        List<String> log = new CopyOnWriteArrayList<>();
+
+        service.accessSession(session, () -> log.add("first"));
+        service.accessSession(session, () -> log.add("second"));
+        Future<Void> last = service.accessSession(session,
+                () -> log.add("third"));
+
+        Assert.assertTrue(log.isEmpty());
+        last.get(10, TimeUnit.SECONDS);
+        // Wait for the batch to be completed
+        session.lock();
+        session.unlock();
+        Assert.assertEquals(Arrays.asList("first", "second", "third"), log);
+
+        AccessQueueMetrics metrics = service.getAccessQueueMetrics();
+        Assert.assertEquals(1, metrics.getBatchCount());
+        Assert.assertEquals(3, metrics.getTaskCount());
+        Assert.assertEquals(3.0, metrics.getAverageBatchSize(), 0);
+        Assert.assertTrue(metrics.getMaxLatency().toMillis() >= 40);
+        service.destroy();
+    }
+
+    @Test
+    public void accessSession_batchSizeReached_tasksRunBeforeWindow() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_ACCESS_BATCH_WINDOW,
+                "100000");
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_ACCESS_BATCH_SIZE, "2");
+        VaadinService service = new MockVaadinServletService(configuration);
+        MockVaadinSession session = new MockVaadinSession(service);
+        List<String> log = new ArrayList<>();
+
+        service.accessSession(session, () -> log.add("first"));
+        Assert.assertTrue(log.isEmpty());
+        service.accessSession(session, () -> log.add("second"));
+
+        Assert.assertEquals(Arrays.asList("first", "second"), log);
+        Assert.assertEquals(1,
+                service.getAccessQueueMetrics().getBatchCount());
+        service.destroy();
+    }
+
+    @Test
+    public void accessSession_batchDrainedByOtherThread_laterTasksStillRun()
+            throws Exception {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_ACCESS_BATCH_WINDOW, "20");
+        BlockingQueue<Runnable> batches = new LinkedBlockingQueue<>();
+        VaadinService service = new MockVaadinServletService(configuration) {
+            @Override
+            Executor getAccessBatchPurgeExecutor() {
+                return batches::add;
+            }
+        };
+        MockVaadinSession session = new MockVaadinSession(service);
+        List<String> log = new ArrayList<>();
+
+        service.accessSession(session, () -> log.add("first"));
+        // Another thread releasing the lock runs the task before the
+        // scheduled purge
+        session.lock();
+        session.unlock();
+        Assert.assertEquals(Collections.singletonList("first"), log);
+
+        // The scheduled purge finds an empty queue
+        batches.take().run();
+        Assert.assertFalse(session.getAccessBatchScheduled().get());
+
+        service.accessSession(session, () -> log.add("second"));
+        Assert.assertEquals(Collections.singletonList("first"), log);
+        batches.take().run();
+
+        Assert.assertEquals(Arrays.asList("first", "second"), log);
+        service.destroy();
+    }
+
+    @Test
+    public void accessSession_slowBatch_otherSessionNotDelayed()
+            throws Exception {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_ACCESS_BATCH_WINDOW, "1");
+        VaadinService service = new MockVaadinServletService(configuration);
+        MockVaadinSession slowSession = new MockVaadinSession(service);
+        MockVaadinSession session = new MockVaadinSession(service);
+        CountDownLatch release = new CountDownLatch(1);
+
+        Future<Void> slow = service.accessSession(slowSession, () -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        Future<Void> other = service.accessSession(session, () -> {
+        });
+
+        try {
+            other.get(10, TimeUnit.SECONDS);
+            Assert.assertFalse(slow.isDone());
+        } finally {
+            release.countDown();
+        }
+        slow.get(10, TimeUnit.SECONDS);
+        service.destroy();
+    }
+
+    @Test
+    public void accessSession_batchingAndSessionLocked_tasksRunOnUnlock() {
+        MockDeploymentConfiguration configuration = new MockDeploymentConfiguration();
+        configuration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_ACCESS_BATCH_WINDOW,
+                "100000");
+        VaadinService service = new MockVaadinServletService(configuration);
+        MockVaadinSession session = new MockVaadinSession(service);
+        List<String> log = new ArrayList<>();
+
+        session.lock();
+        service.accessSession(session, () -> log.add("task"));
+        Assert.assertTrue(log.isEmpty());
+        session.unlock();
+
+        Assert.assertEquals(Collections.singletonList("task"), log);
+        service.destroy();
+    }
+
     @Test
     public void testBootstrapListenersCreation() throws ServiceException {
         // in this test the actual behavior of the listeners is not evaluated.
@@ -47,6 +47,7 @@ import com.vaadin.flow.di.Lookup;
 import com.vaadin.flow.internal.UsageStatistics;
 import com.vaadin.flow.server.AppShellRegistry;
 import com.vaadin.flow.server.DevModeHandler;
+import com.vaadin.flow.server.InitParameters;
 import com.vaadin.flow.server.MockServletServiceSessionSetup;
 import com.vaadin.flow.server.VaadinContext;
 import com.vaadin.flow.server.VaadinRequest;
@@ -658,6 +659,70 @@ public class IndexHtmlRequestHandlerTest {
                 UI.getCurrent().getInternals().getAppShellTitle());
     }
 
+    @Test
+    public void compiledIndexHtml_sameContentAsModifiedDocument()
+            throws IOException {
+        AppShellRegistry registry = AppShellRegistry.getInstance(context);
+        registry.setShell(MyAppShellWithConfigurator.class);
+        mocks.setAppShellRegistry(registry);
+        Mockito.when(session.getCsrfToken()).thenReturn("foo");
+        deploymentConfiguration.setProductionMode(true);
+
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/some/path"), response);
+        String modified = responseOutput
+                .toString(StandardCharsets.UTF_8.name());
+
+        responseOutput.reset();
+        deploymentConfiguration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_COMPILED_INDEX_HTML, "true");
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/some/path"), response);
+        String compiled = responseOutput
+                .toString(StandardCharsets.UTF_8.name());
+
+        assertEquals(modified, compiled);
+        Assert.assertTrue(compiled.contains("<base href=\"./..\""));
+        Assert.assertTrue(compiled
+                .contains("window.Vaadin = {TypeScript: {\"csrfToken\":\"foo\""));
+    }
+
+    @Test
+    public void compiledIndexHtml_listenerRegistered_listenerModifiesDocument()
+            throws IOException {
+        deploymentConfiguration.setProductionMode(true);
+        deploymentConfiguration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_COMPILED_INDEX_HTML, "true");
+        service.addIndexHtmlRequestListener(evt -> evt.getDocument().head()
+                .appendElement("script").attr("src", "testing.1"));
+
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/"), response);
+
+        String indexHtml = responseOutput
+                .toString(StandardCharsets.UTF_8.name());
+        Assert.assertTrue(indexHtml.contains("testing.1"));
+    }
+
+    @Test
+    public void compiledIndexHtml_eagerServerLoad_titleStoredToUI()
+            throws IOException {
+        deploymentConfiguration.setProductionMode(true);
+        deploymentConfiguration.setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_COMPILED_INDEX_HTML, "true");
+        deploymentConfiguration.setEagerServerLoad(true);
+
+        indexHtmlRequestHandler.synchronizedHandleRequest(session,
+                createVaadinRequest("/"), response);
+
+        assertEquals("Flow Test CCDM",
+                UI.getCurrent().getInternals().getAppShellTitle());
+        String indexHtml = responseOutput
+                .toString(StandardCharsets.UTF_8.name());
+        Assert.assertTrue(indexHtml
+                .contains("window.Vaadin = {TypeScript: {\"initial\":"));
+    }
+
     @After
     public void tearDown() throws Exception {
         session.unlock();
@@ -33,6 +33,7 @@ import com.vaadin.flow.dom.NodeVisitor.ElementType;
 import com.vaadin.flow.dom.TestNodeVisitor;
 import com.vaadin.flow.dom.impl.BasicElementStateProvider;
 import com.vaadin.flow.server.AppShellRegistry;
+import com.vaadin.flow.server.InitParameters;
 import com.vaadin.flow.server.MockServletServiceSessionSetup;
 import com.vaadin.flow.server.MockServletServiceSessionSetup.TestVaadinServletResponse;
 import com.vaadin.flow.server.VaadinRequest;
@@ -116,6 +117,21 @@ public class JavaScriptBootstrapHandlerTest {
                 json.getObject("appConfig").getString("requestURL"));
 
         Assert.assertFalse(json.hasKey("pushScript"));
+        Assert.assertFalse(
+                json.getObject("appConfig").hasKey("frameBatching"));
+    }
+
+    @Test
+    public void should_enableFrameBatching_when_configured() throws Exception {
+        mocks.getDeploymentConfiguration().setApplicationOrSystemProperty(
+                InitParameters.SERVLET_PARAMETER_UIDL_FRAME_BATCHING, "true");
+        VaadinRequest request = mocks.createRequest(mocks,
+                "/foo/?v-r=init&foo");
+        jsInitHandler.handleRequest(session, request, response);
+
+        JsonObject json = Json.parse(response.getPayload());
+        Assert.assertTrue(
+                json.getObject("appConfig").getBoolean("frameBatching"));
     }
 
     @Test
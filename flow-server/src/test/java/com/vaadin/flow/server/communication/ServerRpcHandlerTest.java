@@ -3,6 +3,12 @@ package com.vaadin.flow.server.communication;
 import java.io.IOException;
 import java.io.Reader;
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -21,7 +27,11 @@ import com.vaadin.flow.server.VaadinRequest;
 import com.vaadin.flow.server.VaadinService;
 import com.vaadin.flow.server.VaadinSession;
 import com.vaadin.flow.server.communication.ServerRpcHandler.InvalidUIDLSecurityKeyException;
+import com.vaadin.flow.server.communication.rpc.RpcInvocationHandler;
 import com.vaadin.flow.shared.ApplicationConstants;
+import com.vaadin.flow.shared.JsonConstants;
+
+import elemental.json.JsonObject;
 
 public class ServerRpcHandlerTest {
     private VaadinRequest request;
@@ -126,4 +136,72 @@ public class ServerRpcHandlerTest {
 
         handler.handleRpc(ui, Mockito.mock(Reader.class), request);
     }
+
+    @Test
+    public void handleRpc_repeatedMapSync_onlyLatestValueHandledBeforeOtherInvocations()
+            throws InvalidUIDLSecurityKeyException, IOException {
+        List<String> handled = new ArrayList<>();
+        ServerRpcHandler handler = new ServerRpcHandler() {
+            @Override
+            protected String getMessage(Reader reader) throws IOException {
+                return "{\"rpc\":[" + mapSync(1, "value", "a") + ","
+                        + "{\"type\":\"event\",\"node\":1,\"event\":\"input\"},"
+                        + mapSync(2, "value", "x") + ","
+                        + mapSync(1, "value", "ab") + ","
+                        + mapSync(1, "checked", "true") + "]}";
+            }
+
+            @Override
+            protected Map<String, RpcInvocationHandler> getInvocationHandlers() {
+                Map<String, RpcInvocationHandler> handlers = new HashMap<>();
+                handlers.put(JsonConstants.RPC_TYPE_MAP_SYNC,
+                        createRecordingHandler(handled));
+                handlers.put(JsonConstants.RPC_TYPE_EVENT,
+                        createRecordingHandler(handled));
+                return handlers;
+            }
+        };
+
+        ui = new UI();
+        ui.getInternals().setSession(session);
+
+        handler.handleRpc(ui, Mockito.mock(Reader.class), request);
+
+        // The latest value is handled in the position of the latest sync
+        Assert.assertEquals(Arrays.asList("2 value x", "1 value ab",
+                "1 checked true", "1 input"), handled);
+    }
+
+    private static String mapSync(int node, String property, String value) {
+        return "{\"type\":\"mSync\",\"node\":" + node
+                + ",\"feature\":1,\"property\":\"" + property
+                + "\",\"value\":\"" + value + "\"}";
+    }
+
+    private static RpcInvocationHandler createRecordingHandler(
+            List<String> handled) {
+        return new RpcInvocationHandler() {
+            @Override
+            public String getRpcType() {
+                return null;
+            }
+
+            @Override
+            public Optional<Runnable> handle(UI ui, JsonObject invocationJson) {
+                int node = (int) invocationJson
+                        .getNumber(JsonConstants.RPC_NODE);
+                if (invocationJson.hasKey(JsonConstants.RPC_PROPERTY)) {
+                    handled.add(node + " "
+                            + invocationJson
+                                    .getString(JsonConstants.RPC_PROPERTY)
+                            + " " + invocationJson.getString(
+                                    JsonConstants.RPC_PROPERTY_VALUE));
+                } else {
+                    handled.add(node + " " + invocationJson
+                            .getString(JsonConstants.RPC_EVENT_TYPE));
+                }
+                return Optional.empty();
+            }
+        };
+    }
 }
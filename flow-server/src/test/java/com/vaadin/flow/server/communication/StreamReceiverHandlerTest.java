@@ -1,5 +1,6 @@
 package com.vaadin.flow.server.communication;
 
+import javax.servlet.AsyncContext;
 import javax.servlet.ReadListener;
 import javax.servlet.ServletException;
 import javax.servlet.ServletInputStream;
@@ -27,8 +28,10 @@ import org.mockito.MockitoAnnotations;
 
 import com.vaadin.flow.component.UI;
 import com.vaadin.flow.component.internal.UIInternals;
+import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.internal.StateNode;
 import com.vaadin.flow.internal.StateTree;
+import com.vaadin.flow.server.Command;
 import com.vaadin.flow.server.ErrorHandler;
 import com.vaadin.flow.server.MockVaadinServletService;
 import com.vaadin.flow.server.StreamReceiver;
@@ -73,6 +76,9 @@ public class StreamReceiverHandlerTest {
     private StreamResourceRegistry registry;
 
     private VaadinServletService mockService;
+    private HttpServletRequest servletRequest;
+    private AsyncContext asyncContext;
+    private ReadListener readListener;
 
     private final int uiId = 123;
     private final int nodeId = 1233;
@@ -80,6 +86,7 @@ public class StreamReceiverHandlerTest {
     private final String expectedSecurityKey = "key";
 
     private String contentLength;
+    private String contentRange;
     private ServletInputStream inputStream;
     private OutputStream outputStream;
     private String contentType;
@@ -121,8 +128,7 @@ public class StreamReceiverHandlerTest {
     }
 
     private void mockRequest() throws IOException {
-        HttpServletRequest servletRequest = Mockito
-                .mock(HttpServletRequest.class);
+        servletRequest = Mockito.mock(HttpServletRequest.class);
         when(servletRequest.getContentLength()).thenAnswer(
                 invocationOnMock -> Integer.parseInt(contentLength));
 
@@ -159,6 +165,9 @@ public class StreamReceiverHandlerTest {
                 if ("content-length".equals(name.toLowerCase())) {
                     return contentLength;
                 }
+                if ("content-range".equals(name.toLowerCase())) {
+                    return contentRange;
+                }
                 return super.getHeader(name);
             }
 
@@ -190,8 +199,8 @@ public class StreamReceiverHandlerTest {
             }
 
             @Override
-            public void setReadListener(ReadListener readListener) {
-
+            public void setReadListener(ReadListener listener) {
+                readListener = listener;
             }
 
             int counter = 0;
@@ -391,4 +400,212 @@ public class StreamReceiverHandlerTest {
                 ApplicationConstants.CONTENT_TYPE_TEXT_HTML_UTF_8);
         Mockito.verify(response, Mockito.times(0)).setStatus(Mockito.anyInt());
     }
+
+    @Test
+    public void doHandleXhrFilePost_contentRange_startEventHasPosition()
+            throws IOException {
+        contentRange = "bytes 10-15/100";
+
+        handler.doHandleXhrFilePost(session, request, response, streamReceiver,
+                stateNode, 6);
+
+        ArgumentCaptor<StreamVariable.StreamingStartEvent> startEventCaptor = ArgumentCaptor
+                .forClass(StreamVariable.StreamingStartEvent.class);
+        verify(streamVariable).streamingStarted(startEventCaptor.capture());
+        Assert.assertEquals(10, startEventCaptor.getValue().getPosition());
+        Assert.assertEquals(6, startEventCaptor.getValue().getContentLength());
+        Assert.assertEquals(100, startEventCaptor.getValue().getTotalLength());
+        verify(streamVariable).streamingFinished(Mockito.any());
+    }
+
+    @Test
+    public void doHandleXhrFilePost_contentRangeNotMatchingLength_responseStatusIs500()
+            throws IOException {
+        contentRange = "bytes 10-20/100";
+
+        handler.doHandleXhrFilePost(session, request, response, streamReceiver,
+                stateNode, 6);
+
+        verify(streamVariable, Mockito.times(0))
+                .streamingStarted(Mockito.any());
+        Mockito.verify(response)
+                .setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+    }
+
+    @Test
+    public void asyncUpload_contentReadInListener_responseSentAfterAllDataRead()
+            throws IOException {
+        enableAsyncUpload();
+        outputStream = new ByteArrayOutputStream();
+        when(ui.access(Mockito.any())).thenAnswer(invocation -> {
+            ((Command) invocation.getArguments()[0]).execute();
+            return null;
+        });
+
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+
+        verify(streamVariable).streamingStarted(Mockito.any());
+        verify(asyncContext).setTimeout(0);
+        Mockito.verifyZeroInteractions(responseOutput);
+
+        readListener.onDataAvailable();
+        readListener.onAllDataRead();
+
+        Assert.assertEquals("foobar", new String(
+                ((ByteArrayOutputStream) outputStream).toByteArray()));
+        ArgumentCaptor<StreamVariable.StreamingEndEvent> endEventArgumentCaptor = ArgumentCaptor
+                .forClass(StreamVariable.StreamingEndEvent.class);
+        verify(streamVariable)
+                .streamingFinished(endEventArgumentCaptor.capture());
+        Assert.assertEquals(6,
+                endEventArgumentCaptor.getValue().getContentLength());
+        verify(responseOutput).close();
+        verify(asyncContext).complete();
+        Mockito.verify(response, Mockito.times(0)).setStatus(Mockito.anyInt());
+    }
+
+    @Test
+    public void asyncUpload_pendingProgressEventsAreMerged()
+            throws IOException {
+        enableAsyncUpload();
+        inputStream = createChunkedInputStream("foobar");
+        when(streamVariable.listenProgress()).thenReturn(true);
+        List<Command> pending = new ArrayList<>();
+        when(ui.access(Mockito.any())).thenAnswer(invocation -> {
+            pending.add(((Command) invocation.getArguments()[0]));
+            return null;
+        });
+        handler = new StreamReceiverHandler() {
+            @Override
+            protected int getProgressEventInterval() {
+                return 0;
+            }
+        };
+
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+        readListener.onDataAvailable();
+
+        Assert.assertEquals(1, pending.size());
+        pending.remove(0).execute();
+        ArgumentCaptor<StreamVariable.StreamingProgressEvent> progressCaptor = ArgumentCaptor
+                .forClass(StreamVariable.StreamingProgressEvent.class);
+        verify(streamVariable).onProgress(progressCaptor.capture());
+        Assert.assertEquals(6, progressCaptor.getValue().getBytesReceived());
+        verify(streamVariable, Mockito.times(0)).streamingFinished(Mockito.any());
+
+        readListener.onAllDataRead();
+        Assert.assertEquals(1, pending.size());
+        pending.remove(0).execute();
+
+        verify(streamVariable, Mockito.times(2)).onProgress(Mockito.any());
+        verify(streamVariable).streamingFinished(Mockito.any());
+        verify(asyncContext).complete();
+    }
+
+    @Test
+    public void asyncUpload_uiDetachedBeforeFinishedEventRuns_requestCompleted()
+            throws IOException {
+        enableAsyncUpload();
+        outputStream = new ByteArrayOutputStream();
+        // The UI is detached before the queued command gets the lock, so the
+        // command is never run
+        List<Command> pending = new ArrayList<>();
+        when(ui.access(Mockito.any())).thenAnswer(invocation -> {
+            pending.add(((Command) invocation.getArguments()[0]));
+            return null;
+        });
+
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+        readListener.onDataAvailable();
+        readListener.onAllDataRead();
+
+        Assert.assertEquals(1, pending.size());
+        verify(streamVariable, Mockito.times(0))
+                .streamingFinished(Mockito.any());
+        verify(responseOutput).close();
+        verify(asyncContext).complete();
+        Mockito.verify(response, Mockito.times(0)).setStatus(Mockito.anyInt());
+    }
+
+    @Test
+    public void asyncUpload_interrupted_streamingFailed_responseStatusIs500()
+            throws IOException {
+        enableAsyncUpload();
+        when(streamVariable.isInterrupted()).thenReturn(true);
+        when(ui.access(Mockito.any())).thenAnswer(invocation -> {
+            ((Command) invocation.getArguments()[0]).execute();
+            return null;
+        });
+
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+        readListener.onDataAvailable();
+        readListener.onAllDataRead();
+
+        verify(streamVariable).streamingFailed(Mockito.any());
+        verify(streamVariable, Mockito.times(0)).streamingFinished(Mockito.any());
+        Mockito.verify(response)
+                .setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        verify(asyncContext).complete();
+    }
+
+    @Test
+    public void asyncUpload_outputStreamGetterThrows_responseStatusIs500WithoutAsync()
+            throws IOException {
+        enableAsyncUpload();
+        Mockito.doThrow(RuntimeException.class).when(streamVariable)
+                .getOutputStream();
+
+        handler.handleRequest(session, request, response, streamReceiver,
+                String.valueOf(uiId), expectedSecurityKey);
+
+        verify(streamVariable).streamingFailed(Mockito.any());
+        Mockito.verify(response)
+                .setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+        verify(servletRequest, Mockito.times(0)).startAsync();
+    }
+
+    private void enableAsyncUpload() {
+        DeploymentConfiguration configuration = mock(
+                DeploymentConfiguration.class);
+        when(configuration.isAsyncUpload()).thenReturn(true);
+        when(session.getConfiguration()).thenReturn(configuration);
+        asyncContext = mock(AsyncContext.class);
+        when(servletRequest.isAsyncSupported()).thenReturn(true);
+        when(servletRequest.startAsync()).thenReturn(asyncContext);
+    }
+
+    private ServletInputStream createChunkedInputStream(String content) {
+        ServletInputStream stream = createInputStream(content);
+        return new ServletInputStream() {
+            @Override
+            public boolean isFinished() {
+                return stream.isFinished();
+            }
+
+            @Override
+            public boolean isReady() {
+                return stream.isReady();
+            }
+
+            @Override
+            public void setReadListener(ReadListener listener) {
+                stream.setReadListener(listener);
+            }
+
+            @Override
+            public int read() throws IOException {
+                return stream.read();
+            }
+
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                // One byte at a time to get several progress updates
+                return super.read(b, off, Math.min(len, 1));
+            }
+        };
+    }
 }
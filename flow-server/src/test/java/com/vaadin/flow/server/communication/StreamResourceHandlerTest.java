@@ -17,15 +17,24 @@ package com.vaadin.flow.server.communication;
 
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
 import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 
+import org.junit.Assert;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.mockito.Mockito;
 
+import com.vaadin.flow.internal.ResponseWriterTest.CapturingServletOutputStream;
 import com.vaadin.flow.server.InputStreamFactory;
 import com.vaadin.flow.server.MockVaadinServletService;
 import com.vaadin.flow.server.MockVaadinSession;
@@ -39,10 +48,14 @@ import com.vaadin.tests.util.AlwaysLockedVaadinSession;
 
 public class StreamResourceHandlerTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     private StreamResourceHandler handler = new StreamResourceHandler();
     private MockVaadinSession session;
     private VaadinServletRequest request;
     private VaadinServletResponse response;
+    private HttpServletRequest httpRequest;
 
     @Before
     public void setUp() throws ServletException, ServiceException {
@@ -52,6 +65,8 @@ public class StreamResourceHandlerTest {
         request = Mockito.mock(VaadinServletRequest.class);
         ServletContext context = Mockito.mock(ServletContext.class);
         Mockito.when(request.getServletContext()).thenReturn(context);
+        httpRequest = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(request.getRequest()).thenReturn(httpRequest);
         response = Mockito.mock(VaadinServletResponse.class);
     }
 
@@ -106,4 +121,78 @@ public class StreamResourceHandlerTest {
         Mockito.verify(response)
                 .setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
     }
+
+    @Test
+    public void fileResource_contentAndLengthWritten() throws IOException {
+        byte[] data = "File contents".getBytes(StandardCharsets.UTF_8);
+        File file = temporaryFolder.newFile("report.txt");
+        Files.write(file.toPath(), data);
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        HttpServletResponse httpResponse = Mockito
+                .mock(HttpServletResponse.class);
+        Mockito.when(httpResponse.getOutputStream()).thenReturn(out);
+        VaadinServletResponse servletResponse = new VaadinServletResponse(
+                httpResponse, session.getService());
+
+        handler.handleRequest(session, request, servletResponse,
+                new StreamResource("report.txt", file));
+
+        Assert.assertArrayEquals(data, out.getOutput());
+        Mockito.verify(httpResponse).setHeader("Content-Length",
+                String.valueOf(data.length));
+    }
+
+    @Test
+    public void fileResource_containerSupportsSendfile_fileNotWritten()
+            throws IOException {
+        byte[] data = "File contents".getBytes(StandardCharsets.UTF_8);
+        File file = temporaryFolder.newFile("report.txt");
+        Files.write(file.toPath(), data);
+        mockSendfileSupport();
+        Mockito.when(response.getResponse())
+                .thenReturn(Mockito.mock(HttpServletResponse.class));
+
+        handler.handleRequest(session, request, response,
+                new StreamResource("report.txt", file));
+
+        Mockito.verify(response, Mockito.never()).getOutputStream();
+        Mockito.verify(httpRequest).setAttribute(
+                "org.apache.tomcat.sendfile.filename",
+                file.getCanonicalPath());
+        Mockito.verify(httpRequest)
+                .setAttribute("org.apache.tomcat.sendfile.start", 0L);
+        Mockito.verify(httpRequest).setAttribute(
+                "org.apache.tomcat.sendfile.end", (long) data.length);
+    }
+
+    @Test
+    public void fileResource_responseWrappedByFilter_fileWrittenToResponse()
+            throws IOException {
+        byte[] data = "File contents".getBytes(StandardCharsets.UTF_8);
+        File file = temporaryFolder.newFile("report.txt");
+        Files.write(file.toPath(), data);
+        mockSendfileSupport();
+        CapturingServletOutputStream out = new CapturingServletOutputStream();
+        HttpServletResponse httpResponse = Mockito
+                .mock(HttpServletResponse.class);
+        Mockito.when(httpResponse.getOutputStream()).thenReturn(out);
+        HttpServletResponseWrapper filterResponse = new HttpServletResponseWrapper(
+                httpResponse);
+        VaadinServletResponse servletResponse = new VaadinServletResponse(
+                filterResponse, session.getService());
+
+        handler.handleRequest(session, request, servletResponse,
+                new StreamResource("report.txt", file));
+
+        Assert.assertArrayEquals(data, out.getOutput());
+        Mockito.verify(httpRequest, Mockito.never()).setAttribute(
+                Mockito.eq("org.apache.tomcat.sendfile.filename"),
+                Mockito.any());
+    }
+
+    private void mockSendfileSupport() {
+        Mockito.when(httpRequest
+                .getAttribute("org.apache.tomcat.sendfile.support"))
+                .thenReturn(Boolean.TRUE);
+    }
 }
@@ -17,9 +17,11 @@
 
 package com.vaadin.flow.server.communication;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
 import java.util.Collections;
 import java.util.Properties;
 
@@ -29,6 +31,7 @@ import org.junit.Test;
 import org.mockito.Mockito;
 
 import com.vaadin.flow.component.internal.JavaScriptBootstrapUI;
+import com.vaadin.flow.function.DeploymentConfiguration;
 import com.vaadin.flow.server.DefaultDeploymentConfiguration;
 import com.vaadin.flow.server.HandlerHelper.RequestType;
 import com.vaadin.flow.server.VaadinRequest;
@@ -231,6 +234,52 @@ public class UidlRequestHandlerTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void streamingUidl_writesSameResponseAsStringUidl()
+            throws Exception {
+        byte[] stringResponse = handleUidlRequest(false);
+        byte[] streamingResponse = handleUidlRequest(true);
+
+        Assert.assertArrayEquals(stringResponse, streamingResponse);
+        String out = new String(streamingResponse, StandardCharsets.UTF_8);
+        assertTrue(out.startsWith("for(;;);[{"));
+        assertTrue(out.endsWith("}]"));
+    }
+
+    private byte[] handleUidlRequest(boolean streaming) throws Exception {
+        JavaScriptBootstrapUI ui = mock(JavaScriptBootstrapUI.class);
+        VaadinService service = mock(VaadinService.class);
+        VaadinSession session = mock(VaadinSession.class);
+        DeploymentConfiguration configuration = mock(
+                DeploymentConfiguration.class);
+        when(session.getService()).thenReturn(service);
+        when(service.findUI(request)).thenReturn(ui);
+        when(service.getDeploymentConfiguration()).thenReturn(configuration);
+        when(configuration.isStreamingUidl()).thenReturn(streaming);
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        VaadinResponse response = mock(VaadinResponse.class);
+        when(response.getOutputStream()).thenReturn(out);
+
+        UidlRequestHandler handler = spy(new UidlRequestHandler());
+        doReturn(mock(ServerRpcHandler.class)).when(handler)
+                .createRpcHandler();
+        JsonObject uidl = generateUidl(true, true);
+        uidl.put("text", "\u00e4\u2028\"");
+        doReturn(uidl).when(handler).createUidl(ui, false);
+
+        handler.synchronizedHandleRequest(session, request, response);
+
+        if (streaming) {
+            // Written in chunks while encoding
+            Mockito.verify(response, Mockito.never())
+                    .setContentLength(Mockito.anyInt());
+        } else {
+            Mockito.verify(response).setContentLength(out.size());
+        }
+        return out.toByteArray();
+    }
+
     private JsonObject generateUidl(boolean withLocation, boolean withHash) {
 
         // @formatter:off
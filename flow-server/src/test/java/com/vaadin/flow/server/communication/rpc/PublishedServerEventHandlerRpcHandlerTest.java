@@ -112,6 +112,27 @@ public class PublishedServerEventHandlerRpcHandlerTest {
         }
     }
 
+    public static class ComponentWithHidingMethod extends ComponentWithCompute {
+
+        private boolean isSubclassMethodInvoked;
+
+        @ClientCallable
+        private void method() {
+            isSubclassMethodInvoked = true;
+        }
+    }
+
+    @Tag(Tag.DIV)
+    public static class NumberParameter extends Component {
+
+        private Integer value;
+
+        @ClientCallable
+        private void setValue(Integer value) {
+            this.value = value;
+        }
+    }
+
     public static class CompositeOfComponentWithCompute
             extends Composite<ComponentWithCompute> {
     }
@@ -267,6 +288,13 @@ public class PublishedServerEventHandlerRpcHandlerTest {
                 component.getClass(), "method", args, -1);
     }
 
+    @Test(expected = IllegalArgumentException.class)
+    public void methodOfOtherClass_instanceNotCompatible() {
+        DecoderParameters component = new DecoderParameters();
+        PublishedServerEventHandlerRpcHandler.invokeMethod(component,
+                ComponentWithCompute.class, "method", Json.createArray(), -1);
+    }
+
     @Test
     public void promiseSuccess() {
         int promiseId = 4;
@@ -432,6 +460,52 @@ public class PublishedServerEventHandlerRpcHandlerTest {
                 component.getClass(), "operation1", Json.createArray(), -1);
     }
 
+    @Test
+    public void subclassMethodHidesSuperclassMethod_subclassMethodIsInvoked() {
+        ComponentWithHidingMethod component = new ComponentWithHidingMethod();
+        PublishedServerEventHandlerRpcHandler.invokeMethod(component,
+                component.getClass(), "method", Json.createArray(), -1);
+
+        Assert.assertTrue(component.isSubclassMethodInvoked);
+        Assert.assertFalse(((ComponentWithCompute) component).isInvoked);
+
+        ComponentWithCompute superclassComponent = new ComponentWithCompute();
+        PublishedServerEventHandlerRpcHandler.invokeMethod(
+                superclassComponent, superclassComponent.getClass(), "method",
+                Json.createArray(), -1);
+
+        Assert.assertTrue(superclassComponent.isInvoked);
+    }
+
+    @Test
+    public void methodWithNumberParameter_differentValueTypes_valuesDecoded() {
+        UI ui = new UI();
+        ui.getInternals().setSession(session);
+        NumberParameter component = new NumberParameter();
+        ui.add(component);
+
+        JsonArray args = Json.createArray();
+        args.set(0, 5);
+        PublishedServerEventHandlerRpcHandler.invokeMethod(component,
+                component.getClass(), "setValue", args, -1);
+        Assert.assertEquals(Integer.valueOf(5), component.value);
+
+        args.set(0, "7");
+        PublishedServerEventHandlerRpcHandler.invokeMethod(component,
+                component.getClass(), "setValue", args, -1);
+        Assert.assertEquals(Integer.valueOf(7), component.value);
+
+        args.set(0, Json.createNull());
+        PublishedServerEventHandlerRpcHandler.invokeMethod(component,
+                component.getClass(), "setValue", args, -1);
+        Assert.assertNull(component.value);
+
+        args.set(0, 9);
+        PublishedServerEventHandlerRpcHandler.invokeMethod(component,
+                component.getClass(), "setValue", args, -1);
+        Assert.assertEquals(Integer.valueOf(9), component.value);
+    }
+
     @Test
     public void enabledElement_methodIsInvoked() {
         UI ui = new UI();
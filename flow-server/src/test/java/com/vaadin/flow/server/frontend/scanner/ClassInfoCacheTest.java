@@ -0,0 +1,171 @@
+/*
+ * Copyright 2000-2020 Vaadin Ltd.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not
+ * use this file except in compliance with the License. You may obtain a copy of
+ * the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS, WITHOUT
+ * WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the
+ * License for the specific language governing permissions and limitations under
+ * the License.
+ */
+package com.vaadin.flow.server.frontend.scanner;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.io.IOUtils;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import com.vaadin.flow.server.frontend.scanner.samples.RouteComponent;
+
+public class ClassInfoCacheTest {
+
+    private static final String ENTRY = RouteComponent.class.getName()
+            .replace('.', '/') + ".class";
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private File cacheFile;
+    private byte[] classContent;
+
+    @Before
+    public void setUp() throws IOException {
+        cacheFile = new File(temporaryFolder.getRoot(), "scan.cache");
+        try (InputStream stream = RouteComponent.class
+                .getResourceAsStream("RouteComponent.class")) {
+            classContent = IOUtils.toByteArray(stream);
+        }
+    }
+
+    @Test
+    public void get_classFileNotChanged_infoReadFromCache() throws IOException {
+        URL url = createClassFile().toURI().toURL();
+        ClassInfo scanned = getAndSave(url);
+
+        ClassInfoCache cache = new ClassInfoCache(cacheFile);
+        ClassInfo cached = cache.get(url);
+
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(0, cache.getReads());
+        assertSameVisit(scanned, cached);
+    }
+
+    @Test
+    public void get_classFileModified_classFileReadAgain() throws IOException {
+        File classFile = createClassFile();
+        URL url = classFile.toURI().toURL();
+        getAndSave(url);
+        Assert.assertTrue(
+                classFile.setLastModified(classFile.lastModified() - 10000));
+
+        ClassInfoCache cache = new ClassInfoCache(cacheFile);
+        cache.get(url);
+
+        Assert.assertEquals(0, cache.getHits());
+        Assert.assertEquals(1, cache.getReads());
+    }
+
+    @Test
+    public void get_identicalJarInOtherPath_infoReadFromCache()
+            throws IOException {
+        File jar = createJar("first.jar");
+        getAndSave(getJarUrl(jar));
+        File copy = new File(temporaryFolder.getRoot(), "second.jar");
+        Files.copy(jar.toPath(), copy.toPath());
+
+        ClassInfoCache cache = new ClassInfoCache(cacheFile);
+        cache.get(getJarUrl(copy));
+
+        Assert.assertEquals(1, cache.getHits());
+        Assert.assertEquals(0, cache.getReads());
+    }
+
+    @Test
+    public void get_corruptedCacheFile_classFileRead() throws IOException {
+        FileUtils.writeByteArrayToFile(cacheFile,
+                new byte[] { 0, 0, 0, 1, 0, 0, 0, 1, 0x7f });
+
+        ClassInfoCache cache = new ClassInfoCache(cacheFile);
+        cache.get(createClassFile().toURI().toURL());
+
+        Assert.assertEquals(1, cache.getReads());
+    }
+
+    @Test
+    public void save_noCacheFile_classFileReadEveryTime() throws IOException {
+        URL url = createClassFile().toURI().toURL();
+        ClassInfoCache cache = new ClassInfoCache(null);
+        cache.get(url);
+        cache.save();
+        cache.get(url);
+
+        Assert.assertEquals(0, cache.getHits());
+        Assert.assertEquals(2, cache.getReads());
+        Assert.assertFalse(cacheFile.exists());
+    }
+
+    private ClassInfo getAndSave(URL url) throws IOException {
+        ClassInfoCache cache = new ClassInfoCache(cacheFile);
+        ClassInfo info = cache.get(url);
+        cache.save();
+        return info;
+    }
+
+    private File createClassFile() throws IOException {
+        File classFile = new File(temporaryFolder.getRoot(), ENTRY);
+        FileUtils.writeByteArrayToFile(classFile, classContent);
+        return classFile;
+    }
+
+    private File createJar(String name) throws IOException {
+        File jar = new File(temporaryFolder.getRoot(), name);
+        try (OutputStream out = Files.newOutputStream(jar.toPath());
+                JarOutputStream jarOut = new JarOutputStream(out)) {
+            jarOut.putNextEntry(new JarEntry(ENTRY));
+            jarOut.write(classContent);
+            jarOut.closeEntry();
+        }
+        return jar;
+    }
+
+    private static URL getJarUrl(File jar) throws IOException {
+        return new URL("jar:" + jar.toURI() + "!/" + ENTRY);
+    }
+
+    private static void assertSameVisit(ClassInfo expected, ClassInfo actual) {
+        EndPointData expectedData = visit(expected);
+        EndPointData actualData = visit(actual);
+        Assert.assertEquals("", expectedData.getRoute());
+        Assert.assertEquals(expectedData.getRoute(), actualData.getRoute());
+        Assert.assertEquals(expectedData.getModules(),
+                actualData.getModules());
+        Assert.assertEquals(expectedData.getScripts(),
+                actualData.getScripts());
+        Assert.assertEquals(expected.getReferences(), actual.getReferences());
+    }
+
+    private static EndPointData visit(ClassInfo info) {
+        EndPointData data = new EndPointData(RouteComponent.class);
+        info.accept(new FrontendClassVisitor(RouteComponent.class.getName(),
+                data, false));
+        Assert.assertTrue(data.getModules().contains("foo.js"));
+        return data;
+    }
+}
@@ -1,12 +1,15 @@
 package com.vaadin.flow.server.frontend.scanner;
 
+import java.io.File;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 import com.vaadin.flow.component.dependency.JsModule;
 import com.vaadin.flow.router.Route;
@@ -35,6 +38,9 @@ import static org.junit.Assert.assertTrue;
 
 public class ScannerDependenciesTest {
 
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
     static FrontendDependencies getFrontendDependencies(Class<?>... classes)
             throws Exception {
         FrontendDependencies frontendDependencies = new FrontendDependencies(
@@ -237,4 +243,27 @@ public class ScannerDependenciesTest {
         assertTrue(deps.getModules().contains("dynamic-component.js"));
         assertTrue(deps.getModules().contains("dynamic-layout.js"));
     }
+
+    @Test
+    public void should_findSameDependencies_when_scannedFromCache()
+            throws Exception {
+        File cacheFile = new File(temporaryFolder.getRoot(), "scan.cache");
+        DefaultClassFinder finder = new DefaultClassFinder(
+                new HashSet<>(Arrays.asList(SecondView.class, FirstView.class,
+                        ThirdView.class, RouteInterfaceComponent.class)));
+
+        FrontendDependencies scanned = new FrontendDependencies(finder, true,
+                cacheFile);
+        assertTrue(cacheFile.isFile());
+        FrontendDependencies cached = new FrontendDependencies(finder, true,
+                cacheFile);
+
+        assertEquals(scanned.getModules(), cached.getModules());
+        assertEquals(scanned.getScripts(), cached.getScripts());
+        assertEquals(scanned.getCss(), cached.getCss());
+        assertEquals(scanned.getPackages(), cached.getPackages());
+        assertEquals(scanned.getClasses(), cached.getClasses());
+        assertEquals(scanned.getThemeDefinition().getTheme(),
+                cached.getThemeDefinition().getTheme());
+    }
 }
@@ -19,6 +19,11 @@ package com.vaadin.flow.server.connect;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import javax.annotation.Nullable;
 
@@ -30,6 +35,59 @@ import com.vaadin.flow.internal.ReflectTools;
  */
 public class ExplicitNullableTypeChecker {
 
+    private int itemCheckLimit = -1;
+    private Set<String> disabledEndpoints = Collections.emptySet();
+
+    /**
+     * Sets the maximum number of items to check in each collection, array and
+     * map of a value. Checking only the first items of large return values
+     * makes the check faster, but null items after the limit are not
+     * reported.
+     *
+     * @param itemCheckLimit
+     *            the maximum number of items to check, or a negative value to
+     *            check all items
+     */
+    public void setItemCheckLimit(int itemCheckLimit) {
+        this.itemCheckLimit = itemCheckLimit;
+    }
+
+    /**
+     * Gets the maximum number of items to check in each collection, array and
+     * map of a value.
+     *
+     * @return the maximum number of items to check, or a negative value if
+     *         all items are checked
+     */
+    public int getItemCheckLimit() {
+        return itemCheckLimit;
+    }
+
+    /**
+     * Sets the names of the endpoints whose return values are not checked.
+     *
+     * @param endpointNames
+     *            the endpoint names, not case sensitive
+     */
+    public void setDisabledEndpoints(Collection<String> endpointNames) {
+        disabledEndpoints = endpointNames.stream()
+                .map(name -> name.toLowerCase(Locale.ENGLISH))
+                .collect(Collectors.toSet());
+    }
+
+    /**
+     * Checks whether the return values of the given endpoint are not checked.
+     *
+     * @param endpointName
+     *            the endpoint name, not case sensitive
+     * @return {@code true} if the check is disabled for the endpoint,
+     *         {@code false} otherwise
+     */
+    public boolean isDisabledForEndpoint(String endpointName) {
+        return disabledEndpoints
+                .contains(endpointName.toLowerCase(Locale.ENGLISH));
+    }
+
     /**
      * Validates the given value for the given expected method return value
      * type.
@@ -54,6 +112,7 @@ public class ExplicitNullableTypeChecker {
     }
 
     String checkValueForType(Object value, Type expectedType) {
-        return new ExplicitNullableTypeCheckerHelper().checkValueForType(value, expectedType);
+        return new ExplicitNullableTypeCheckerHelper(itemCheckLimit)
+                .checkValueForType(value, expectedType);
     }
 }
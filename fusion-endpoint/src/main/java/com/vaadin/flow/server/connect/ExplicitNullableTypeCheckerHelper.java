@@ -27,9 +27,12 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.lang.reflect.TypeVariable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -37,6 +40,7 @@ import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.vaadin.flow.internal.ReflectTools;
+import com.vaadin.flow.internal.ReflectionCache;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -46,9 +50,33 @@ import org.slf4j.LoggerFactory;
  */
 class ExplicitNullableTypeCheckerHelper {
 
+    private static final ReflectionCache<Object, BeanCheckPlan> beanCheckPlans = new ReflectionCache<>(
+            BeanCheckPlan::new);
+
     // A map for tracking already visited Beans. 
     private Map<Type, Set<Object>> visitedBeans;
 
+    private final int itemLimit;
+
+    /**
+     * Creates a helper that checks all items of iterables, arrays and maps.
+     */
+    ExplicitNullableTypeCheckerHelper() {
+        this(-1);
+    }
+
+    /**
+     * Creates a helper that checks at most the given number of items of each
+     * iterable, array and map.
+     *
+     * @param itemLimit
+     *            the maximum number of items to check, or a negative value to
+     *            check all items
+     */
+    ExplicitNullableTypeCheckerHelper(int itemLimit) {
+        this.itemLimit = itemLimit;
+    }
+
     private static Logger getLogger() {
         return LoggerFactory.getLogger(VaadinConnectController.class);
     }
@@ -151,7 +179,11 @@ class ExplicitNullableTypeCheckerHelper {
             iterableDescription = "array";
         }
 
+        int checked = 0;
         for (Object item : value) {
+            if (checked++ == itemLimit) {
+                break;
+            }
             String error = checkValueForType(item, itemType);
             if (error != null) {
                 return String.format("Unexpected null item in %s type '%s'. %s",
@@ -170,7 +202,11 @@ class ExplicitNullableTypeCheckerHelper {
                     .getActualTypeArguments()[1];
         }
 
+        int checked = 0;
         for (Map.Entry<?, ?> e : value.entrySet()) {
+            if (checked++ == itemLimit) {
+                break;
+            }
             String error = checkValueForType(e.getValue(), valueType);
             if (error != null) {
                 return String.format(
@@ -184,33 +220,28 @@ class ExplicitNullableTypeCheckerHelper {
     }
 
     private String checkBeanFields(Object value, Type expectedType) {
-        if (hasVisited(value, expectedType)) {
+        BeanCheckPlan plan = beanCheckPlans.get((Class<?>) expectedType);
+        if (plan.introspectionError != null) {
+            return plan.introspectionError;
+        }
+        if (plan.properties.isEmpty() || hasVisited(value, expectedType)) {
             return null;
         }
         markAsVisited(value, expectedType);
-        Class<?> clazz = (Class<?>) expectedType;
         try {
-            for (PropertyDescriptor propertyDescriptor : Introspector
-                    .getBeanInfo(clazz).getPropertyDescriptors()) {
-                if (!isPropertySubjectForChecking(propertyDescriptor)) {
-                    continue;
-                }
-
-                Method readMethod = propertyDescriptor.getReadMethod();
-                Type propertyType = readMethod.getGenericReturnType();
-                Object propertyValue = readMethod.invoke(value);
+            for (BeanProperty property : plan.properties) {
+                Object propertyValue = property.readMethod.invoke(value);
 
-                String error = checkValueForType(propertyValue, propertyType);
+                String error = checkValueForType(propertyValue,
+                        property.type);
                 if (error != null) {
                     return String.format(
                             "Unexpected null value in Java "
                                     + "Bean type '%s' property '%s'. %s",
-                            expectedType.getTypeName(),
-                            propertyDescriptor.getName(), error);
+                            expectedType.getTypeName(), property.name, error);
                 }
             }
-        } catch (IntrospectionException | InvocationTargetException
-                | IllegalAccessException e) {
+        } catch (InvocationTargetException | IllegalAccessException e) {
             getLogger().error(
                     "Cannot check for null property values in Java Bean", e);
             return e.toString();
@@ -219,7 +250,62 @@ class ExplicitNullableTypeCheckerHelper {
         return null;
     }
 
-    private boolean isPropertySubjectForChecking(
+    /**
+     * The properties of a bean type that need to be checked, resolved once
+     * for each type.
+     */
+    private static class BeanCheckPlan {
+        private final List<BeanProperty> properties;
+        private final String introspectionError;
+
+        private BeanCheckPlan(Class<?> type) {
+            List<BeanProperty> checkedProperties = new ArrayList<>();
+            String error = null;
+            try {
+                for (PropertyDescriptor propertyDescriptor : Introspector
+                        .getBeanInfo(type).getPropertyDescriptors()) {
+                    if (!isPropertySubjectForChecking(propertyDescriptor)) {
+                        continue;
+                    }
+                    Method readMethod = propertyDescriptor.getReadMethod();
+                    Type propertyType = readMethod.getGenericReturnType();
+                    // Primitive values are never null, and type variables
+                    // are not checked
+                    if (propertyType instanceof TypeVariable
+                            || (propertyType instanceof Class
+                                    && ((Class<?>) propertyType)
+                                            .isPrimitive())) {
+                        continue;
+                    }
+                    checkedProperties.add(new BeanProperty(
+                            propertyDescriptor.getName(), readMethod,
+                            propertyType));
+                }
+            } catch (IntrospectionException e) {
+                getLogger().error(
+                        "Cannot check for null property values in Java Bean",
+                        e);
+                checkedProperties.clear();
+                error = e.toString();
+            }
+            properties = Collections.unmodifiableList(checkedProperties);
+            introspectionError = error;
+        }
+    }
+
+    private static class BeanProperty {
+        private final String name;
+        private final Method readMethod;
+        private final Type type;
+
+        private BeanProperty(String name, Method readMethod, Type type) {
+            this.name = name;
+            this.readMethod = readMethod;
+            this.type = type;
+        }
+    }
+
+    private static boolean isPropertySubjectForChecking(
             PropertyDescriptor propertyDescriptor) {
         try {
             String name = propertyDescriptor.getName();
@@ -248,7 +334,7 @@ class ExplicitNullableTypeCheckerHelper {
         }
     }
 
-    private boolean isNullable(Field field){
+    private static boolean isNullable(Field field){
         return field.isAnnotationPresent(Nullable.class)
                     || ReflectTools.hasAnnotationWithSimpleName(field, "Id");
     }
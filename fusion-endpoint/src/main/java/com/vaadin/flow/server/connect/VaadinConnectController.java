@@ -19,13 +19,17 @@ import javax.servlet.ServletContext;
 import javax.servlet.http.HttpServletRequest;
 import javax.validation.ConstraintViolation;
 import javax.validation.Validation;
+import javax.validation.ValidationException;
 import javax.validation.Validator;
+import javax.validation.executable.ExecutableValidator;
+import javax.validation.metadata.MethodDescriptor;
 
 import java.io.IOException;
 import java.lang.reflect.AccessibleObject;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.lang.reflect.Type;
+import java.time.Duration;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -37,6 +41,10 @@ import java.util.Locale;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -45,6 +53,7 @@ import com.fasterxml.jackson.annotation.PropertyAccessor;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 import com.googlecode.gentyref.GenericTypeReflector;
 import org.slf4j.Logger;
@@ -111,6 +120,8 @@ public class VaadinConnectController {
     private final ObjectMapper vaadinEndpointMapper;
     private final Validator validator = Validation
             .buildDefaultValidatorFactory().getValidator();
+    private final ExecutableValidator executableValidator = validator
+            .forExecutables();
     private final ExplicitNullableTypeChecker explicitNullableTypeChecker;
     private final ApplicationContext applicationContext;
 
@@ -294,9 +305,10 @@ public class VaadinConnectController {
                             endpointName, methodName, checkError)));
         }
 
+        VaadinEndpointMethod endpointMethod = vaadinEndpointData
+                .getEndpointMethod(methodToInvoke, this::createEndpointMethod);
         Map<String, JsonNode> requestParameters = getRequestParameters(body);
-        Type[] javaParameters = getJavaParameters(methodToInvoke, ClassUtils
-                .getUserClass(vaadinEndpointData.vaadinEndpointObject));
+        Type[] javaParameters = endpointMethod.javaParameters;
         if (javaParameters.length != requestParameters.size()) {
             return ResponseEntity.badRequest()
                     .body(createResponseErrorObject(String.format(
@@ -309,7 +321,7 @@ public class VaadinConnectController {
         Object[] vaadinEndpointParameters;
         try {
             vaadinEndpointParameters = getVaadinEndpointParameters(
-                    requestParameters, javaParameters, methodName,
+                    requestParameters, endpointMethod, methodName,
                     endpointName);
         } catch (EndpointValidationException e) {
             getLogger().debug(
@@ -319,10 +331,11 @@ public class VaadinConnectController {
                     .writeValueAsString(e.getSerializationData()));
         }
 
-        Set<ConstraintViolation<Object>> methodParameterConstraintViolations = validator
-                .forExecutables()
-                .validateParameters(vaadinEndpointData.getEndpointObject(),
-                        methodToInvoke, vaadinEndpointParameters);
+        Set<ConstraintViolation<Object>> methodParameterConstraintViolations = endpointMethod.parametersConstrained
+                ? executableValidator.validateParameters(
+                        vaadinEndpointData.getEndpointObject(), methodToInvoke,
+                        vaadinEndpointParameters)
+                : Collections.emptySet();
         if (!methodParameterConstraintViolations.isEmpty()) {
             return ResponseEntity.badRequest().body(vaadinEndpointMapper
                     .writeValueAsString(new EndpointValidationException(
@@ -359,8 +372,14 @@ public class VaadinConnectController {
             return handleMethodExecutionError(endpointName, methodName, e);
         }
 
-        String implicitNullError = this.explicitNullableTypeChecker
-                .checkValueForAnnotatedElement(returnValue, methodToInvoke);
+        String implicitNullError = null;
+        if (!explicitNullableTypeChecker.isDisabledForEndpoint(endpointName)) {
+            long start = System.nanoTime();
+            implicitNullError = explicitNullableTypeChecker
+                    .checkValueForAnnotatedElement(returnValue, methodToInvoke);
+            vaadinEndpointData.nullableCheckMetrics
+                    .record(System.nanoTime() - start);
+        }
         if (implicitNullError != null) {
             EndpointException returnValueException = new EndpointException(
                     String.format(
@@ -373,10 +392,11 @@ public class VaadinConnectController {
                             returnValueException.getSerializationData()));
         }
 
-        Set<ConstraintViolation<Object>> returnValueConstraintViolations = validator
-                .forExecutables()
-                .validateReturnValue(vaadinEndpointData.getEndpointObject(),
-                        methodToInvoke, returnValue);
+        Set<ConstraintViolation<Object>> returnValueConstraintViolations = endpointMethod.returnValueConstrained
+                ? executableValidator.validateReturnValue(
+                        vaadinEndpointData.getEndpointObject(), methodToInvoke,
+                        returnValue)
+                : Collections.emptySet();
         if (!returnValueConstraintViolations.isEmpty()) {
             getLogger().error(
                     "Endpoint '{}' method '{}' had returned a value that has validation errors: '{}', this might cause bugs on the client side. Fix the method implementation.",
@@ -386,10 +406,33 @@ public class VaadinConnectController {
                 .ok(vaadinEndpointMapper.writeValueAsString(returnValue));
     }
 
-    private Type[] getJavaParameters(Method methodToInvoke, Type classType) {
-        return Stream.of(GenericTypeReflector
-                .getExactParameterTypes(methodToInvoke, classType))
-                .toArray(Type[]::new);
+    private VaadinEndpointMethod createEndpointMethod(Method method,
+            Class<?> endpointType) {
+        Type[] javaParameters = GenericTypeReflector
+                .getExactParameterTypes(method, endpointType);
+        ObjectReader[] parameterReaders = Stream.of(javaParameters)
+                .map(type -> vaadinEndpointMapper.readerFor(
+                        vaadinEndpointMapper.getTypeFactory()
+                                .constructType(type)))
+                .toArray(ObjectReader[]::new);
+
+        MethodDescriptor methodDescriptor;
+        try {
+            methodDescriptor = validator.getConstraintsForClass(endpointType)
+                    .getConstraintsForMethod(method.getName(),
+                            method.getParameterTypes());
+        } catch (ValidationException e) {
+            getLogger().debug(
+                    "Unable to get the constraints of the endpoint method '{}', validating all invocations",
+                    method, e);
+            return new VaadinEndpointMethod(javaParameters, parameterReaders,
+                    true, true);
+        }
+        return new VaadinEndpointMethod(javaParameters, parameterReaders,
+                methodDescriptor != null
+                        && methodDescriptor.hasConstrainedParameters(),
+                methodDescriptor != null
+                        && methodDescriptor.hasConstrainedReturnValue());
     }
 
     private ResponseEntity<String> handleMethodExecutionError(
@@ -425,8 +468,10 @@ public class VaadinConnectController {
     }
 
     private Object[] getVaadinEndpointParameters(
-            Map<String, JsonNode> requestParameters, Type[] javaParameters,
-            String methodName, String endpointName) {
+            Map<String, JsonNode> requestParameters,
+            VaadinEndpointMethod endpointMethod, String methodName,
+            String endpointName) {
+        Type[] javaParameters = endpointMethod.javaParameters;
         Object[] endpointParameters = new Object[javaParameters.length];
         String[] parameterNames = new String[requestParameters.size()];
         requestParameters.keySet().toArray(parameterNames);
@@ -436,9 +481,7 @@ public class VaadinConnectController {
         for (int i = 0; i < javaParameters.length; i++) {
             Type expectedType = javaParameters[i];
             try {
-                Object parameter = vaadinEndpointMapper
-                        .readerFor(vaadinEndpointMapper.getTypeFactory()
-                                .constructType(expectedType))
+                Object parameter = endpointMethod.parameterReaders[i]
                         .readValue(requestParameters.get(parameterNames[i]));
 
                 endpointParameters[i] = parameter;
@@ -527,6 +570,8 @@ public class VaadinConnectController {
 
     static class VaadinEndpointData {
         final Map<String, Method> methods = new HashMap<>();
+        final Map<Method, VaadinEndpointMethod> endpointMethods = new ConcurrentHashMap<>();
+        final NullableCheckMetrics nullableCheckMetrics = new NullableCheckMetrics();
         private final Object vaadinEndpointObject;
 
         private VaadinEndpointData(Object vaadinEndpointObject,
@@ -547,6 +592,97 @@ public class VaadinConnectController {
         private Object getEndpointObject() {
             return vaadinEndpointObject;
         }
+
+        private VaadinEndpointMethod getEndpointMethod(Method method,
+                BiFunction<Method, Class<?>, VaadinEndpointMethod> factory) {
+            return endpointMethods.computeIfAbsent(method,
+                    key -> factory.apply(key,
+                            ClassUtils.getUserClass(vaadinEndpointObject)));
+        }
+    }
+
+    /**
+     * The parts of an endpoint method invocation that do not depend on the
+     * request, resolved on the first call of the method.
+     */
+    static class VaadinEndpointMethod {
+        private final Type[] javaParameters;
+        private final ObjectReader[] parameterReaders;
+        private final boolean parametersConstrained;
+        private final boolean returnValueConstrained;
+
+        private VaadinEndpointMethod(Type[] javaParameters,
+                ObjectReader[] parameterReaders, boolean parametersConstrained,
+                boolean returnValueConstrained) {
+            this.javaParameters = javaParameters;
+            this.parameterReaders = parameterReaders;
+            this.parametersConstrained = parametersConstrained;
+            this.returnValueConstrained = returnValueConstrained;
+        }
+    }
+
+    /**
+     * Gets the statistics of the time spent checking the return values of the
+     * given endpoint for implicit null values.
+     *
+     * @param endpointName
+     *            the name of the endpoint, not case sensitive
+     * @return the statistics of the endpoint, or an empty optional if there
+     *         is no endpoint with the given name
+     * @see ExplicitNullableTypeChecker
+     */
+    public Optional<NullableCheckMetrics> getNullableCheckMetrics(
+            String endpointName) {
+        return Optional
+                .ofNullable(vaadinEndpoints
+                        .get(endpointName.toLowerCase(Locale.ENGLISH)))
+                .map(data -> data.nullableCheckMetrics);
+    }
+
+    /**
+     * Statistics of the time spent checking the return values of an endpoint
+     * for implicit null values.
+     */
+    public static final class NullableCheckMetrics {
+        private final LongAdder checkCount = new LongAdder();
+        private final LongAdder totalTime = new LongAdder();
+        private final AtomicLong maxTime = new AtomicLong();
+
+        private NullableCheckMetrics() {
+        }
+
+        private void record(long nanos) {
+            checkCount.increment();
+            totalTime.add(nanos);
+            maxTime.accumulateAndGet(nanos, Math::max);
+        }
+
+        /**
+         * Gets the number of checked return values.
+         *
+         * @return the number of checks
+         */
+        public long getCheckCount() {
+            return checkCount.sum();
+        }
+
+        /**
+         * Gets the total time spent checking return values.
+         *
+         * @return the total check time
+         */
+        public Duration getTotalTime() {
+            return Duration.ofNanos(totalTime.sum());
+        }
+
+        /**
+         * Gets the longest time spent checking a single return value.
+         *
+         * @return the maximum check time
+         */
+        public Duration getMaxTime() {
+            return Duration.ofNanos(maxTime.get());
+        }
     }
 
     private static class VaadinConnectAccessCheckerWrapper {
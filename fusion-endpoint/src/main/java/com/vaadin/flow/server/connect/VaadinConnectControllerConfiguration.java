@@ -132,6 +132,11 @@ public class VaadinConnectControllerConfiguration {
      */
     @Bean
     public ExplicitNullableTypeChecker typeChecker() {
-        return new ExplicitNullableTypeChecker();
+        ExplicitNullableTypeChecker typeChecker = new ExplicitNullableTypeChecker();
+        typeChecker.setItemCheckLimit(
+                vaadinEndpointProperties.getNullableCheckLimit());
+        typeChecker.setDisabledEndpoints(
+                vaadinEndpointProperties.getNullableCheckDisabledEndpoints());
+        return typeChecker;
     }
 }
@@ -15,6 +15,10 @@
  */
 package com.vaadin.flow.server.connect;
 
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
@@ -29,6 +33,12 @@ public class VaadinEndpointProperties {
     @Value("${vaadin.endpoint.prefix:/connect}")
     private String vaadinEndpointPrefix;
 
+    @Value("${vaadin.endpoint.nullable-check-limit:-1}")
+    private int nullableCheckLimit;
+
+    @Value("${vaadin.endpoint.nullable-check-disabled:}")
+    private String[] nullableCheckDisabledEndpoints;
+
     /**
      * Customize the prefix for all Vaadin endpoints. See default value
      * in the {@link VaadinEndpointProperties#vaadinEndpointPrefix} field
@@ -40,4 +50,27 @@ public class VaadinEndpointProperties {
         return vaadinEndpointPrefix;
     }
 
+    /**
+     * Customize the maximum number of items checked for implicit null values
+     * in each collection, array and map returned from endpoint methods. A
+     * negative value, which is the default, checks all items.
+     *
+     * @return the maximum number of items to check
+     */
+    public int getNullableCheckLimit() {
+        return nullableCheckLimit;
+    }
+
+    /**
+     * Customize the endpoints whose return values are not checked for
+     * implicit null values, as a comma separated list of endpoint names.
+     *
+     * @return the names of the endpoints to not check
+     */
+    public List<String> getNullableCheckDisabledEndpoints() {
+        return nullableCheckDisabledEndpoints == null
+                ? Collections.emptyList()
+                : Arrays.asList(nullableCheckDisabledEndpoints);
+    }
+
 }
@@ -35,8 +35,11 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 
 public class ExplicitNullableTypeCheckerTest {
@@ -267,6 +270,30 @@ public class ExplicitNullableTypeCheckerTest {
         verify(checker).checkValueForType(dateTwo, Date.class);
     }
 
+    @Test
+    public void should_ReturnNull_When_NullItemIsAfterItemCheckLimit() {
+        explicitNullableTypeChecker.setItemCheckLimit(2);
+
+        Assert.assertNull(explicitNullableTypeChecker.checkValueForType(
+                Arrays.asList("", "", null), stringListType));
+        Assert.assertNull(explicitNullableTypeChecker.checkValueForType(
+                arrayMethod("", "", null), stringArrayType));
+        Assert.assertNotNull(explicitNullableTypeChecker.checkValueForType(
+                Arrays.asList("", null, ""), stringListType));
+    }
+
+    @Test
+    public void should_CheckLimitedNumberOfMapValues_When_ItemCheckLimitSet() {
+        ExplicitNullableTypeCheckerHelper checker = spy(
+                new ExplicitNullableTypeCheckerHelper(1));
+
+        Map<String, Date> map = parametrizedMapMethod(new Date(0),
+                new Date(1));
+
+        Assert.assertNull(checker.checkValueForType(map, stringToDateMapType));
+        verify(checker, times(1)).checkValueForType(any(), eq(Date.class));
+    }
+
     @Test
     public void should_ReturnNull_When_GivenNonNullValues_InMapType() {
         Assert.assertNull(explicitNullableTypeChecker.checkValueForType(
@@ -339,6 +366,33 @@ public class ExplicitNullableTypeCheckerTest {
         verify(checker, never()).checkValueForType("bar", String.class);
     }
 
+    @Test
+    public void should_NotCheckPrimitiveAndTypeVariable_BeanProperties() {
+        ExplicitNullableTypeCheckerHelper checker = spy(helper);
+
+        final Counter counter = new Counter();
+        counter.setName("foo");
+        counter.setCount(1);
+        counter.setId(2);
+
+        Assert.assertNull(checker.checkValueForType(counter, Counter.class));
+
+        verify(checker).checkValueForType("foo", String.class);
+        verify(checker, never()).checkValueForType(1, int.class);
+        verify(checker, times(2)).checkValueForType(any(), any());
+    }
+
+    @Test
+    public void should_DisableCheckForEndpoint_IgnoringCase() {
+        explicitNullableTypeChecker
+                .setDisabledEndpoints(Arrays.asList("ReportEndpoint"));
+
+        Assert.assertTrue(explicitNullableTypeChecker
+                .isDisabledForEndpoint("reportendpoint"));
+        Assert.assertFalse(explicitNullableTypeChecker
+                .isDisabledForEndpoint("OtherEndpoint"));
+    }
+
     @Test
     public void should_ReturnNull_When_AnnotatedNullable()
             throws NoSuchMethodException {
@@ -513,6 +567,27 @@ public class ExplicitNullableTypeCheckerTest {
         }
     }
 
+    static private class Counter extends AbstractEntity<Integer> {
+        private String name;
+        private int count;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public void setCount(int count) {
+            this.count = count;
+        }
+    }
+
     static private class Company extends AbstractEntity<Integer> {
         private List<Employee> employees;
 
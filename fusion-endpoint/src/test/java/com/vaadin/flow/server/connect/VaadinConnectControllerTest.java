@@ -55,6 +55,7 @@ import com.vaadin.flow.server.connect.testendpoint.BridgeMethodTestEndpoint;
 import com.vaadin.flow.server.startup.ApplicationConfiguration;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
@@ -65,6 +66,7 @@ import static org.mockito.Mockito.CALLS_REAL_METHODS;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -713,6 +715,29 @@ public class VaadinConnectControllerTest {
                 response.getBody());
     }
 
+    @Test
+    public void should_ReuseResolvedEndpointMethod_When_MethodCalledRepeatedly() {
+        VaadinConnectController controller = createVaadinController(
+                TEST_ENDPOINT);
+        VaadinConnectController.VaadinEndpointData endpointData = controller.vaadinEndpoints
+                .get(TEST_ENDPOINT_NAME.toLowerCase());
+
+        for (int inputValue = 0; inputValue < 3; inputValue++) {
+            ResponseEntity<String> response = controller.serveEndpoint(
+                    TEST_ENDPOINT_NAME, TEST_METHOD.getName(),
+                    createRequestParameters(
+                            String.format("{\"value\": %s}", inputValue)),
+                    requestMock);
+
+            assertEquals(HttpStatus.OK, response.getStatusCode());
+            assertEquals(String.format("\"%s\"",
+                    TEST_ENDPOINT.testMethod(inputValue)), response.getBody());
+        }
+
+        assertEquals(1, endpointData.endpointMethods.size());
+        assertTrue(endpointData.endpointMethods.containsKey(TEST_METHOD));
+    }
+
     @Test
     public void should_ReturnCorrectResponse_When_EndpointClassIsProxied() {
 
@@ -1061,6 +1086,49 @@ public class VaadinConnectControllerTest {
                 response.getBody());
     }
 
+    @Test
+    public void should_RecordNullableCheckMetrics_When_CheckerInvoked() {
+        VaadinConnectController controller = createVaadinController(
+                new NullCheckerTestClass(), null, null, null,
+                new ExplicitNullableTypeChecker());
+        String endpointName = NullCheckerTestClass.class.getSimpleName();
+
+        controller.serveEndpoint(endpointName, "testOkMethod",
+                createRequestParameters("{}"), requestMock);
+        controller.serveEndpoint(endpointName, "testOkMethod",
+                createRequestParameters("{}"), requestMock);
+
+        VaadinConnectController.NullableCheckMetrics metrics = controller
+                .getNullableCheckMetrics(endpointName.toLowerCase()).get();
+        assertEquals(2, metrics.getCheckCount());
+        assertTrue(metrics.getMaxTime().compareTo(metrics.getTotalTime()) <= 0);
+        assertFalse(controller.getNullableCheckMetrics("missing").isPresent());
+    }
+
+    @Test
+    public void should_NotInvokeExplicitNullableTypeChecker_When_DisabledForEndpoint()
+            throws NoSuchMethodException {
+        ExplicitNullableTypeChecker explicitNullableTypeChecker = spy(
+                new ExplicitNullableTypeChecker());
+        explicitNullableTypeChecker.setDisabledEndpoints(Collections
+                .singleton(NullCheckerTestClass.class.getSimpleName()));
+
+        VaadinConnectController controller = createVaadinController(
+                new NullCheckerTestClass(), null, null, null,
+                explicitNullableTypeChecker);
+        ResponseEntity<String> response = controller.serveEndpoint(
+                NullCheckerTestClass.class.getSimpleName(), "testNullMethod",
+                createRequestParameters("{}"), requestMock);
+
+        verify(explicitNullableTypeChecker, never())
+                .checkValueForAnnotatedElement(any(), any());
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(0, controller
+                .getNullableCheckMetrics(
+                        NullCheckerTestClass.class.getSimpleName())
+                .get().getCheckCount());
+    }
+
     @Test
     public void should_ReturnException_When_ExplicitNullableTypeChecker_ReturnsError()
             throws IOException, NoSuchMethodException {